@@ -0,0 +1,163 @@
+package com.qualize.api.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.qualize.api.domain.enumeration.AccountStatus;
+import com.qualize.api.domain.enumeration.ActivitiyStatus;
+import com.qualize.api.domain.enumeration.SettlementStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark of the JSON serialization of each domain class, as returned by the REST API.
+ * <p>
+ * The {@code ObjectMapper} is configured with the modules of {@code JacksonConfiguration}. Every entity is serialized
+ * with its associations set, collections holding {@code friends} elements, which is what the REST resources write
+ * once they are loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainSerializationBenchmark {
+
+    @Param({ "Expenses", "Friends", "Groups", "Activities", "Accounts", "Settlements", "CryptoTracker" })
+    private String entity;
+
+    @Param({ "0", "10", "100" })
+    private int friends;
+
+    private ObjectWriter writer;
+
+    private Object value;
+
+    @Setup
+    public void setUp() {
+        writer =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .modules(new JavaTimeModule(), new Jdk8Module(), new Hibernate5Module())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        Expenses expenses = expenses(1L);
+        Settlements settlements = new Settlements()
+            .id(1L)
+            .description("dinner")
+            .amountYouOwe(new BigDecimal("120.50"))
+            .settlementStatus(SettlementStatus.COMPLETED)
+            .cryptoCurrency("ETH")
+            .currencyValue(new BigDecimal("1834.120000"))
+            .cryptoReceivablePayable(new BigDecimal("0.065700"))
+            .sortOrder(1)
+            .transactionDate(LocalDate.now())
+            .dateModified(LocalDate.now());
+        Accounts accounts = new Accounts()
+            .id(1L)
+            .amountYouOwe(new BigDecimal("120.50"))
+            .amountFriendOwes(new BigDecimal("30.25"))
+            .netReceivablePayable(new BigDecimal("-90.25"))
+            .cryptoCurrency("ETH")
+            .currencyValue(new BigDecimal("1834.120000"))
+            .cryptoReceivablePayable(new BigDecimal("-0.049200"))
+            .sortOrder(1)
+            .dateAdded(LocalDate.now())
+            .dateModified(LocalDate.now())
+            .accountStatus(AccountStatus.GREEN);
+        for (long i = 1; i <= friends; i++) {
+            expenses.addPaidBy(friends(i));
+            settlements.addAccount(friends(friends + i));
+            accounts.addFriendName(friends(2 * friends + i));
+        }
+
+        switch (entity) {
+            case "Expenses":
+                value = expenses;
+                break;
+            case "Friends":
+                value = friends(1L).expense(expenses).settlement(settlements).accounts(accounts);
+                break;
+            case "Groups":
+                value =
+                    new Groups()
+                        .id(1L)
+                        .name("trip")
+                        .sortOrder(1)
+                        .dateAdded(LocalDate.now())
+                        .dateModified(LocalDate.now())
+                        .expenses(expenses);
+                break;
+            case "Activities":
+                value =
+                    new Activities()
+                        .id(1L)
+                        .name("hiking")
+                        .date(LocalDate.now())
+                        .type("outdoor")
+                        .sortOrder(1)
+                        .dateAdded(LocalDate.now())
+                        .dateModified(LocalDate.now())
+                        .status(ActivitiyStatus.COMPLETED)
+                        .expenseDetails(expenses);
+                break;
+            case "Accounts":
+                value = accounts;
+                break;
+            case "Settlements":
+                value = settlements;
+                break;
+            case "CryptoTracker":
+                value =
+                    new CryptoTracker()
+                        .id(1L)
+                        .currency("ETH")
+                        .value(new BigDecimal("1834.120000"))
+                        .feedDateTime(LocalDate.now())
+                        .dateAdded(LocalDate.now())
+                        .dateModified(LocalDate.now());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown entity " + entity);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    private static Expenses expenses(Long id) {
+        return new Expenses()
+            .id(id)
+            .description("dinner")
+            .paidBy(new BigDecimal("60.00"))
+            .amount(new BigDecimal("120.50"))
+            .cryptoCurrency("ETH")
+            .sortOrder(1)
+            .dateAdded(LocalDate.now())
+            .dateModified(LocalDate.now());
+    }
+
+    private static Friends friends(Long id) {
+        return new Friends()
+            .id(id)
+            .friendName("friend " + id)
+            .email("friend" + id + "@localhost")
+            .telephone("+33 6 00 00 00 00")
+            .phoneNumber(600000000)
+            .walletId("0x52908400098527886E0F7030069857D2E4169EE7")
+            .defaultCryptoCurrency("ETH")
+            .dateAdded(LocalDate.now())
+            .dateModified(LocalDate.now());
+    }
+}
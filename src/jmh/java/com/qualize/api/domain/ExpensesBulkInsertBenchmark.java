@@ -0,0 +1,80 @@
+package com.qualize.api.domain;
+
+import com.qualize.api.QualizeApp;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * Benchmark of the bulk creation of {@link Expenses}, with and without Hibernate JDBC batching.
+ * <p>
+ * The application runs with the "dev" profile on an in-memory H2 database; every invocation persists and flushes
+ * {@code expenses} rows, then rolls back so that the table does not grow between iterations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpensesBulkInsertBenchmark {
+
+    @Param({ "1", "25", "50" })
+    private int jdbcBatchSize;
+
+    @Param({ "1000" })
+    private int expenses;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager em;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context =
+            new SpringApplicationBuilder(QualizeApp.class)
+                .profiles(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+                .properties(
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                    "spring.liquibase.contexts=dev",
+                    "spring.devtools.restart.enabled=false",
+                    "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                    "logging.level.ROOT=WARN",
+                    "logging.level.org.hibernate.SQL=WARN",
+                    "logging.level.tech.jhipster=WARN",
+                    "logging.level.com.qualize.api=WARN"
+                )
+                .run();
+        em = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer persistExpenses() {
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < expenses; i++) {
+                em.persist(new Expenses().description("expense " + i).amount(BigDecimal.TEN).paidBy(BigDecimal.ONE));
+            }
+            em.flush();
+            em.clear();
+            status.setRollbackOnly();
+            return expenses;
+        });
+    }
+}
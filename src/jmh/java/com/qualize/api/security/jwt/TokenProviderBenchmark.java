@@ -0,0 +1,98 @@
+package com.qualize.api.security.jwt;
+
+import com.qualize.api.management.SecurityMetersService;
+import com.qualize.api.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Benchmark of the creation and verification of JWTs by {@link TokenProvider}.
+ * <p>
+ * {@code authenticateCached} is the path of a client presenting the same token again, {@code authenticate} verifies a
+ * token never seen by the token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+
+    private static final String BASE64_SECRET =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    private TokenProvider tokenProvider;
+
+    private Authentication authentication;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        tokenProvider = new TokenProvider(jHipsterProperties, new SecurityMetersService(new SimpleMeterRegistry()));
+        authentication =
+            new UsernamePasswordAuthenticationToken(
+                "user",
+                "user",
+                List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+            );
+        token = tokenProvider.createToken(authentication, false);
+        tokenProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Optional<Authentication> authenticateCached() {
+        return tokenProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public Optional<Authentication> authenticate(FreshToken freshToken) {
+        return tokenProvider.authenticate(freshToken.token);
+    }
+
+    /**
+     * A token of a new user for each invocation, so that it misses the token cache.
+     */
+    @State(Scope.Thread)
+    public static class FreshToken {
+
+        private long users;
+
+        private String token;
+
+        @Setup(Level.Invocation)
+        public void setUp(TokenProviderBenchmark benchmark) {
+            Authentication user = new UsernamePasswordAuthenticationToken(
+                "user-" + users++,
+                "user",
+                benchmark.authentication.getAuthorities()
+            );
+            token = benchmark.tokenProvider.createToken(user, false);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.qualize.api.service;
+
+import com.qualize.api.domain.enumeration.SettlementStatus;
+import com.qualize.api.service.BalanceLedgerService.Balance;
+import com.qualize.api.service.BalanceLedgerService.Posting;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of the {@code BigDecimal} balance math of {@link BalanceLedgerService}.
+ * <p>
+ * {@code aggregate} folds the postings of {@code expenses} expenses and as many settlements into per-account balances,
+ * as the full rebuild does; {@code delta} computes the account deltas of updating an expense, as every expense write
+ * does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BalanceLedgerBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+
+    @Param({ "1000", "100000" })
+    private int expenses;
+
+    @Param({ "4" })
+    private int friendsPerExpense;
+
+    private BigDecimal[] amounts;
+
+    private BigDecimal[] paidBies;
+
+    private List<List<Long>> accountIds;
+
+    private Posting before;
+
+    private Posting after;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        amounts = new BigDecimal[expenses];
+        paidBies = new BigDecimal[expenses];
+        accountIds = new ArrayList<>(expenses);
+        for (int i = 0; i < expenses; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextInt(100_000), 2);
+            paidBies[i] = BigDecimal.valueOf(random.nextInt(100_000), 2);
+            List<Long> ids = new ArrayList<>(friendsPerExpense);
+            for (int j = 0; j < friendsPerExpense; j++) {
+                ids.add((long) random.nextInt(ACCOUNTS));
+            }
+            accountIds.add(ids);
+        }
+        before = BalanceLedgerService.expensePosting(amounts[0], paidBies[0], accountIds.get(0));
+        after = BalanceLedgerService.expensePosting(amounts[0].add(BigDecimal.TEN), paidBies[0], accountIds.get(0));
+    }
+
+    @Benchmark
+    public Map<Long, Balance> aggregate() {
+        Map<Long, Balance> balances = new HashMap<>();
+        for (int i = 0; i < expenses; i++) {
+            BalanceLedgerService.expensePosting(amounts[i], paidBies[i], accountIds.get(i)).addTo(balances);
+            BalanceLedgerService.settlementPosting(paidBies[i], SettlementStatus.COMPLETED, accountIds.get(i)).addTo(balances);
+        }
+        return balances;
+    }
+
+    @Benchmark
+    public Map<Long, Balance> delta() {
+        return after.minus(before);
+    }
+}
@@ -0,0 +1,40 @@
+package com.qualize.api.service;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of {@link DebtSimplifier} on random groups of up to 10k members.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DebtSimplifierBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    private int members;
+
+    private long[] balances;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        balances = new long[members];
+        long total = 0;
+        for (int i = 1; i < members; i++) {
+            balances[i] = random.nextInt(2_000_000) - 1_000_000;
+            total += balances[i];
+        }
+        balances[0] = -total;
+    }
+
+    @Benchmark
+    public List<DebtSimplifier.Transfer> simplify() {
+        return DebtSimplifier.simplify(balances);
+    }
+}
@@ -0,0 +1,61 @@
+package com.qualize.api.service.mapper;
+
+import com.qualize.api.domain.Authority;
+import com.qualize.api.domain.User;
+import com.qualize.api.security.AuthoritiesConstants;
+import com.qualize.api.service.dto.AdminUserDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of {@link UserMapper#usersToAdminUserDTOs(List)} on the large lists of the user management pages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    @Param({ "100", "10000", "100000" })
+    private int users;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<User> userList;
+
+    @Setup
+    public void setUp() {
+        Authority user = new Authority();
+        user.setName(AuthoritiesConstants.USER);
+        Authority admin = new Authority();
+        admin.setName(AuthoritiesConstants.ADMIN);
+
+        userList = new ArrayList<>(users);
+        for (long i = 0; i < users; i++) {
+            User entity = new User();
+            entity.setId(i);
+            entity.setLogin("user" + i);
+            entity.setFirstName("first" + i);
+            entity.setLastName("last" + i);
+            entity.setEmail("user" + i + "@localhost");
+            entity.setImageUrl("http://placehold.it/50x50");
+            entity.setActivated(true);
+            entity.setLangKey("en");
+            entity.setCreatedBy("system");
+            entity.setCreatedDate(Instant.now());
+            entity.setAuthorities(i % 10 == 0 ? Set.of(user, admin) : Set.of(user));
+            userList.add(entity);
+        }
+    }
+
+    @Benchmark
+    public List<AdminUserDTO> usersToAdminUserDTOs() {
+        return userMapper.usersToAdminUserDTOs(userList);
+    }
+}
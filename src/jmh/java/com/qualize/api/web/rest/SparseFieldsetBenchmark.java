@@ -0,0 +1,106 @@
+package com.qualize.api.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.domain.Groups;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark of the JSON serialization of a page of expenses, with every field or with a sparse fieldset.
+ * <p>
+ * The {@code ObjectMapper} is configured as by {@code JacksonConfiguration}, and the writer with the filters
+ * {@link SparseFieldsetAdvice} sets for the {@code fields} parameter, so an empty {@code fields} is the response of
+ * a request without it. The size of the payload is reported by the {@code payloadBytes} counter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SparseFieldsetBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "", "id,description,amount" })
+    private String fields;
+
+    @Param({ "0", "10" })
+    private int friends;
+
+    private ObjectWriter writer;
+
+    private List<Expenses> page;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder
+            .json()
+            .modules(new JavaTimeModule(), new Jdk8Module(), new Hibernate5Module(), SparseFieldsets.module())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .filters(SparseFieldsets.writeAll())
+            .build();
+        writer =
+            fields.isEmpty()
+                ? mapper.writer()
+                : mapper.writer(SparseFieldsets.writeOnly(Expenses.class, SparseFieldsets.parse(List.of(fields))));
+
+        page = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Expenses expenses = new Expenses()
+                .id(id)
+                .description("dinner")
+                .paidBy(new BigDecimal("60.00"))
+                .amount(new BigDecimal("120.50"))
+                .cryptoCurrency("ETH")
+                .sortOrder(1)
+                .dateAdded(LocalDate.now())
+                .dateModified(LocalDate.now())
+                .groupName(new Groups().id(id).name("trip").sortOrder(1).dateAdded(LocalDate.now()).dateModified(LocalDate.now()));
+            for (long i = 1; i <= friends; i++) {
+                expenses.addPaidBy(friends(id * friends + i));
+            }
+            page.add(expenses);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes(Payload payload) throws JsonProcessingException {
+        byte[] bytes = writer.writeValueAsBytes(page);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    private static Friends friends(Long id) {
+        return new Friends()
+            .id(id)
+            .friendName("friend " + id)
+            .email("friend" + id + "@localhost")
+            .telephone("+33 6 00 00 00 00")
+            .phoneNumber(600000000)
+            .walletId("0x52908400098527886E0F7030069857D2E4169EE7")
+            .defaultCryptoCurrency("ETH")
+            .dateAdded(LocalDate.now())
+            .dateModified(LocalDate.now());
+    }
+}
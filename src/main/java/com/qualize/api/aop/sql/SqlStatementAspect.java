@@ -0,0 +1,56 @@
+package com.qualize.api.aop.sql;
+
+import com.qualize.api.management.SqlStatementTracker;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspect counting the SQL statements of each transactional service method with {@link SqlStatementTracker}.
+ * <p>
+ * It runs around the transaction, so that the statements flushed when the transaction commits are counted.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class SqlStatementAspect {
+
+    private final SqlStatementTracker sqlStatementTracker;
+
+    public SqlStatementAspect(SqlStatementTracker sqlStatementTracker) {
+        this.sqlStatementTracker = sqlStatementTracker;
+    }
+
+    /**
+     * Pointcut that matches the transactional methods of the services.
+     */
+    @Pointcut(
+        "within(com.qualize.api.service..*)" +
+        " && (@within(org.springframework.transaction.annotation.Transactional)" +
+        " || @annotation(org.springframework.transaction.annotation.Transactional))"
+    )
+    public void transactionalServicePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that counts the statements executed by a method.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around("transactionalServicePointcut()")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        SqlStatementTracker.Scope scope = sqlStatementTracker.openTransaction(
+            joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName()
+        );
+        try {
+            return joinPoint.proceed();
+        } finally {
+            sqlStatementTracker.close(scope);
+        }
+    }
+}
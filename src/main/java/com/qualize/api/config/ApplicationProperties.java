@@ -1,5 +1,8 @@
 package com.qualize.api.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,517 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Ledger ledger = new Ledger();
+
+    private final Archive archive = new Archive();
+
+    private final Bulk bulk = new Bulk();
+
+    private final ExpenseImport expenseImport = new ExpenseImport();
+
+    private final RateFeed rateFeed = new RateFeed();
+
+    private final SpendingRollup spendingRollup = new SpendingRollup();
+
+    private final Dashboard dashboard = new Dashboard();
+
+    private final Cache cache = new Cache();
+
+    private final SqlMonitoring sqlMonitoring = new SqlMonitoring();
+
+    public Ledger getLedger() {
+        return ledger;
+    }
+
+    public Archive getArchive() {
+        return archive;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public ExpenseImport getExpenseImport() {
+        return expenseImport;
+    }
+
+    public RateFeed getRateFeed() {
+        return rateFeed;
+    }
+
+    public SpendingRollup getSpendingRollup() {
+        return spendingRollup;
+    }
+
+    public Dashboard getDashboard() {
+        return dashboard;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public SqlMonitoring getSqlMonitoring() {
+        return sqlMonitoring;
+    }
+
+    public static class Ledger {
+
+        /**
+         * Cron expression of the full balance rebuild job, {@code -} disables it.
+         */
+        private String rebuildCron = "-";
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+    }
+
+    public static class Archive {
+
+        private boolean enabled = true;
+
+        private String url = "https://api.web3.storage/upload";
+
+        private String token;
+
+        private int batchSize = 50;
+
+        private int concurrency = 4;
+
+        private int maxAttempts = 10;
+
+        private Duration initialBackoff = Duration.ofSeconds(5);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        /**
+         * How long a claimed outbox row stays invisible to other dispatchers before it is retried.
+         */
+        private Duration lease = Duration.ofMinutes(5);
+
+        private Duration timeout = Duration.ofSeconds(30);
+
+        /**
+         * Delay between the end of a run of the dispatcher and the start of the next one.
+         */
+        private Duration pollDelay = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration getPollDelay() {
+            return pollDelay;
+        }
+
+        public void setPollDelay(Duration pollDelay) {
+            this.pollDelay = pollDelay;
+        }
+    }
+
+    public static class Bulk {
+
+        /**
+         * Maximum number of items of a bulk request, larger requests are rejected with {@code 400 (Bad Request)}.
+         */
+        private int maxItems = 1000;
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+    }
+
+    public static class ExpenseImport {
+
+        /**
+         * Number of rows persisted per transaction.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Number of rejected rows detailed in an import report, the others are only counted.
+         */
+        private int maxReportedErrors = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class RateFeed {
+
+        /**
+         * URL of the JSON rate feed read by the default rate feed source.
+         */
+        private String url;
+
+        /**
+         * Cron expression of the rate ingestion job, {@code -} disables it.
+         */
+        private String cron = "-";
+
+        /**
+         * Number of rates upserted per transaction.
+         */
+        private int chunkSize = 500;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class SpendingRollup {
+
+        /**
+         * Cron expression of the spending rollup reconciliation job, {@code -} disables it.
+         */
+        private String reconcileCron = "-";
+
+        public String getReconcileCron() {
+            return reconcileCron;
+        }
+
+        public void setReconcileCron(String reconcileCron) {
+            this.reconcileCron = reconcileCron;
+        }
+    }
+
+    public static class Dashboard {
+
+        /**
+         * Cron expression of the job folding the dashboard deltas into the summary row, {@code -} disables it.
+         */
+        private String compactCron = "-";
+
+        public String getCompactCron() {
+            return compactCron;
+        }
+
+        public void setCompactCron(String compactCron) {
+            this.compactCron = compactCron;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tiers of the cache regions, required when a region has one.
+         */
+        private String diskPath;
+
+        /**
+         * Tiers and expiry of the cache regions by region name, the regions not listed being sized by
+         * {@code jhipster.cache.ehcache}.
+         */
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries held on heap, {@code jhipster.cache.ehcache.max-entries} if not set.
+             */
+            private Long heapEntries;
+
+            /**
+             * Megabytes held off heap, outside of the garbage collected memory, {@code 0} for no off-heap tier.
+             */
+            private long offHeapMb;
+
+            /**
+             * Megabytes held on disk, more than the off-heap tier, {@code 0} for no disk tier.
+             */
+            private long diskMb;
+
+            /**
+             * How long an entry stays cached after it is written, {@code jhipster.cache.ehcache.time-to-live-seconds}
+             * if neither it nor the time to idle is set.
+             */
+            private Duration timeToLive;
+
+            /**
+             * How long an entry stays cached after it is last read, instead of the time to live.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+
+        public static class WarmUp {
+
+            /**
+             * Whether to preload the entity regions when the application starts, before it reports ready.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Number of entities preloaded by entity region name, the most recently modified first.
+             */
+            private Map<String, Integer> entities = new LinkedHashMap<>();
+
+            /**
+             * Number of regions preloaded at the same time, each by one query.
+             */
+            private int parallelism = 2;
+
+            /**
+             * Maximum duration of the warm-up, after which the application starts with the entities preloaded so far.
+             */
+            private Duration timeout = Duration.ofMinutes(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Map<String, Integer> getEntities() {
+                return entities;
+            }
+
+            public void setEntities(Map<String, Integer> entities) {
+                this.entities = entities;
+            }
+
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            public void setParallelism(int parallelism) {
+                this.parallelism = parallelism;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+    }
+
+    public static class SqlMonitoring {
+
+        /**
+         * Duration from which a statement is logged as slow, with the REST method it was executed for.
+         */
+        private Duration slowStatementThreshold = Duration.ofMillis(500);
+
+        /**
+         * Number of executions of the same statement with different parameters, within a request or a transaction,
+         * from which they are logged as N+1 selects.
+         */
+        private int repeatedStatementThreshold = 5;
+
+        /**
+         * Whether to keep the requests executing more statements than the budget of their REST method, for the tests to
+         * fail on them. They are only logged and counted otherwise.
+         */
+        private boolean enforceBudgets = false;
+
+        public Duration getSlowStatementThreshold() {
+            return slowStatementThreshold;
+        }
+
+        public void setSlowStatementThreshold(Duration slowStatementThreshold) {
+            this.slowStatementThreshold = slowStatementThreshold;
+        }
+
+        public int getRepeatedStatementThreshold() {
+            return repeatedStatementThreshold;
+        }
+
+        public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+            this.repeatedStatementThreshold = repeatedStatementThreshold;
+        }
+
+        public boolean isEnforceBudgets() {
+            return enforceBudgets;
+        }
+
+        public void setEnforceBudgets(boolean enforceBudgets) {
+            this.enforceBudgets = enforceBudgets;
+        }
+    }
+}
@@ -1,38 +1,61 @@
 package com.qualize.api.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
+import javax.cache.Caching;
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
+import org.springframework.util.StringUtils;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * Ehcache configuration.
+ * <p>
+ * Each region is built from its {@code application.cache.regions} entry: a heap tier, then optionally an off-heap tier
+ * and a disk tier, so that hot regions can hold many more entries than the heap without adding to the garbage
+ * collection. The regions without an entry keep the {@code jhipster.cache.ehcache} heap size and time to live. The
+ * statistics of every region are enabled and its hit ratio is published as the {@code cache.hit.ratio} gauge.
+ * <p>
+ * The query cache has its own regions: the default one, one per cached repository query, and the update timestamps
+ * region, through which Hibernate invalidates the cached results of a query when one of its tables is written. The
+ * timestamps never expire by default, since a missing timestamp would let stale results be read.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final ApplicationProperties.Cache.Region DEFAULT_REGION = new ApplicationProperties.Cache.Region();
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
-
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
 
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
-            );
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
     }
 
     @Bean
@@ -40,34 +63,133 @@ public class CacheConfiguration {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
+    /**
+     * The cache manager, built here rather than by Spring Boot so that it can be given the directory of the disk tiers.
+     *
+     * @return the cache manager, holding every region.
+     */
     @Bean
-    public JCacheManagerCustomizer cacheManagerCustomizer() {
-        return cm -> {
-            createCache(cm, com.qualize.api.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.qualize.api.repository.UserRepository.USERS_BY_EMAIL_CACHE);
-            createCache(cm, com.qualize.api.domain.User.class.getName());
-            createCache(cm, com.qualize.api.domain.Authority.class.getName());
-            createCache(cm, com.qualize.api.domain.User.class.getName() + ".authorities");
-            createCache(cm, com.qualize.api.domain.Expenses.class.getName());
-            createCache(cm, com.qualize.api.domain.Expenses.class.getName() + ".paidBies");
-            createCache(cm, com.qualize.api.domain.Friends.class.getName());
-            createCache(cm, com.qualize.api.domain.Groups.class.getName());
-            createCache(cm, com.qualize.api.domain.Activities.class.getName());
-            createCache(cm, com.qualize.api.domain.Accounts.class.getName());
-            createCache(cm, com.qualize.api.domain.Accounts.class.getName() + ".friendNames");
-            createCache(cm, com.qualize.api.domain.CryptoTracker.class.getName());
-            createCache(cm, com.qualize.api.domain.Settlements.class.getName());
-            createCache(cm, com.qualize.api.domain.Settlements.class.getName() + ".accounts");
-            // jhipster-needle-ehcache-add-entry
+    public javax.cache.CacheManager jCacheCacheManager() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        ClassLoader classLoader = getClass().getClassLoader();
+        DefaultConfiguration configuration = StringUtils.hasText(cacheProperties.getDiskPath())
+            ? new DefaultConfiguration(classLoader, new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath())))
+            : new DefaultConfiguration(classLoader);
+        javax.cache.CacheManager cm = provider.getCacheManager(provider.getDefaultURI(), configuration);
+        createCaches(cm);
+        return cm;
+    }
+
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(javax.cache.CacheManager cacheManager) {
+        return registry -> {
+            for (String cacheName : cacheManager.getCacheNames()) {
+                Gauge
+                    .builder("cache.hit.ratio", statisticsObjectName(cacheManager, cacheName), CacheConfiguration::hitRatio)
+                    .tag("cache", cacheName)
+                    .description("The share of the gets of the cache region that were hits")
+                    .strongReference(true)
+                    .register(registry);
+            }
         };
     }
 
+    private void createCaches(javax.cache.CacheManager cm) {
+        createCache(cm, com.qualize.api.repository.UserRepository.USERS_BY_LOGIN_CACHE);
+        createCache(cm, com.qualize.api.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+        createCache(cm, com.qualize.api.domain.User.class.getName());
+        createCache(cm, com.qualize.api.domain.Authority.class.getName());
+        createCache(cm, com.qualize.api.domain.User.class.getName() + ".authorities");
+        createCache(cm, com.qualize.api.domain.Expenses.class.getName());
+        createCache(cm, com.qualize.api.domain.Expenses.class.getName() + ".paidBies");
+        createCache(cm, com.qualize.api.domain.Friends.class.getName());
+        createCache(cm, com.qualize.api.domain.Groups.class.getName());
+        createCache(cm, com.qualize.api.domain.Activities.class.getName());
+        createCache(cm, com.qualize.api.domain.Accounts.class.getName());
+        createCache(cm, com.qualize.api.domain.Accounts.class.getName() + ".friendNames");
+        createCache(cm, com.qualize.api.domain.CryptoTracker.class.getName());
+        createCache(cm, com.qualize.api.domain.Settlements.class.getName());
+        createCache(cm, com.qualize.api.domain.Settlements.class.getName() + ".accounts");
+        createCache(cm, com.qualize.api.service.CryptoRateSeriesService.SERIES_CACHE);
+        createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        createCache(cm, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+        createCache(cm, com.qualize.api.repository.AuthorityRepository.AUTHORITIES_CACHE);
+        createCache(cm, com.qualize.api.repository.FriendsRepository.FRIENDS_BY_ACCOUNT_CACHE);
+        createCache(cm, com.qualize.api.repository.CryptoTrackerRepository.LATEST_RATES_CACHE);
+        // jhipster-needle-ehcache-add-entry
+    }
+
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(regionConfiguration(cacheName)));
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    private CacheConfigurationBuilder<Object, Object> regionConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().getOrDefault(cacheName, DEFAULT_REGION);
+        ResourcePoolsBuilder pools = ResourcePoolsBuilder.heap(
+            region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        if (region.getOffHeapMb() > 0) {
+            pools = pools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        if (region.getDiskMb() > 0) {
+            if (!StringUtils.hasText(cacheProperties.getDiskPath())) {
+                throw new IllegalStateException("application.cache.disk-path is required by the disk tier of " + cacheName);
+            }
+            pools = pools.disk(region.getDiskMb(), MemoryUnit.MB);
+        }
+
+        ExpiryPolicy<Object, Object> expiry;
+        if (region.getTimeToIdle() != null) {
+            expiry = ExpiryPolicyBuilder.timeToIdleExpiration(region.getTimeToIdle());
+        } else if (region.getTimeToLive() != null) {
+            expiry = ExpiryPolicyBuilder.timeToLiveExpiration(region.getTimeToLive());
+        } else if (RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(cacheName)) {
+            expiry = ExpiryPolicyBuilder.noExpiration();
+        } else {
+            expiry = ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds()));
+        }
+
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, pools)
+            .withExpiry(expiry);
+        if (region.getOffHeapMb() > 0 || region.getDiskMb() > 0) {
+            // the entries leaving the heap are stored serialized, and Ehcache has no default serializer for Object
+            ClassLoader classLoader = getClass().getClassLoader();
+            builder =
+                builder.withKeySerializer(new PlainJavaSerializer<>(classLoader)).withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        return builder;
+    }
+
+    private static ObjectName statisticsObjectName(javax.cache.CacheManager cacheManager, String cacheName) {
+        try {
+            return new ObjectName(
+                "javax.cache:type=CacheStatistics,CacheManager=" +
+                sanitize(cacheManager.getURI().toString()) +
+                ",Cache=" +
+                sanitize(cacheName)
+            );
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException("Invalid statistics name for cache " + cacheName, e);
+        }
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll(",|:|=|\n", ".");
+    }
+
+    private static double hitRatio(ObjectName statistics) {
+        try {
+            Float percentage = (Float) ManagementFactory.getPlatformMBeanServer().getAttribute(statistics, "CacheHitPercentage");
+            return percentage / 100;
+        } catch (JMException e) {
+            return Double.NaN;
         }
     }
 
@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Rows fetched per round-trip by the streaming queries, and processed between two persistence context clears
+    public static final int STREAM_FETCH_SIZE = 500;
+
     private Constants() {}
 }
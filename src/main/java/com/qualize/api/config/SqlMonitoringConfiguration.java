@@ -0,0 +1,75 @@
+package com.qualize.api.config;
+
+import com.qualize.api.aop.sql.SqlStatementAspect;
+import com.qualize.api.management.SqlStatementInterceptor;
+import com.qualize.api.management.SqlStatementTracker;
+import java.util.List;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Counts the SQL statements per request and per transactional service method, see {@link SqlStatementTracker}.
+ * <p>
+ * The Hikari data source is wrapped by a datasource-proxy data source, which notifies the tracker of each statement;
+ * the pool itself is still reachable through {@link DataSource#unwrap(Class)}, for its metrics.
+ */
+@Configuration
+public class SqlMonitoringConfiguration implements WebMvcConfigurer {
+
+    private final SqlStatementTracker sqlStatementTracker;
+
+    public SqlMonitoringConfiguration(SqlStatementTracker sqlStatementTracker) {
+        this.sqlStatementTracker = sqlStatementTracker;
+    }
+
+    /**
+     * Wrap the data source, the tracker being looked up on the first statement since the post-processor is created
+     * before the other beans.
+     *
+     * @param sqlStatementTracker the tracker notified of each statement.
+     * @return the data source post-processor.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementDataSourcePostProcessor(ObjectProvider<SqlStatementTracker> sqlStatementTracker) {
+        QueryExecutionListener listener = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                sqlStatementTracker.getObject().beforeQuery(execInfo, queryInfoList);
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                sqlStatementTracker.getObject().afterQuery(execInfo, queryInfoList);
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean).name(beanName).listener(listener).build();
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatementAspect sqlStatementAspect() {
+        return new SqlStatementAspect(sqlStatementTracker);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementInterceptor(sqlStatementTracker)).addPathPatterns("/api/**");
+    }
+}
@@ -8,8 +8,10 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A Accounts.
@@ -17,12 +19,13 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "accounts")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Accounts implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "sequenceGenerator")
     @Column(name = "id")
     private Long id;
 
@@ -41,7 +44,7 @@ public class Accounts implements Serializable {
     @Column(name = "currency_value", precision = 21, scale = 2)
     private BigDecimal currencyValue;
 
-    @Column(name = "crypto_receivable_payable", precision = 21, scale = 2)
+    @Column(name = "crypto_receivable_payable", precision = 21, scale = 8)
     private BigDecimal cryptoReceivablePayable;
 
     @Column(name = "sort_order")
@@ -57,8 +60,16 @@ public class Accounts implements Serializable {
     @Column(name = "account_status")
     private AccountStatus accountStatus;
 
+    /**
+     * The optimistic lock of the balances, a partial update carrying another version than the stored one is rejected.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "accounts")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @BatchSize(size = 20)
     @JsonIgnoreProperties(value = { "expense", "settlement", "accounts" }, allowSetters = true)
     private Set<Friends> friendNames = new HashSet<>();
 
@@ -207,6 +218,19 @@ public class Accounts implements Serializable {
         this.accountStatus = accountStatus;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Accounts version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Friends> getFriendNames() {
         return this.friendNames;
     }
@@ -272,6 +296,7 @@ public class Accounts implements Serializable {
             ", dateAdded='" + getDateAdded() + "'" +
             ", dateModified='" + getDateModified() + "'" +
             ", accountStatus='" + getAccountStatus() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
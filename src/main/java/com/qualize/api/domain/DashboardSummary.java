@@ -0,0 +1,124 @@
+package com.qualize.api.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import javax.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+/**
+ * The rollup of all the {@link Accounts} balances shown by the dashboard, a single row into which the
+ * {@link DashboardSummaryDelta} appended by the ledger are folded.
+ * <p>
+ * {@code revision} counts the changes, each delta counting as one, so that it can be used as the version of the
+ * dashboard.
+ */
+@Entity
+@Table(name = "dashboard_summary")
+@DynamicUpdate
+public class DashboardSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The id of the only row.
+     */
+    public static final Long ID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "total_you_owe", precision = 21, scale = 2, nullable = false)
+    private BigDecimal totalYouOwe;
+
+    @Column(name = "total_friend_owes", precision = 21, scale = 2, nullable = false)
+    private BigDecimal totalFriendOwes;
+
+    @Column(name = "net_receivable_payable", precision = 21, scale = 2, nullable = false)
+    private BigDecimal netReceivablePayable;
+
+    @Column(name = "revision", nullable = false)
+    private Long revision;
+
+    @Column(name = "last_modified_date")
+    private Instant lastModifiedDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getTotalYouOwe() {
+        return this.totalYouOwe;
+    }
+
+    public void setTotalYouOwe(BigDecimal totalYouOwe) {
+        this.totalYouOwe = totalYouOwe;
+    }
+
+    public BigDecimal getTotalFriendOwes() {
+        return this.totalFriendOwes;
+    }
+
+    public void setTotalFriendOwes(BigDecimal totalFriendOwes) {
+        this.totalFriendOwes = totalFriendOwes;
+    }
+
+    public BigDecimal getNetReceivablePayable() {
+        return this.netReceivablePayable;
+    }
+
+    public void setNetReceivablePayable(BigDecimal netReceivablePayable) {
+        this.netReceivablePayable = netReceivablePayable;
+    }
+
+    public Long getRevision() {
+        return this.revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DashboardSummary)) {
+            return false;
+        }
+        return id != null && id.equals(((DashboardSummary) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DashboardSummary{" +
+            "id=" + getId() +
+            ", totalYouOwe=" + getTotalYouOwe() +
+            ", totalFriendOwes=" + getTotalFriendOwes() +
+            ", netReceivablePayable=" + getNetReceivablePayable() +
+            ", revision=" + getRevision() +
+            ", lastModifiedDate='" + getLastModifiedDate() + "'" +
+            "}";
+    }
+}
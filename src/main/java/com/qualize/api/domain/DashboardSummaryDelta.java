@@ -0,0 +1,107 @@
+package com.qualize.api.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import javax.persistence.*;
+
+/**
+ * A change of the {@link DashboardSummary} totals, appended by a write rather than applied to the summary row, so that
+ * concurrent writes never wait for each other on that single row. The deltas are added to the summary when it is read,
+ * each one counting as a revision, and folded into it in the background.
+ */
+@Entity
+@Table(name = "dashboard_summary_delta")
+public class DashboardSummaryDelta implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(generator = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "you_owe", precision = 21, scale = 2, nullable = false, updatable = false)
+    private BigDecimal youOwe;
+
+    @Column(name = "friend_owes", precision = 21, scale = 2, nullable = false, updatable = false)
+    private BigDecimal friendOwes;
+
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private Instant createdDate = Instant.now();
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public DashboardSummaryDelta id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getYouOwe() {
+        return this.youOwe;
+    }
+
+    public DashboardSummaryDelta youOwe(BigDecimal youOwe) {
+        this.setYouOwe(youOwe);
+        return this;
+    }
+
+    public void setYouOwe(BigDecimal youOwe) {
+        this.youOwe = youOwe;
+    }
+
+    public BigDecimal getFriendOwes() {
+        return this.friendOwes;
+    }
+
+    public DashboardSummaryDelta friendOwes(BigDecimal friendOwes) {
+        this.setFriendOwes(friendOwes);
+        return this;
+    }
+
+    public void setFriendOwes(BigDecimal friendOwes) {
+        this.friendOwes = friendOwes;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DashboardSummaryDelta)) {
+            return false;
+        }
+        return id != null && id.equals(((DashboardSummaryDelta) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DashboardSummaryDelta{" +
+            "id=" + getId() +
+            ", youOwe=" + getYouOwe() +
+            ", friendOwes=" + getFriendOwes() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -8,8 +8,10 @@ import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A Expenses.
@@ -17,12 +19,13 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "expenses")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Expenses implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "sequenceGenerator")
     @Column(name = "id")
     private Long id;
 
@@ -50,6 +53,7 @@ public class Expenses implements Serializable {
 
     @OneToMany(mappedBy = "expense")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @BatchSize(size = 20)
     @JsonIgnoreProperties(value = { "expense", "settlement", "accounts" }, allowSetters = true)
     private Set<Friends> paidBies = new HashSet<>();
 
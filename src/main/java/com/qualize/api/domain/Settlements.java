@@ -1,6 +1,7 @@
 package com.qualize.api.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.qualize.api.domain.enumeration.SettlementStatus;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -9,8 +10,10 @@ import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A Settlements.
@@ -18,12 +21,13 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "settlements")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Settlements implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "sequenceGenerator")
     @Column(name = "id")
     private Long id;
 
@@ -44,7 +48,7 @@ public class Settlements implements Serializable {
     @Column(name = "currency_value", precision = 21, scale = 2)
     private BigDecimal currencyValue;
 
-    @Column(name = "crypto_receivable_payable", precision = 21, scale = 2)
+    @Column(name = "crypto_receivable_payable", precision = 21, scale = 8)
     private BigDecimal cryptoReceivablePayable;
 
     @Column(name = "sort_order")
@@ -56,8 +60,13 @@ public class Settlements implements Serializable {
     @Column(name = "date_modified")
     private LocalDate dateModified;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "archive_cid")
+    private String archiveCid;
+
     @OneToMany(mappedBy = "settlement")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @BatchSize(size = 20)
     @JsonIgnoreProperties(value = { "expense", "settlement", "accounts" }, allowSetters = true)
     private Set<Friends> accounts = new HashSet<>();
 
@@ -193,6 +202,19 @@ public class Settlements implements Serializable {
         this.dateModified = dateModified;
     }
 
+    public String getArchiveCid() {
+        return this.archiveCid;
+    }
+
+    public Settlements archiveCid(String archiveCid) {
+        this.setArchiveCid(archiveCid);
+        return this;
+    }
+
+    public void setArchiveCid(String archiveCid) {
+        this.archiveCid = archiveCid;
+    }
+
     public Set<Friends> getAccounts() {
         return this.accounts;
     }
@@ -257,6 +279,7 @@ public class Settlements implements Serializable {
             ", sortOrder=" + getSortOrder() +
             ", transactionDate='" + getTransactionDate() + "'" +
             ", dateModified='" + getDateModified() + "'" +
+            ", archiveCid='" + getArchiveCid() + "'" +
             "}";
     }
 }
@@ -0,0 +1,181 @@
+package com.qualize.api.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+/**
+ * The total of the {@link Expenses} added in a month, per {@link Groups}, {@link Activities} and crypto currency.
+ * <p>
+ * The dimensions are never null so that they can be part of a unique key: {@link #NONE} stands for an expense without
+ * group or activity, and an empty currency for an expense without currency.
+ */
+@Entity
+@Table(name = "spending_rollup")
+@DynamicUpdate
+public class SpendingRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The group or activity id of expenses without group or activity.
+     */
+    public static final Long NONE = 0L;
+
+    @Id
+    @GeneratedValue(generator = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The first day of the month.
+     */
+    @NotNull
+    @Column(name = "jhi_month", nullable = false)
+    private LocalDate month;
+
+    @NotNull
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @NotNull
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    @NotNull
+    @Column(name = "currency", nullable = false)
+    private String currency;
+
+    @NotNull
+    @Column(name = "total_amount", precision = 21, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+
+    @NotNull
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public SpendingRollup id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getMonth() {
+        return this.month;
+    }
+
+    public SpendingRollup month(LocalDate month) {
+        this.setMonth(month);
+        return this;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public Long getGroupId() {
+        return this.groupId;
+    }
+
+    public SpendingRollup groupId(Long groupId) {
+        this.setGroupId(groupId);
+        return this;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public Long getActivityId() {
+        return this.activityId;
+    }
+
+    public SpendingRollup activityId(Long activityId) {
+        this.setActivityId(activityId);
+        return this;
+    }
+
+    public void setActivityId(Long activityId) {
+        this.activityId = activityId;
+    }
+
+    public String getCurrency() {
+        return this.currency;
+    }
+
+    public SpendingRollup currency(String currency) {
+        this.setCurrency(currency);
+        return this;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return this.totalAmount;
+    }
+
+    public SpendingRollup totalAmount(BigDecimal totalAmount) {
+        this.setTotalAmount(totalAmount);
+        return this;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Long getExpenseCount() {
+        return this.expenseCount;
+    }
+
+    public SpendingRollup expenseCount(Long expenseCount) {
+        this.setExpenseCount(expenseCount);
+        return this;
+    }
+
+    public void setExpenseCount(Long expenseCount) {
+        this.expenseCount = expenseCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SpendingRollup)) {
+            return false;
+        }
+        return id != null && id.equals(((SpendingRollup) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SpendingRollup{" +
+            "id=" + getId() +
+            ", month='" + getMonth() + "'" +
+            ", groupId=" + getGroupId() +
+            ", activityId=" + getActivityId() +
+            ", currency='" + getCurrency() + "'" +
+            ", totalAmount=" + getTotalAmount() +
+            ", expenseCount=" + getExpenseCount() +
+            "}";
+    }
+}
@@ -0,0 +1,10 @@
+package com.qualize.api.domain.enumeration;
+
+/**
+ * The ArchiveStatus enumeration.
+ */
+public enum ArchiveStatus {
+    PENDING,
+    ARCHIVED,
+    FAILED,
+}
@@ -0,0 +1,76 @@
+package com.qualize.api.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meter timing the Hibernate session flushes while the {@link Statistics} are enabled.
+ * <p>
+ * The other meters of the statistics (sessions, transactions, statements, queries, entities, the query cache and each
+ * second-level cache region) are bound by Spring Boot through {@code hibernate-micrometer}, which does not time the
+ * flushes; those meters are only bound when the statistics are enabled at startup, as in prod. A listener added before
+ * the flush listeners of Hibernate starts the timer and one added after them stops it, so the flush listeners already
+ * registered are kept.
+ */
+@Component
+public class HibernateFlushMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    private final ThreadLocal<Long> flushStart = new ThreadLocal<>();
+
+    private volatile Timer flushTimer;
+
+    public HibernateFlushMetrics(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statistics = sessionFactory.getStatistics();
+        EventListenerRegistry listenerRegistry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listenerRegistry.prependListeners(EventType.FLUSH, new FlushStartListener());
+        listenerRegistry.appendListeners(EventType.FLUSH, new FlushEndListener());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        flushTimer = Timer.builder("hibernate.flush.time").description("Duration of the session flushes").register(registry);
+    }
+
+    private final class FlushStartListener implements FlushEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onFlush(FlushEvent event) {
+            // a flush failing before its end leaves its start behind, which the next flush replaces
+            if (flushTimer != null && statistics.isStatisticsEnabled()) {
+                flushStart.set(System.nanoTime());
+            } else {
+                flushStart.remove();
+            }
+        }
+    }
+
+    private final class FlushEndListener implements FlushEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onFlush(FlushEvent event) {
+            Long start = flushStart.get();
+            if (start == null) {
+                return;
+            }
+            flushStart.remove();
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.qualize.api.management;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint switching the Hibernate {@link Statistics} at runtime, read by the Hibernate meters and
+ * {@link HibernateFlushMetrics}.
+ * <ul>
+ *     <li>{@code GET /management/hibernatestatistics} : whether the statistics are enabled, and their totals.</li>
+ *     <li>{@code POST /management/hibernatestatistics} with {@code {"enabled": true}} : enable or disable them.</li>
+ *     <li>{@code DELETE /management/hibernatestatistics} : reset them.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "hibernatestatistics")
+public class HibernateStatisticsEndpoint {
+
+    private final Logger log = LoggerFactory.getLogger(HibernateStatisticsEndpoint.class);
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", statistics.isStatisticsEnabled());
+        body.put("since", Instant.ofEpochMilli(statistics.getStartTime()));
+        body.put("sessionsOpened", statistics.getSessionOpenCount());
+        body.put("transactions", statistics.getTransactionCount());
+        body.put("statementsPrepared", statistics.getPrepareStatementCount());
+        body.put("flushes", statistics.getFlushCount());
+        body.put("queryExecutions", statistics.getQueryExecutionCount());
+        body.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        body.put("slowestQueryMillis", statistics.getQueryExecutionMaxTime());
+        body.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        body.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        body.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        body.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        return body;
+    }
+
+    @WriteOperation
+    public void enable(boolean enabled) {
+        log.info("Hibernate statistics {}", enabled ? "enabled" : "disabled");
+        statistics.setStatisticsEnabled(enabled);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        log.info("Hibernate statistics cleared");
+        statistics.clear();
+    }
+}
@@ -0,0 +1,23 @@
+package com.qualize.api.management;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The number of SQL statements a REST method may execute per request, counted by {@link SqlStatementTracker}.
+ * <p>
+ * A request over its budget is logged and counted as the {@code sql.budget.exceeded} meter, and fails the integration
+ * test that sent it.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    /**
+     * @return the maximum number of statements executed per request.
+     */
+    int value();
+}
@@ -0,0 +1,62 @@
+package com.qualize.api.management;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens a {@link SqlStatementTracker} scope around each request handled by a REST method, tagged by the HTTP method and
+ * path pattern of the request, with the {@link SqlBudget} of the REST method.
+ * <p>
+ * The statements of an asynchronous request are only counted until the handling starts on another thread.
+ */
+public class SqlStatementInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = SqlStatementInterceptor.class.getName() + ".scope";
+
+    private final SqlStatementTracker sqlStatementTracker;
+
+    public SqlStatementInterceptor(SqlStatementTracker sqlStatementTracker) {
+        this.sqlStatementTracker = sqlStatementTracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+        request.setAttribute(
+            SCOPE_ATTRIBUTE,
+            sqlStatementTracker.openRequest(
+                request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN"),
+                handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName(),
+                budget != null ? budget.value() : null
+            )
+        );
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        close(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        close(request);
+    }
+
+    private void close(HttpServletRequest request) {
+        Object scope = request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope instanceof SqlStatementTracker.Scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            sqlStatementTracker.close((SqlStatementTracker.Scope) scope);
+        }
+    }
+}
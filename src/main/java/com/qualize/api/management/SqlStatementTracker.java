@@ -0,0 +1,305 @@
+package com.qualize.api.management;
+
+import com.qualize.api.config.ApplicationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements executed through the proxied data source, per HTTP request and per transactional service
+ * method, each being a {@link Scope} opened on the thread that executes it.
+ * <p>
+ * The number of statements of each request is published as the {@code sql.statements.request} histogram, tagged by
+ * endpoint, and the number of statements of each service method as the {@code sql.statements.transaction} histogram,
+ * tagged by method. On top of that, the tracker logs and counts:
+ * <ul>
+ *     <li>the statements slower than {@code application.sql-monitoring.slow-statement-threshold}, with the REST method
+ *     they were executed for, as {@code sql.statements.slow};</li>
+ *     <li>the same select executed with different parameters {@code application.sql-monitoring.repeated-statement-threshold}
+ *     times within a request, or a transaction outside of any request, which usually means N+1 selects of a lazy
+ *     association, as {@code sql.statements.repeated};</li>
+ *     <li>the requests executing more statements than the {@link SqlBudget} of their REST method, as
+ *     {@code sql.budget.exceeded}.</li>
+ * </ul>
+ * Batched statements are counted once per batch. Only the selects are reported as repeated, the updates of the
+ * sequence table allocating identifiers being expected to repeat. The statements executed before the meters are bound,
+ * by Liquibase, are only logged.
+ */
+@Component
+public class SqlStatementTracker implements QueryExecutionListener, MeterBinder {
+
+    public static final String REQUEST_METER_NAME = "sql.statements.request";
+    public static final String TRANSACTION_METER_NAME = "sql.statements.transaction";
+    public static final String SLOW_METER_NAME = "sql.statements.slow";
+    public static final String REPEATED_METER_NAME = "sql.statements.repeated";
+    public static final String BUDGET_EXCEEDED_METER_NAME = "sql.budget.exceeded";
+
+    private static final String ENDPOINT = "endpoint";
+    private static final String METHOD = "method";
+    private static final String NONE = "none";
+
+    private final Logger log = LoggerFactory.getLogger(SqlStatementTracker.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    private volatile MeterRegistry meterRegistry;
+
+    private final ThreadLocal<Deque<Scope>> scopes = new ThreadLocal<>();
+
+    private final Queue<String> budgetViolations = new ConcurrentLinkedQueue<>();
+
+    public SqlStatementTracker(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    /**
+     * Start counting the statements of a request on the current thread.
+     *
+     * @param endpoint the HTTP method and path pattern of the request.
+     * @param handler the REST method handling the request.
+     * @param budget the maximum number of statements of the request, or {@code null} for no limit.
+     * @return the scope, to {@link #close(Scope) close} once the request completes.
+     */
+    public Scope openRequest(String endpoint, String handler, Integer budget) {
+        return open(new Scope(REQUEST_METER_NAME, ENDPOINT, endpoint, handler, budget));
+    }
+
+    /**
+     * Start counting the statements of a transactional method on the current thread.
+     *
+     * @param method the class and name of the method.
+     * @return the scope, to {@link #close(Scope) close} once the method returns.
+     */
+    public Scope openTransaction(String method) {
+        return open(new Scope(TRANSACTION_METER_NAME, METHOD, method, null, null));
+    }
+
+    private Scope open(Scope scope) {
+        Deque<Scope> current = scopes.get();
+        if (current == null) {
+            current = new ArrayDeque<>();
+            scopes.set(current);
+        }
+        current.push(scope);
+        return scope;
+    }
+
+    /**
+     * Stop counting the statements of a scope, and of the scopes opened within it and left open, and record them.
+     *
+     * @param scope the scope to close.
+     */
+    public void close(Scope scope) {
+        Deque<Scope> current = scopes.get();
+        if (current == null || !current.contains(scope)) {
+            return;
+        }
+        Scope closed;
+        do {
+            closed = current.pop();
+            record(closed);
+        } while (closed != scope);
+        if (current.isEmpty()) {
+            scopes.remove();
+        }
+    }
+
+    private void record(Scope scope) {
+        log.debug("{} executed {} statements", scope, scope.statements);
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        DistributionSummary
+            .builder(scope.meterName)
+            .tag(scope.tagKey, scope.name)
+            .description("SQL statements executed")
+            .baseUnit("statements")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(1000.0)
+            .register(registry)
+            .record(scope.statements);
+        if (scope.budget != null && scope.statements > scope.budget) {
+            String violation = String.format("%s executed %d statements, over its budget of %d", scope, scope.statements, scope.budget);
+            log.warn(violation);
+            registry.counter(BUDGET_EXCEEDED_METER_NAME, ENDPOINT, scope.name).increment();
+            if (applicationProperties.getSqlMonitoring().isEnforceBudgets()) {
+                budgetViolations.add(violation);
+            }
+        }
+    }
+
+    /**
+     * Take the requests which executed more statements than their budget since the last call, only kept while
+     * {@code application.sql-monitoring.enforce-budgets} is set.
+     *
+     * @return the description of each request over its budget.
+     */
+    public List<String> drainBudgetViolations() {
+        List<String> violations = new ArrayList<>();
+        for (String violation = budgetViolations.poll(); violation != null; violation = budgetViolations.poll()) {
+            violations.add(violation);
+        }
+        return violations;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Nothing is counted before the statement is executed.
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Deque<Scope> current = scopes.get();
+        ApplicationProperties.SqlMonitoring sqlMonitoring = applicationProperties.getSqlMonitoring();
+        if (execInfo.getElapsedTime() >= sqlMonitoring.getSlowStatementThreshold().toMillis()) {
+            String caller = current == null ? "no request" : current.getLast().caller();
+            log.warn("Slow statement of {} ms for {}: {}", execInfo.getElapsedTime(), caller, sql(queryInfoList));
+            count(SLOW_METER_NAME, current);
+        }
+        if (current == null) {
+            return;
+        }
+        current.forEach(scope -> scope.statements++);
+        if (execInfo.isBatch()) {
+            return;
+        }
+        // the repeated statements are looked for across the whole request, or the outermost transaction
+        Scope root = current.getLast();
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (!isSelect(queryInfo.getQuery())) {
+                continue;
+            }
+            int executions = root.execute(queryInfo, sqlMonitoring.getRepeatedStatementThreshold());
+            if (executions > 0) {
+                log.warn(
+                    "Possible N+1 selects in {}: {} executions of the same statement with different parameters, {}",
+                    root,
+                    executions,
+                    queryInfo.getQuery()
+                );
+                count(REPEATED_METER_NAME, current);
+            }
+        }
+    }
+
+    private void count(String name, Deque<Scope> current) {
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            registry.counter(name, ENDPOINT, endpoint(current)).increment();
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+    }
+
+    private static String endpoint(Deque<Scope> current) {
+        if (current == null || !REQUEST_METER_NAME.equals(current.getLast().meterName)) {
+            return NONE;
+        }
+        return current.getLast().name;
+    }
+
+    /**
+     * The statements counted for a request or a method, on the thread that opened it.
+     */
+    public static final class Scope {
+
+        private final String meterName;
+
+        private final String tagKey;
+
+        private final String name;
+
+        private final String handler;
+
+        private final Integer budget;
+
+        private int statements;
+
+        private final Map<String, Set<String>> parameters = new HashMap<>();
+
+        private final Set<String> repeated = new HashSet<>();
+
+        private Scope(String meterName, String tagKey, String name, String handler, Integer budget) {
+            this.meterName = meterName;
+            this.tagKey = tagKey;
+            this.name = name;
+            this.handler = handler;
+            this.budget = budget;
+        }
+
+        /**
+         * @return the number of statements executed so far.
+         */
+        public int getStatements() {
+            return statements;
+        }
+
+        /**
+         * Remember the parameters of a statement.
+         *
+         * @return the number of executions with different parameters when it reaches the threshold, {@code 0} otherwise
+         * and once it has been reported.
+         */
+        private int execute(QueryInfo queryInfo, int threshold) {
+            String sql = queryInfo.getQuery();
+            if (repeated.contains(sql)) {
+                return 0;
+            }
+            Set<String> executions = parameters.computeIfAbsent(sql, key -> new HashSet<>());
+            executions.add(
+                queryInfo
+                    .getParametersList()
+                    .stream()
+                    .flatMap(List::stream)
+                    .map(operation -> Arrays.toString(operation.getArgs()))
+                    .collect(Collectors.joining())
+            );
+            if (executions.size() < threshold) {
+                return 0;
+            }
+            parameters.remove(sql);
+            repeated.add(sql);
+            return executions.size();
+        }
+
+        private String caller() {
+            return handler != null ? handler : name;
+        }
+
+        @Override
+        public String toString() {
+            return handler != null ? name + " (" + handler + ")" : name;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.qualize.api.repository;
+
+import com.qualize.api.domain.enumeration.AccountStatus;
+import java.math.BigDecimal;
+
+/**
+ * A read-only projection of {@link com.qualize.api.domain.Accounts} for the list views, read as plain columns rather
+ * than as managed entities. The crypto amounts are left out since they are priced from the latest rates.
+ */
+public interface AccountSummary {
+    Long getId();
+
+    BigDecimal getAmountYouOwe();
+
+    BigDecimal getAmountFriendOwes();
+
+    BigDecimal getNetReceivablePayable();
+
+    String getCryptoCurrency();
+
+    AccountStatus getAccountStatus();
+}
@@ -1,7 +1,20 @@
 package com.qualize.api.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import com.qualize.api.config.Constants;
 import com.qualize.api.domain.Accounts;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +22,80 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AccountsRepository extends JpaRepository<Accounts, Long> {}
+public interface AccountsRepository extends JpaRepository<Accounts, Long> {
+    /**
+     * Initialize the {@code friendNames} of some managed accounts, with the expense and settlement of each friend, in a
+     * single statement.
+     */
+    @EntityGraph(
+        attributePaths = {
+            "friendNames",
+            "friendNames.expense",
+            "friendNames.expense.groupName",
+            "friendNames.expense.activities",
+            "friendNames.settlement",
+        }
+    )
+    @Query("select accounts from Accounts accounts where accounts in :accounts")
+    List<Accounts> fetchFriendNames(@Param("accounts") Collection<Accounts> accounts);
+
+    @Query(
+        value = "select accounts.id as id, accounts.amountYouOwe as amountYouOwe, accounts.amountFriendOwes as amountFriendOwes, " +
+        "accounts.netReceivablePayable as netReceivablePayable, accounts.cryptoCurrency as cryptoCurrency, " +
+        "accounts.accountStatus as accountStatus from Accounts accounts",
+        countQuery = "select count(accounts) from Accounts accounts"
+    )
+    Page<AccountSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * Locks the given accounts for a balance update, always in id order so that concurrent ledger postings cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select accounts from Accounts accounts where accounts.id in :ids order by accounts.id")
+    List<Accounts> findAllForBalanceUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Sum the balances of all the accounts, as a single row of {@code [amountYouOwe, amountFriendOwes]}.
+     */
+    @Query("select coalesce(sum(accounts.amountYouOwe), 0), coalesce(sum(accounts.amountFriendOwes), 0) from Accounts accounts")
+    List<Object[]> sumBalances();
+
+    /**
+     * Stream all the accounts in id order through a forward-only cursor, for exports.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select accounts from Accounts accounts order by accounts.id")
+    Stream<Accounts> streamAll();
+
+    /**
+     * Lock all the accounts through a forward-only cursor, in id order like {@link #findAllForBalanceUpdate(Collection)},
+     * before all the balances are rebuilt.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select accounts from Accounts accounts order by accounts.id")
+    Stream<Accounts> streamAllForBalanceUpdate();
+
+    /**
+     * Get the accounts priced in one of the given crypto currencies that follow an id, in id order, for re-pricing.
+     */
+    @Query(
+        "select accounts from Accounts accounts where accounts.cryptoCurrency in :currencies and accounts.id > :afterId order by accounts.id"
+    )
+    List<Accounts> findAllByCryptoCurrencyInAfter(
+        @Param("currencies") Collection<String> currencies,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+}
@@ -1,7 +1,9 @@
 package com.qualize.api.repository;
 
 import com.qualize.api.domain.Activities;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +11,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ActivitiesRepository extends JpaRepository<Activities, Long> {}
+public interface ActivitiesRepository extends JpaRepository<Activities, Long> {
+    /**
+     * The id of the expense a activities is linked to, as stored.
+     */
+    @Query("select activities.expenseDetails.id from Activities activities where activities.id = :id")
+    Optional<Long> findExpenseDetailsIdById(@Param("id") Long id);
+}
@@ -1,7 +1,15 @@
 package com.qualize.api.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 import com.qualize.api.domain.CryptoTracker;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,33 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CryptoTrackerRepository extends JpaRepository<CryptoTracker, Long> {}
+public interface CryptoTrackerRepository extends JpaRepository<CryptoTracker, Long> {
+    String LATEST_RATES_CACHE = "cryptoTrackerLatest";
+
+    /**
+     * Find the rates of some currencies on some days, a superset of the (currency, day) pairs to look up.
+     */
+    List<CryptoTracker> findAllByCurrencyInAndFeedDateTimeIn(Collection<String> currencies, Collection<LocalDate> feedDateTimes);
+
+    /**
+     * Find the rates of the last day known for each currency, from the query cache until the {@code crypto_tracker} table
+     * changes.
+     */
+    @QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = LATEST_RATES_CACHE) })
+    @Query(
+        "select cryptoTracker from CryptoTracker cryptoTracker where cryptoTracker.feedDateTime = " +
+        "(select max(latest.feedDateTime) from CryptoTracker latest where latest.currency = cryptoTracker.currency)"
+    )
+    List<CryptoTracker> findAllLatest();
+
+    /**
+     * Find the (feedDateTime, value) rows of a currency between two days included, in day then id order, through the
+     * (currency, feed_date_time) index.
+     */
+    @Query(
+        "select cryptoTracker.feedDateTime, cryptoTracker.value from CryptoTracker cryptoTracker" +
+        " where cryptoTracker.currency = :currency and cryptoTracker.feedDateTime between :from and :to" +
+        " and cryptoTracker.value is not null order by cryptoTracker.feedDateTime, cryptoTracker.id"
+    )
+    List<Object[]> findSeriesRows(@Param("currency") String currency, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
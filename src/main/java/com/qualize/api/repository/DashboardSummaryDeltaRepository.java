@@ -0,0 +1,21 @@
+package com.qualize.api.repository;
+
+import com.qualize.api.domain.DashboardSummaryDelta;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the DashboardSummaryDelta entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface DashboardSummaryDeltaRepository extends JpaRepository<DashboardSummaryDelta, Long> {
+    /**
+     * Delete the given deltas, once they are folded into the summary. Deltas appended since they were read are kept.
+     */
+    @Modifying
+    @Query("delete from DashboardSummaryDelta dashboardSummaryDelta where dashboardSummaryDelta.id in :ids")
+    void deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
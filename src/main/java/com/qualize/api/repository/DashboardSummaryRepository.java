@@ -0,0 +1,47 @@
+package com.qualize.api.repository;
+
+import com.qualize.api.domain.DashboardSummary;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the DashboardSummary entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface DashboardSummaryRepository extends JpaRepository<DashboardSummary, Long> {
+    /**
+     * Get the revision of the summary, each delta not folded into it yet counting as one more, without reading the rest
+     * of the row.
+     */
+    @Query(
+        "select dashboardSummary.revision + (select count(delta) from DashboardSummaryDelta delta)" +
+        " from DashboardSummary dashboardSummary where dashboardSummary.id = :id"
+    )
+    Optional<Long> findRevisionById(@Param("id") Long id);
+
+    /**
+     * Get the summary with the deltas not folded into it yet, as rows of
+     * {@code [summary, youOwe, friendOwes, deltaCount, lastDeltaDate]} in one query.
+     */
+    @Query(
+        "select dashboardSummary," +
+        " (select coalesce(sum(delta.youOwe), 0) from DashboardSummaryDelta delta)," +
+        " (select coalesce(sum(delta.friendOwes), 0) from DashboardSummaryDelta delta)," +
+        " (select count(delta) from DashboardSummaryDelta delta)," +
+        " (select max(delta.createdDate) from DashboardSummaryDelta delta)" +
+        " from DashboardSummary dashboardSummary where dashboardSummary.id = :id"
+    )
+    List<Object[]> findWithDeltasById(@Param("id") Long id);
+
+    /**
+     * Lock the summary to fold the deltas into it or to rebuild it, one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select dashboardSummary from DashboardSummary dashboardSummary where dashboardSummary.id = :id")
+    Optional<DashboardSummary> findForUpdate(@Param("id") Long id);
+}
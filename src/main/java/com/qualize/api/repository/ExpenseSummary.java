@@ -0,0 +1,22 @@
+package com.qualize.api.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A read-only projection of {@link com.qualize.api.domain.Expenses} for the list views, read as plain columns rather
+ * than as managed entities.
+ */
+public interface ExpenseSummary {
+    Long getId();
+
+    String getDescription();
+
+    BigDecimal getAmount();
+
+    BigDecimal getPaidBy();
+
+    String getCryptoCurrency();
+
+    LocalDate getDateAdded();
+}
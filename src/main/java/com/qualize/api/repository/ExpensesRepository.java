@@ -1,12 +1,121 @@
 package com.qualize.api.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import com.qualize.api.config.Constants;
 import com.qualize.api.domain.Expenses;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Expenses entity.
+ * <p>
+ * {@code groupName} and {@code activities} are the inverse sides of one-to-one associations, which Hibernate cannot
+ * proxy: the queries below left join fetch both of them so that a page is read in a single statement.
+ * {@code paidBies} is only read on request, for a whole page at once by {@link #fetchPaidBies(Collection)}.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ExpensesRepository extends JpaRepository<Expenses, Long> {}
+public interface ExpensesRepository extends JpaRepository<Expenses, Long> {
+    @Override
+    @EntityGraph(attributePaths = { "groupName", "activities" })
+    Page<Expenses> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "groupName", "activities" })
+    Optional<Expenses> findById(Long id);
+
+    /**
+     * Lock an expense before a write, so that the balance and rollup changes of concurrent writes of the same expense
+     * are computed one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = { "groupName", "activities" })
+    @Query("select expenses from Expenses expenses where expenses.id = :id")
+    Optional<Expenses> findForUpdate(@Param("id") Long id);
+
+    /**
+     * Initialize the {@code paidBies} of some managed expenses, with the settlement and account of each friend, in a
+     * single statement.
+     */
+    @EntityGraph(attributePaths = { "paidBies", "paidBies.settlement", "paidBies.accounts" })
+    @Query("select expenses from Expenses expenses where expenses in :expenses")
+    List<Expenses> fetchPaidBies(@Param("expenses") Collection<Expenses> expenses);
+
+    @Query(
+        value = "select expenses.id as id, expenses.description as description, expenses.amount as amount, expenses.paidBy as paidBy, " +
+        "expenses.cryptoCurrency as cryptoCurrency, expenses.dateAdded as dateAdded from Expenses expenses",
+        countQuery = "select count(expenses) from Expenses expenses"
+    )
+    Page<ExpenseSummary> findAllSummaries(Pageable pageable);
+
+    @Query(
+        value = "select expenses from Expenses expenses left join fetch expenses.groupName groupName left join fetch expenses.activities " +
+        "where groupName.id is null",
+        countQuery = "select count(expenses) from Expenses expenses " +
+        "where not exists (select groups.id from Groups groups where groups.expenses = expenses)"
+    )
+    Page<Expenses> findAllWhereGroupNameIsNull(Pageable pageable);
+
+    @Query(
+        value = "select expenses from Expenses expenses left join fetch expenses.groupName left join fetch expenses.activities activities " +
+        "where activities.id is null",
+        countQuery = "select count(expenses) from Expenses expenses " +
+        "where not exists (select activities.id from Activities activities where activities.expenseDetails = expenses)"
+    )
+    Page<Expenses> findAllWhereActivitiesIsNull(Pageable pageable);
+
+    /**
+     * Stream all the expenses in id order through a forward-only cursor, for exports.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query(
+        "select expenses from Expenses expenses left join fetch expenses.groupName left join fetch expenses.activities " +
+        "order by expenses.id"
+    )
+    Stream<Expenses> streamAll();
+
+    /**
+     * Rows of {@code [dateAdded, groupId, activityId, cryptoCurrency, amount]} of some expenses, used by the spending
+     * rollups.
+     */
+    @Query(
+        "select expenses.dateAdded, groupName.id, activities.id, expenses.cryptoCurrency, expenses.amount from Expenses expenses " +
+        "left join expenses.groupName groupName left join expenses.activities activities where expenses.id in :ids"
+    )
+    List<Object[]> findRollupRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream the rows of {@code [dateAdded, groupId, activityId, cryptoCurrency, amount]} of all the expenses through a
+     * forward-only cursor, used to reconcile the spending rollups.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query(
+        "select expenses.dateAdded, groupName.id, activities.id, expenses.cryptoCurrency, expenses.amount from Expenses expenses " +
+        "left join expenses.groupName groupName left join expenses.activities activities"
+    )
+    Stream<Object[]> streamRollupRows();
+}
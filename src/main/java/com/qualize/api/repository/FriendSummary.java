@@ -0,0 +1,20 @@
+package com.qualize.api.repository;
+
+/**
+ * A read-only projection of {@link com.qualize.api.domain.Friends} for the list views, read as plain columns rather
+ * than as managed entities.
+ */
+public interface FriendSummary {
+    Long getId();
+
+    String getFriendName();
+
+    String getEmail();
+
+    String getDefaultCryptoCurrency();
+
+    /**
+     * The id of the friend's account, {@code null} when the friend has no account.
+     */
+    Long getAccountId();
+}
@@ -1,12 +1,92 @@
 package com.qualize.api.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 import com.qualize.api.domain.Friends;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Friends entity.
+ * <p>
+ * The expense, settlement and account of a friend are eager, and so are the inverse one-to-one associations of the
+ * expense: pages and single friends are read with all of them joined, rather than with one select per association.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface FriendsRepository extends JpaRepository<Friends, Long> {}
+public interface FriendsRepository extends JpaRepository<Friends, Long> {
+    String FRIENDS_BY_ACCOUNT_CACHE = "friendsByAccount";
+
+    @Override
+    @EntityGraph(attributePaths = { "expense", "expense.groupName", "expense.activities", "settlement", "accounts" })
+    Page<Friends> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "expense", "expense.groupName", "expense.activities", "settlement", "accounts" })
+    Optional<Friends> findById(Long id);
+
+    @Query(
+        value = "select friends.id as id, friends.friendName as friendName, friends.email as email, " +
+        "friends.defaultCryptoCurrency as defaultCryptoCurrency, account.id as accountId from Friends friends " +
+        "left join friends.accounts account",
+        countQuery = "select count(friends) from Friends friends"
+    )
+    Page<FriendSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * Find the friends of an account, from the query cache until the {@code friends} table changes. The friends and their
+     * associations are then read from the second-level cache.
+     */
+    @QueryHints(
+        { @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = FRIENDS_BY_ACCOUNT_CACHE) }
+    )
+    List<Friends> findAllByAccountsIdOrderById(Long accountsId);
+
+    /**
+     * One row per friend of the expense, with the friend's account id or {@code null} when the friend has no account.
+     */
+    @Query("select account.id from Friends friends left join friends.accounts account where friends.expense.id = :expenseId")
+    List<Long> findAccountIdsByExpenseId(@Param("expenseId") Long expenseId);
+
+    /**
+     * One row per friend of the settlement, with the friend's account id or {@code null} when the friend has no account.
+     */
+    @Query("select account.id from Friends friends left join friends.accounts account where friends.settlement.id = :settlementId")
+    List<Long> findAccountIdsBySettlementId(@Param("settlementId") Long settlementId);
+
+    /**
+     * Rows of {@code [expenseId, amount, paidBy, accountId]} ordered by expense, used to rebuild the balance ledger.
+     */
+    @Query(
+        "select expense.id, expense.amount, expense.paidBy, account.id from Friends friends join friends.expense expense " +
+        "left join friends.accounts account order by expense.id"
+    )
+    Stream<Object[]> streamExpenseAccountRows();
+
+    /**
+     * Rows of {@code [settlementId, amountYouOwe, settlementStatus, accountId]} ordered by settlement, used to rebuild the balance ledger.
+     */
+    @Query(
+        "select settlement.id, settlement.amountYouOwe, settlement.settlementStatus, account.id from Friends friends " +
+        "join friends.settlement settlement left join friends.accounts account order by settlement.id"
+    )
+    Stream<Object[]> streamSettlementAccountRows();
+
+    /**
+     * Rows of {@code [accountId, friendName]} with the name of the first friend of each account, used by the dashboard.
+     */
+    @Query(
+        "select friends.accounts.id, friends.friendName from Friends friends where friends.id in " +
+        "(select min(first.id) from Friends first where first.accounts.id in :accountIds group by first.accounts.id)"
+    )
+    List<Object[]> findFirstFriendNameByAccountIdIn(@Param("accountIds") Collection<Long> accountIds);
+}
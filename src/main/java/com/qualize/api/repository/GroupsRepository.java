@@ -1,7 +1,9 @@
 package com.qualize.api.repository;
 
 import com.qualize.api.domain.Groups;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +11,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface GroupsRepository extends JpaRepository<Groups, Long> {}
+public interface GroupsRepository extends JpaRepository<Groups, Long> {
+    /**
+     * The id of the expense a groups is linked to, as stored.
+     */
+    @Query("select groups.expenses.id from Groups groups where groups.id = :id")
+    Optional<Long> findExpensesIdById(@Param("id") Long id);
+}
@@ -0,0 +1,19 @@
+package com.qualize.api.repository;
+
+/**
+ * Thrown by {@link KeysetPaginationRepository} when a cursor does not match the entity it is applied to.
+ * <p>
+ * It is not an {@link IllegalArgumentException}, which the repository proxy would translate to a data access exception.
+ */
+public class InvalidKeysetCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidKeysetCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidKeysetCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,115 @@
+package com.qualize.api.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position in a list of entities ordered by a sort key then by id, used for keyset (seek) pagination.
+ * <p>
+ * A cursor holds the sort key and the id of the last row of a page: the next page starts right after that tuple,
+ * whatever the number of rows before it. It travels as an opaque, URL-safe token.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = ";";
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final Long lastId;
+
+    private final String lastValue;
+
+    private KeysetCursor(String property, Sort.Direction direction, Long lastId, String lastValue) {
+        this.property = Objects.requireNonNull(property);
+        this.direction = Objects.requireNonNull(direction);
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Cursor on the first page of a list.
+     *
+     * @param property the sort key.
+     * @param direction the sort direction, applied to the sort key and to the id.
+     * @return the cursor.
+     */
+    public static KeysetCursor first(String property, Sort.Direction direction) {
+        return new KeysetCursor(property, direction, null, null);
+    }
+
+    /**
+     * Cursor on the rows following the given one.
+     *
+     * @param property the sort key.
+     * @param direction the sort direction.
+     * @param lastId the id of the last row read.
+     * @param lastValue the sort key of the last row read, as a string, or {@code null}.
+     * @return the cursor.
+     */
+    public static KeysetCursor after(String property, Sort.Direction direction, Long lastId, String lastValue) {
+        return new KeysetCursor(property, direction, Objects.requireNonNull(lastId), lastValue);
+    }
+
+    /**
+     * Decode a cursor token.
+     *
+     * @param token the token returned by {@link #toToken()}.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the token is not a valid cursor.
+     */
+    public static KeysetCursor parse(String token) {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(SEPARATOR, 4);
+        if (parts.length < 3 || parts[0].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        Sort.Direction direction = Sort.Direction.fromString(parts[1]);
+        long lastId = Long.parseLong(parts[2]);
+        return after(parts[0], direction, lastId, parts.length == 4 ? parts[3] : null);
+    }
+
+    /**
+     * @return the opaque token of this cursor.
+     */
+    public String toToken() {
+        StringBuilder token = new StringBuilder(property).append(SEPARATOR).append(direction).append(SEPARATOR).append(lastId);
+        if (lastValue != null) {
+            token.append(SEPARATOR).append(lastValue);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+            "property='" + property + "'" +
+            ", direction=" + direction +
+            ", lastId=" + lastId +
+            ", lastValue='" + lastValue + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,32 @@
+package com.qualize.api.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of entities read with a {@link KeysetCursor}, without a total count.
+ *
+ * @param <T> the type of the entities.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+
+    private final KeysetCursor next;
+
+    public KeysetPage(List<T> content, KeysetCursor next) {
+        this.content = content;
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the cursor on the following page, empty on the last page.
+     */
+    public Optional<KeysetCursor> getNext() {
+        return Optional.ofNullable(next);
+    }
+}
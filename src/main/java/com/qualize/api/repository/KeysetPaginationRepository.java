@@ -0,0 +1,135 @@
+package com.qualize.api.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.FetchParent;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyset (seek) pagination of any entity.
+ * <p>
+ * Rows are ordered by a sort key then by id and a page starts strictly after the (sort key, id) tuple of the cursor, so
+ * that reading a page costs an index range scan on {@code (sort key, id)} whatever its depth, and no count query is
+ * issued. The sort key may be null: nulls sort before any value in ascending order, as they do in MySQL and H2.
+ */
+@Repository
+public class KeysetPaginationRepository {
+
+    private static final String ID = "id";
+
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    private final EntityManager em;
+
+    public KeysetPaginationRepository(EntityManager em) {
+        this.em = em;
+    }
+
+    /**
+     * Read the page of entities following a cursor.
+     *
+     * @param type the type of the entities.
+     * @param cursor the position to read from.
+     * @param size the maximum number of entities of the page.
+     * @param fetches the associations to fetch with the entities, nested ones as dotted paths after their parent.
+     * @param <T> the type of the entities.
+     * @return the page, with the cursor on the next page if there is one.
+     * @throws InvalidKeysetCursorException if the sort key of the cursor is not a basic attribute of the entity, or if
+     * its value cannot be converted to the type of that attribute.
+     */
+    public <T> KeysetPage<T> findAfter(Class<T> type, KeysetCursor cursor, int size, String... fetches) {
+        SingularAttribute<? super T, ?> attribute;
+        try {
+            attribute = em.getMetamodel().entity(type).getSingularAttribute(cursor.getProperty());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeysetCursorException("Cannot seek on " + cursor.getProperty(), e);
+        }
+        if (attribute.isAssociation()) {
+            throw new InvalidKeysetCursorException("Cannot seek on association " + cursor.getProperty());
+        }
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        Map<String, FetchParent<?, ?>> fetched = new HashMap<>();
+        for (String fetch : fetches) {
+            int dot = fetch.lastIndexOf('.');
+            FetchParent<?, ?> parent = dot < 0 ? root : fetched.get(fetch.substring(0, dot));
+            fetched.put(fetch, parent.fetch(fetch.substring(dot + 1), JoinType.LEFT));
+        }
+        if (!cursor.isFirst()) {
+            query.where(seek(cb, root, attribute, cursor));
+        }
+        query.orderBy(orderBy(cb, root, cursor));
+
+        List<T> rows = em.createQuery(query).setMaxResults(size + 1).getResultList();
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        T last = content.get(size - 1);
+        Long lastId = (Long) em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(last);
+        Object lastValue = PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue(cursor.getProperty());
+        KeysetCursor next = KeysetCursor.after(
+            cursor.getProperty(),
+            cursor.getDirection(),
+            lastId,
+            lastValue == null ? null : conversionService.convert(lastValue, String.class)
+        );
+        return new KeysetPage<>(content, next);
+    }
+
+    private <T> List<Order> orderBy(CriteriaBuilder cb, Root<T> root, KeysetCursor cursor) {
+        boolean ascending = cursor.getDirection().isAscending();
+        Path<Object> id = root.get(ID);
+        Order idOrder = ascending ? cb.asc(id) : cb.desc(id);
+        if (ID.equals(cursor.getProperty())) {
+            return List.of(idOrder);
+        }
+        Path<Object> key = root.get(cursor.getProperty());
+        return List.of(ascending ? cb.asc(key) : cb.desc(key), idOrder);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private <T> Predicate seek(CriteriaBuilder cb, Root<T> root, SingularAttribute<? super T, ?> attribute, KeysetCursor cursor) {
+        boolean ascending = cursor.getDirection().isAscending();
+        Path<Long> id = root.get(ID);
+        Predicate afterId = ascending ? cb.greaterThan(id, cursor.getLastId()) : cb.lessThan(id, cursor.getLastId());
+        if (ID.equals(cursor.getProperty())) {
+            return afterId;
+        }
+
+        Path<Comparable> key = root.get(cursor.getProperty());
+        if (cursor.getLastValue() == null) {
+            // nulls come first in ascending order and last in descending order
+            return ascending ? cb.or(cb.and(cb.isNull(key), afterId), cb.isNotNull(key)) : cb.and(cb.isNull(key), afterId);
+        }
+        Comparable value = convert(cursor.getLastValue(), attribute.getJavaType());
+        if (ascending) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value), cb.or(cb.greaterThan(key, value), afterId));
+        }
+        return cb.or(cb.and(cb.lessThanOrEqualTo(key, value), cb.or(cb.lessThan(key, value), afterId)), cb.isNull(key));
+    }
+
+    private Comparable<?> convert(String value, Class<?> javaType) {
+        try {
+            return (Comparable<?>) conversionService.convert(value, javaType);
+        } catch (ConversionException | ClassCastException e) {
+            throw new InvalidKeysetCursorException("Invalid cursor value " + value, e);
+        }
+    }
+}
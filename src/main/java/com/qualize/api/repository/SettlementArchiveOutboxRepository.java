@@ -0,0 +1,25 @@
+package com.qualize.api.repository;
+
+import com.qualize.api.domain.SettlementArchiveOutbox;
+import com.qualize.api.domain.enumeration.ArchiveStatus;
+import java.time.Instant;
+import java.util.List;
+import javax.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the SettlementArchiveOutbox entity.
+ */
+@Repository
+public interface SettlementArchiveOutboxRepository extends JpaRepository<SettlementArchiveOutbox, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select outbox from SettlementArchiveOutbox outbox where outbox.status = :status and outbox.nextAttemptAt <= :now order by outbox.id"
+    )
+    List<SettlementArchiveOutbox> findDueForUpdate(@Param("status") ArchiveStatus status, @Param("now") Instant now, Pageable pageable);
+
+    long countByStatus(ArchiveStatus status);
+}
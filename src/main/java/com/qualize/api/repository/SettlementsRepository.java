@@ -1,7 +1,21 @@
 package com.qualize.api.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import com.qualize.api.config.Constants;
 import com.qualize.api.domain.Settlements;
+import com.qualize.api.domain.enumeration.SettlementStatus;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +23,57 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SettlementsRepository extends JpaRepository<Settlements, Long> {}
+public interface SettlementsRepository extends JpaRepository<Settlements, Long> {
+    /**
+     * Lock a settlement before a write, so that the balance changes of concurrent writes of the same settlement are
+     * computed one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select settlements from Settlements settlements where settlements.id = :id")
+    Optional<Settlements> findForUpdate(@Param("id") Long id);
+
+    /**
+     * Initialize the {@code accounts} of some managed settlements, with the expense and account of each friend, in a
+     * single statement.
+     */
+    @EntityGraph(
+        attributePaths = {
+            "accounts",
+            "accounts.expense",
+            "accounts.expense.groupName",
+            "accounts.expense.activities",
+            "accounts.accounts",
+        }
+    )
+    @Query("select settlements from Settlements settlements where settlements in :settlements")
+    List<Settlements> fetchAccounts(@Param("settlements") Collection<Settlements> settlements);
+
+    /**
+     * Stream all the settlements in id order through a forward-only cursor, for exports.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select settlements from Settlements settlements order by settlements.id")
+    Stream<Settlements> streamAll();
+
+    /**
+     * Get the settlements priced in one of the given crypto currencies that are without a status or in the given one
+     * and follow an id, in id order, for re-pricing.
+     */
+    @Query(
+        "select settlements from Settlements settlements where settlements.cryptoCurrency in :currencies" +
+        " and (settlements.settlementStatus is null or settlements.settlementStatus = :status)" +
+        " and settlements.id > :afterId order by settlements.id"
+    )
+    List<Settlements> findAllByCryptoCurrencyInAndStatusAfter(
+        @Param("currencies") Collection<String> currencies,
+        @Param("status") SettlementStatus status,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+}
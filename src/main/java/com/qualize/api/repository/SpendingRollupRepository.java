@@ -0,0 +1,42 @@
+package com.qualize.api.repository;
+
+import com.qualize.api.domain.SpendingRollup;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the SpendingRollup entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface SpendingRollupRepository extends JpaRepository<SpendingRollup, Long>, JpaSpecificationExecutor<SpendingRollup> {
+    /**
+     * Lock the rollup of a (month, group, activity, currency) key for an update.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select spendingRollup from SpendingRollup spendingRollup where spendingRollup.month = :month" +
+        " and spendingRollup.groupId = :groupId and spendingRollup.activityId = :activityId and spendingRollup.currency = :currency"
+    )
+    Optional<SpendingRollup> findForUpdate(
+        @Param("month") LocalDate month,
+        @Param("groupId") Long groupId,
+        @Param("activityId") Long activityId,
+        @Param("currency") String currency
+    );
+
+    /**
+     * Lock all the rollups for a reconciliation, in the key order of the updates.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select spendingRollup from SpendingRollup spendingRollup order by spendingRollup.month, spendingRollup.groupId," +
+        " spendingRollup.activityId, spendingRollup.currency"
+    )
+    List<SpendingRollup> findAllForUpdate();
+}
@@ -5,9 +5,15 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +35,11 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    /**
+     * Maximum number of verified tokens kept in the token cache.
+     */
+    private static final int TOKEN_CACHE_MAX_SIZE = 10_000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -39,6 +50,10 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
+    private final ConcurrentMap<ByteBuffer, VerifiedToken> tokenCache = new ConcurrentHashMap<>();
+
+    private Clock clock = Clock.systemUTC();
+
     public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
@@ -54,7 +69,8 @@ public class TokenProvider {
             keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         }
         key = Keys.hmacShaKeyFor(keyBytes);
-        jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        // the expiration is checked against the same clock as the token cache
+        jwtParser = Jwts.parserBuilder().setSigningKey(key).setClock(() -> new Date(clock.millis())).build();
         this.tokenValidityInMilliseconds = 1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
@@ -65,7 +81,7 @@ public class TokenProvider {
     public String createToken(Authentication authentication, boolean rememberMe) {
         String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
 
-        long now = (new Date()).getTime();
+        long now = clock.millis();
         Date validity;
         if (rememberMe) {
             validity = new Date(now + this.tokenValidityInMillisecondsForRememberMe);
@@ -83,8 +99,61 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return toAuthentication(jwtParser.parseClaimsJws(token).getBody(), token);
+    }
+
+    /**
+     * Verify a token and build its authentication, in a single parse.
+     * <p>
+     * Verified tokens are kept in a bounded cache keyed by their SHA-256 digest until they expire, so that a token
+     * presented again is neither parsed nor verified again, and gets the same {@link Authentication} instance.
+     *
+     * @param token the token presented by the client.
+     * @return the authentication of the token, empty if the token is not valid.
+     */
+    public Optional<Authentication> authenticate(String token) {
+        ByteBuffer digest = digest(token);
+        long now = clock.millis();
+        VerifiedToken verified = tokenCache.get(digest);
+        if (verified != null) {
+            if (now < verified.expiresAt) {
+                securityMetersService.trackTokenCacheHit();
+                return Optional.of(verified.authentication);
+            }
+            tokenCache.remove(digest, verified);
+        }
+        securityMetersService.trackTokenCacheMiss();
+
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return Optional.empty();
+        }
+        Authentication authentication = toAuthentication(claims, token);
+        Date expiration = claims.getExpiration();
+        if (expiration != null && now < expiration.getTime()) {
+            if (tokenCache.size() >= TOKEN_CACHE_MAX_SIZE) {
+                // cheaper than tracking the least recently used tokens, the cache fills up again with the active ones
+                tokenCache.clear();
+            }
+            tokenCache.put(digest, new VerifiedToken(authentication, expiration.getTime()));
+        }
+        return Optional.of(authentication);
+    }
 
+    /**
+     * Replace the clock the expiration of the tokens is checked against, for tests.
+     *
+     * @param clock the clock.
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    private Authentication toAuthentication(Claims claims, String token) {
         Collection<? extends GrantedAuthority> authorities = Arrays
             .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
             .filter(auth -> !auth.trim().isEmpty())
@@ -96,11 +165,9 @@ public class TokenProvider {
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
-    public boolean validateToken(String authToken) {
+    private Claims parseClaims(String authToken) {
         try {
-            jwtParser.parseClaimsJws(authToken);
-
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -121,6 +188,26 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class VerifiedToken {
+
+        private final Authentication authentication;
+
+        private final long expiresAt;
+
+        private VerifiedToken(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
     }
 }
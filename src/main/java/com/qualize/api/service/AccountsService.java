@@ -1,12 +1,24 @@
 package com.qualize.api.service;
 
 import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.Accounts_;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.repository.AccountSummary;
 import com.qualize.api.repository.AccountsRepository;
+import com.qualize.api.repository.FriendsRepository;
+import com.qualize.api.repository.KeysetCursor;
+import com.qualize.api.repository.KeysetPage;
+import com.qualize.api.repository.KeysetPaginationRepository;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,48 +29,119 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class AccountsService {
 
+    /**
+     * The columns of a CSV export.
+     */
+    private static final List<String> EXPORT_COLUMNS = List.of(
+        Accounts_.ID,
+        Accounts_.AMOUNT_YOU_OWE,
+        Accounts_.AMOUNT_FRIEND_OWES,
+        Accounts_.NET_RECEIVABLE_PAYABLE,
+        Accounts_.CRYPTO_CURRENCY,
+        Accounts_.CURRENCY_VALUE,
+        Accounts_.CRYPTO_RECEIVABLE_PAYABLE,
+        Accounts_.SORT_ORDER,
+        Accounts_.DATE_ADDED,
+        Accounts_.DATE_MODIFIED,
+        Accounts_.ACCOUNT_STATUS
+    );
+
     private final Logger log = LoggerFactory.getLogger(AccountsService.class);
 
     private final AccountsRepository accountsRepository;
 
-    public AccountsService(AccountsRepository accountsRepository) {
+    private final FriendsRepository friendsRepository;
+
+    private final KeysetPaginationRepository keysetPaginationRepository;
+
+    private final EntityExporter entityExporter;
+
+    private final CryptoConversionService cryptoConversionService;
+
+    private final DashboardService dashboardService;
+
+    public AccountsService(
+        AccountsRepository accountsRepository,
+        FriendsRepository friendsRepository,
+        KeysetPaginationRepository keysetPaginationRepository,
+        EntityExporter entityExporter,
+        CryptoConversionService cryptoConversionService,
+        DashboardService dashboardService
+    ) {
         this.accountsRepository = accountsRepository;
+        this.friendsRepository = friendsRepository;
+        this.keysetPaginationRepository = keysetPaginationRepository;
+        this.entityExporter = entityExporter;
+        this.cryptoConversionService = cryptoConversionService;
+        this.dashboardService = dashboardService;
     }
 
     /**
-     * Save a accounts.
+     * Save a accounts, and add its balances to the dashboard totals.
      *
      * @param accounts the entity to save.
      * @return the persisted entity.
      */
     public Accounts save(Accounts accounts) {
         log.debug("Request to save Accounts : {}", accounts);
-        return accountsRepository.save(accounts);
+        cryptoConversionService.priceAccounts(List.of(accounts));
+        Accounts result = accountsRepository.save(accounts);
+        dashboardService.addToTotals(orZero(result.getAmountYouOwe()), orZero(result.getAmountFriendOwes()));
+        return result;
     }
 
     /**
-     * Update a accounts.
+     * Update a accounts, and add the change of its balances to the dashboard totals. The fields are copied onto the
+     * stored accounts, so that an accounts without a version is updated rather than inserted as a new one.
      *
-     * @param accounts the entity to save.
-     * @return the persisted entity.
+     * @param accounts the entity to update, with the version it was read at if any.
+     * @return the persisted entity, empty if the accounts does not exist.
+     * @throws ObjectOptimisticLockingFailureException if the accounts was updated since that version.
      */
-    public Accounts update(Accounts accounts) {
-        log.debug("Request to save Accounts : {}", accounts);
-        return accountsRepository.save(accounts);
+    public Optional<Accounts> update(Accounts accounts) {
+        log.debug("Request to update Accounts : {}", accounts);
+
+        return findForBalanceUpdate(accounts.getId())
+            .map(existingAccounts -> {
+                checkVersion(accounts, existingAccounts);
+                BigDecimal youOweBefore = orZero(existingAccounts.getAmountYouOwe());
+                BigDecimal friendOwesBefore = orZero(existingAccounts.getAmountFriendOwes());
+                existingAccounts.setAmountYouOwe(accounts.getAmountYouOwe());
+                existingAccounts.setAmountFriendOwes(accounts.getAmountFriendOwes());
+                existingAccounts.setNetReceivablePayable(accounts.getNetReceivablePayable());
+                existingAccounts.setCryptoCurrency(accounts.getCryptoCurrency());
+                existingAccounts.setCurrencyValue(accounts.getCurrencyValue());
+                existingAccounts.setCryptoReceivablePayable(accounts.getCryptoReceivablePayable());
+                existingAccounts.setSortOrder(accounts.getSortOrder());
+                existingAccounts.setDateAdded(accounts.getDateAdded());
+                existingAccounts.setDateModified(accounts.getDateModified());
+                existingAccounts.setAccountStatus(accounts.getAccountStatus());
+                cryptoConversionService.priceAccounts(List.of(existingAccounts));
+                dashboardService.addToTotals(
+                    orZero(existingAccounts.getAmountYouOwe()).subtract(youOweBefore),
+                    orZero(existingAccounts.getAmountFriendOwes()).subtract(friendOwesBefore)
+                );
+
+                return existingAccounts;
+            })
+            .map(accountsRepository::save);
     }
 
     /**
-     * Partially update a accounts.
+     * Partially update a accounts, and add the change of its balances to the dashboard totals.
      *
-     * @param accounts the entity to update partially.
+     * @param accounts the entity to update partially, with the version it was read at if any.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the accounts was updated since that version.
      */
     public Optional<Accounts> partialUpdate(Accounts accounts) {
         log.debug("Request to partially update Accounts : {}", accounts);
 
-        return accountsRepository
-            .findById(accounts.getId())
+        return findForBalanceUpdate(accounts.getId())
             .map(existingAccounts -> {
+                checkVersion(accounts, existingAccounts);
+                BigDecimal youOweBefore = orZero(existingAccounts.getAmountYouOwe());
+                BigDecimal friendOwesBefore = orZero(existingAccounts.getAmountFriendOwes());
                 if (accounts.getAmountYouOwe() != null) {
                     existingAccounts.setAmountYouOwe(accounts.getAmountYouOwe());
                 }
@@ -89,6 +172,11 @@ public class AccountsService {
                 if (accounts.getAccountStatus() != null) {
                     existingAccounts.setAccountStatus(accounts.getAccountStatus());
                 }
+                cryptoConversionService.priceAccounts(List.of(existingAccounts));
+                dashboardService.addToTotals(
+                    orZero(existingAccounts.getAmountYouOwe()).subtract(youOweBefore),
+                    orZero(existingAccounts.getAmountFriendOwes()).subtract(friendOwesBefore)
+                );
 
                 return existingAccounts;
             })
@@ -99,12 +187,59 @@ public class AccountsService {
      * Get all the accounts.
      *
      * @param pageable the pagination information.
+     * @param withFriendNames whether to read the friends of the accounts too.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<Accounts> findAll(Pageable pageable) {
+    public Page<Accounts> findAll(Pageable pageable, boolean withFriendNames) {
         log.debug("Request to get all Accounts");
-        return accountsRepository.findAll(pageable);
+        Page<Accounts> page = accountsRepository.findAll(pageable);
+        cryptoConversionService.priceAccounts(page.getContent());
+        fetchFriendNames(page.getContent(), withFriendNames);
+        return page;
+    }
+
+    /**
+     * Get the summaries of all the accounts, read as plain columns.
+     *
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<AccountSummary> findAllSummaries(Pageable pageable) {
+        log.debug("Request to get all Accounts summaries");
+        return accountsRepository.findAllSummaries(pageable);
+    }
+
+    /**
+     * Get the page of accounts following a keyset cursor, without counting them.
+     *
+     * @param cursor the position to read from.
+     * @param size the maximum number of entities of the page.
+     * @param withFriendNames whether to read the friends of the accounts too.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Accounts> findAllAfter(KeysetCursor cursor, int size, boolean withFriendNames) {
+        log.debug("Request to get Accounts after {}", cursor);
+        KeysetPage<Accounts> page = keysetPaginationRepository.findAfter(Accounts.class, cursor, size);
+        cryptoConversionService.priceAccounts(page.getContent());
+        fetchFriendNames(page.getContent(), withFriendNames);
+        return page;
+    }
+
+    /**
+     * Export all the accounts, streamed from the database as they are written.
+     *
+     * @param format the output format.
+     * @param outputStream the stream to write to.
+     * @return the number of exported entities.
+     * @throws IOException if the output cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(RowFormat format, OutputStream outputStream) throws IOException {
+        log.debug("Request to export all Accounts as {}", format);
+        return entityExporter.export(accountsRepository.streamAll(), Accounts.class, format, EXPORT_COLUMNS, outputStream);
     }
 
     /**
@@ -116,16 +251,58 @@ public class AccountsService {
     @Transactional(readOnly = true)
     public Optional<Accounts> findOne(Long id) {
         log.debug("Request to get Accounts : {}", id);
-        return accountsRepository.findById(id);
+        Optional<Accounts> accounts = accountsRepository.findById(id);
+        accounts.ifPresent(existing -> cryptoConversionService.priceAccounts(List.of(existing)));
+        return accounts;
+    }
+
+    /**
+     * Get the friends of one accounts, from the query cache while the friends are unchanged.
+     *
+     * @param id the id of the accounts.
+     * @return the friends, in id order, empty if the accounts has no friends or does not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<Friends> findFriends(Long id) {
+        log.debug("Request to get the Friends of Accounts : {}", id);
+        return friendsRepository.findAllByAccountsIdOrderById(id);
     }
 
     /**
-     * Delete the accounts by id.
+     * Delete the accounts by id, and subtract its balances from the dashboard totals.
      *
      * @param id the id of the entity.
      */
     public void delete(Long id) {
         log.debug("Request to delete Accounts : {}", id);
+        findForBalanceUpdate(id)
+            .ifPresent(accounts ->
+                dashboardService.addToTotals(orZero(accounts.getAmountYouOwe()).negate(), orZero(accounts.getAmountFriendOwes()).negate())
+            );
         accountsRepository.deleteById(id);
     }
+
+    private static void checkVersion(Accounts accounts, Accounts existingAccounts) {
+        if (accounts.getVersion() != null && !accounts.getVersion().equals(existingAccounts.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Accounts.class, existingAccounts.getId());
+        }
+    }
+
+    /**
+     * Read an accounts locked, as the ledger does before changing its balances, so that the account rows are always
+     * locked the same way. The locking read always goes to the database, bypassing the second-level cache.
+     */
+    private Optional<Accounts> findForBalanceUpdate(Long id) {
+        return accountsRepository.findAllForBalanceUpdate(List.of(id)).stream().findFirst();
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private void fetchFriendNames(List<Accounts> accounts, boolean withFriendNames) {
+        if (withFriendNames && !accounts.isEmpty()) {
+            accountsRepository.fetchFriendNames(accounts);
+        }
+    }
 }
@@ -1,7 +1,14 @@
 package com.qualize.api.service;
 
 import com.qualize.api.domain.Activities;
+import com.qualize.api.domain.Activities_;
 import com.qualize.api.repository.ActivitiesRepository;
+import com.qualize.api.repository.KeysetCursor;
+import com.qualize.api.repository.KeysetPage;
+import com.qualize.api.repository.KeysetPaginationRepository;
+import com.qualize.api.service.SpendingRollupService.Contribution;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,8 +28,18 @@ public class ActivitiesService {
 
     private final ActivitiesRepository activitiesRepository;
 
-    public ActivitiesService(ActivitiesRepository activitiesRepository) {
+    private final KeysetPaginationRepository keysetPaginationRepository;
+
+    private final SpendingRollupService spendingRollupService;
+
+    public ActivitiesService(
+        ActivitiesRepository activitiesRepository,
+        KeysetPaginationRepository keysetPaginationRepository,
+        SpendingRollupService spendingRollupService
+    ) {
         this.activitiesRepository = activitiesRepository;
+        this.keysetPaginationRepository = keysetPaginationRepository;
+        this.spendingRollupService = spendingRollupService;
     }
 
     /**
@@ -33,7 +50,11 @@ public class ActivitiesService {
      */
     public Activities save(Activities activities) {
         log.debug("Request to save Activities : {}", activities);
-        return activitiesRepository.save(activities);
+        List<Long> expenseIds = linkedExpenseIds(activities);
+        Contribution before = spendingRollupService.contributionOf(expenseIds);
+        Activities result = activitiesRepository.save(activities);
+        spendingRollupService.apply(before, spendingRollupService.contributionOf(expenseIds));
+        return result;
     }
 
     /**
@@ -44,7 +65,11 @@ public class ActivitiesService {
      */
     public Activities update(Activities activities) {
         log.debug("Request to save Activities : {}", activities);
-        return activitiesRepository.save(activities);
+        List<Long> expenseIds = linkedExpenseIds(activities);
+        Contribution before = spendingRollupService.contributionOf(expenseIds);
+        Activities result = activitiesRepository.save(activities);
+        spendingRollupService.apply(before, spendingRollupService.contributionOf(expenseIds));
+        return result;
     }
 
     /**
@@ -98,6 +123,19 @@ public class ActivitiesService {
         return activitiesRepository.findAll(pageable);
     }
 
+    /**
+     * Get the page of activities following a keyset cursor, without counting them.
+     *
+     * @param cursor the position to read from.
+     * @param size the maximum number of entities of the page.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Activities> findAllAfter(KeysetCursor cursor, int size) {
+        log.debug("Request to get Activities after {}", cursor);
+        return keysetPaginationRepository.findAfter(Activities.class, cursor, size, Activities_.EXPENSE_DETAILS);
+    }
+
     /**
      * Get one activities by id.
      *
@@ -117,6 +155,24 @@ public class ActivitiesService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Activities : {}", id);
+        List<Long> expenseIds = activitiesRepository.findExpenseDetailsIdById(id).map(List::of).orElse(List.of());
+        Contribution before = spendingRollupService.contributionOf(expenseIds);
         activitiesRepository.deleteById(id);
+        spendingRollupService.apply(before, spendingRollupService.contributionOf(expenseIds));
+    }
+
+    /**
+     * The expenses whose spending rollup a write of the activities can move: the one it is linked to as stored, and the one it
+     * links to.
+     */
+    private List<Long> linkedExpenseIds(Activities activities) {
+        List<Long> expenseIds = new ArrayList<>(2);
+        if (activities.getId() != null) {
+            activitiesRepository.findExpenseDetailsIdById(activities.getId()).ifPresent(expenseIds::add);
+        }
+        if (activities.getExpenseDetails() != null) {
+            expenseIds.add(activities.getExpenseDetails().getId());
+        }
+        return expenseIds;
     }
 }
@@ -0,0 +1,312 @@
+package com.qualize.api.service;
+
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Settlements;
+import com.qualize.api.domain.enumeration.SettlementStatus;
+import com.qualize.api.repository.AccountsRepository;
+import com.qualize.api.repository.FriendsRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service keeping the {@link Accounts} balances in line with {@link Expenses} and {@link Settlements}.
+ * <p>
+ * Every write of an expense or a settlement is turned into a {@link Posting}, the balance change it causes on each
+ * {@link Accounts} reached through its {@link com.qualize.api.domain.Friends}. The difference between the posting of the
+ * entity before and after the write is applied to the account rows in the same transaction, so reading a balance is a
+ * single row lookup.
+ * <ul>
+ * <li>An expense is shared equally by you and its {@code n} friends: each friend account gets
+ * {@code paidBy / (n + 1)} added to {@code amountFriendOwes}, and {@code (amount - paidBy) / (n * (n + 1))} added
+ * to {@code amountYouOwe}.</li>
+ * <li>A {@link SettlementStatus#COMPLETED} settlement takes {@code amountYouOwe / n} off the {@code amountYouOwe}
+ * of each of its {@code n} friend accounts.</li>
+ * </ul>
+ * {@code netReceivablePayable} is always {@code amountFriendOwes - amountYouOwe}, the updated accounts are priced
+ * again by {@link CryptoConversionService} and the total change is appended to the dashboard summary as a delta.
+ */
+@Service
+@Transactional
+public class BalanceLedgerService {
+
+    private static final int SCALE = 2;
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(BalanceLedgerService.class);
+
+    private final AccountsRepository accountsRepository;
+
+    private final FriendsRepository friendsRepository;
+
+    private final EntityManager em;
+
+    private final CryptoConversionService cryptoConversionService;
+
+    private final DashboardService dashboardService;
+
+    public BalanceLedgerService(
+        AccountsRepository accountsRepository,
+        FriendsRepository friendsRepository,
+        EntityManager em,
+        CryptoConversionService cryptoConversionService,
+        DashboardService dashboardService
+    ) {
+        this.accountsRepository = accountsRepository;
+        this.friendsRepository = friendsRepository;
+        this.em = em;
+        this.cryptoConversionService = cryptoConversionService;
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Compute the balance contribution of an expense as currently stored.
+     *
+     * @param expenses the expense.
+     * @return the posting of the expense, empty if it is not persisted yet.
+     */
+    @Transactional(readOnly = true)
+    public Posting postingOf(Expenses expenses) {
+        if (expenses.getId() == null) {
+            return Posting.EMPTY;
+        }
+        return expensePosting(expenses.getAmount(), expenses.getPaidBy(), friendsRepository.findAccountIdsByExpenseId(expenses.getId()));
+    }
+
+    /**
+     * Compute the balance contribution of a settlement as currently stored.
+     *
+     * @param settlements the settlement.
+     * @return the posting of the settlement, empty if it is not persisted yet or not completed.
+     */
+    @Transactional(readOnly = true)
+    public Posting postingOf(Settlements settlements) {
+        if (settlements.getId() == null || settlements.getSettlementStatus() != SettlementStatus.COMPLETED) {
+            return Posting.EMPTY;
+        }
+        return settlementPosting(
+            settlements.getAmountYouOwe(),
+            settlements.getSettlementStatus(),
+            friendsRepository.findAccountIdsBySettlementId(settlements.getId())
+        );
+    }
+
+    /**
+     * Apply the difference between two postings to the affected account rows.
+     *
+     * @param before the posting of the entity before the write.
+     * @param after the posting of the entity after the write.
+     */
+    public void apply(Posting before, Posting after) {
+        Map<Long, Balance> deltas = after.minus(before);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        log.debug("Applying ledger deltas : {}", deltas);
+        List<Accounts> updated = accountsRepository.findAllForBalanceUpdate(deltas.keySet());
+        Balance total = Balance.ZERO;
+        for (Accounts accounts : updated) {
+            Balance delta = deltas.get(accounts.getId());
+            total = total.plus(delta);
+            accounts.setAmountYouOwe(orZero(accounts.getAmountYouOwe()).add(delta.youOwe));
+            accounts.setAmountFriendOwes(orZero(accounts.getAmountFriendOwes()).add(delta.friendOwes));
+            accounts.setNetReceivablePayable(accounts.getAmountFriendOwes().subtract(accounts.getAmountYouOwe()));
+        }
+        cryptoConversionService.priceAccounts(updated);
+        dashboardService.addToTotals(total.youOwe, total.friendOwes);
+    }
+
+    /**
+     * Recompute every account balance from scratch, to repair drift caused by writes outside of the ledger.
+     * <p>
+     * All the accounts are locked first, in the order of {@link #apply(Posting, Posting)}, so that no posting is lost
+     * between the read of the expenses and settlements and the write of the balances.
+     * <p>
+     * This is scheduled with the {@code application.ledger.rebuild-cron} expression, disabled by default.
+     */
+    @Scheduled(cron = "${application.ledger.rebuild-cron:-}")
+    public void rebuildAll() {
+        log.info("Rebuilding all account balances");
+        try (Stream<Accounts> accounts = accountsRepository.streamAllForBalanceUpdate()) {
+            accounts.forEach(em::detach);
+        }
+        Map<Long, Balance> balances = new HashMap<>();
+        try (Stream<Object[]> rows = friendsRepository.streamExpenseAccountRows()) {
+            forEachGroup(
+                rows,
+                group -> {
+                    Object[] first = group.get(0);
+                    List<Long> accountIds = accountIds(group);
+                    expensePosting((BigDecimal) first[1], (BigDecimal) first[2], accountIds).addTo(balances);
+                }
+            );
+        }
+        try (Stream<Object[]> rows = friendsRepository.streamSettlementAccountRows()) {
+            forEachGroup(
+                rows,
+                group -> {
+                    Object[] first = group.get(0);
+                    settlementPosting((BigDecimal) first[1], (SettlementStatus) first[2], accountIds(group)).addTo(balances);
+                }
+            );
+        }
+
+        int updated = 0;
+        Page<Accounts> page = accountsRepository.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+        while (true) {
+            for (Accounts accounts : page) {
+                Balance balance = balances.getOrDefault(accounts.getId(), Balance.ZERO);
+                accounts.setAmountYouOwe(balance.youOwe);
+                accounts.setAmountFriendOwes(balance.friendOwes);
+                accounts.setNetReceivablePayable(balance.friendOwes.subtract(balance.youOwe));
+                updated++;
+            }
+            cryptoConversionService.priceAccounts(page.getContent());
+            em.flush();
+            em.clear();
+            if (!page.hasNext()) {
+                break;
+            }
+            page = accountsRepository.findAll(page.nextPageable());
+        }
+        dashboardService.rebuild();
+        log.info("Rebuilt the balances of {} accounts", updated);
+    }
+
+    static Posting expensePosting(BigDecimal amount, BigDecimal paidBy, List<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return Posting.EMPTY;
+        }
+        long friends = accountIds.size();
+        BigDecimal paid = orZero(paidBy);
+        BigDecimal friendOwes = paid.divide(BigDecimal.valueOf(friends + 1), SCALE, RoundingMode.HALF_EVEN);
+        BigDecimal youOwe = orZero(amount)
+            .subtract(paid)
+            .divide(BigDecimal.valueOf(friends * (friends + 1)), SCALE, RoundingMode.HALF_EVEN);
+        return Posting.of(accountIds, new Balance(youOwe, friendOwes));
+    }
+
+    static Posting settlementPosting(BigDecimal amountYouOwe, SettlementStatus status, List<Long> accountIds) {
+        if (status != SettlementStatus.COMPLETED || accountIds.isEmpty()) {
+            return Posting.EMPTY;
+        }
+        BigDecimal settled = orZero(amountYouOwe).divide(BigDecimal.valueOf(accountIds.size()), SCALE, RoundingMode.HALF_EVEN);
+        return Posting.of(accountIds, new Balance(settled.negate(), BigDecimal.ZERO));
+    }
+
+    private static List<Long> accountIds(List<Object[]> group) {
+        List<Long> accountIds = new ArrayList<>(group.size());
+        for (Object[] row : group) {
+            accountIds.add((Long) row[3]);
+        }
+        return accountIds;
+    }
+
+    /**
+     * Walk rows ordered by their first column, handing over each run of rows sharing the same value.
+     */
+    private static void forEachGroup(Stream<Object[]> rows, Consumer<List<Object[]>> consumer) {
+        List<Object[]> group = new ArrayList<>();
+        for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+            if (!group.isEmpty() && !Objects.equals(group.get(0)[0], row[0])) {
+                consumer.accept(group);
+                group = new ArrayList<>();
+            }
+            group.add(row);
+        }
+        if (!group.isEmpty()) {
+            consumer.accept(group);
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    /**
+     * The balance contribution of one expense or settlement, per account id.
+     */
+    public static final class Posting {
+
+        public static final Posting EMPTY = new Posting(Collections.emptyMap());
+
+        private final Map<Long, Balance> balances;
+
+        private Posting(Map<Long, Balance> balances) {
+            this.balances = balances;
+        }
+
+        /**
+         * Build a posting giving the same share to each friend, {@code null} account ids are friends without account.
+         */
+        static Posting of(List<Long> accountIds, Balance share) {
+            Map<Long, Balance> balances = new HashMap<>();
+            for (Long accountId : accountIds) {
+                if (accountId != null) {
+                    balances.merge(accountId, share, Balance::plus);
+                }
+            }
+            return new Posting(balances);
+        }
+
+        Map<Long, Balance> minus(Posting other) {
+            Map<Long, Balance> deltas = new HashMap<>(balances);
+            other.balances.forEach((accountId, balance) -> deltas.merge(accountId, balance.negate(), Balance::plus));
+            deltas.values().removeIf(Balance::isZero);
+            return deltas;
+        }
+
+        void addTo(Map<Long, Balance> target) {
+            balances.forEach((accountId, balance) -> target.merge(accountId, balance, Balance::plus));
+        }
+    }
+
+    static final class Balance {
+
+        static final Balance ZERO = new Balance(BigDecimal.ZERO, BigDecimal.ZERO);
+
+        final BigDecimal youOwe;
+
+        final BigDecimal friendOwes;
+
+        Balance(BigDecimal youOwe, BigDecimal friendOwes) {
+            this.youOwe = youOwe;
+            this.friendOwes = friendOwes;
+        }
+
+        Balance plus(Balance other) {
+            return new Balance(youOwe.add(other.youOwe), friendOwes.add(other.friendOwes));
+        }
+
+        Balance negate() {
+            return new Balance(youOwe.negate(), friendOwes.negate());
+        }
+
+        boolean isZero() {
+            return youOwe.signum() == 0 && friendOwes.signum() == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "{youOwe=" + youOwe + ", friendOwes=" + friendOwes + "}";
+        }
+    }
+}
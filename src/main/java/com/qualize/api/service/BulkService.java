@@ -0,0 +1,207 @@
+package com.qualize.api.service;
+
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.service.dto.BulkItemResultDTO;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service applying the create, partial update and delete operations of an entity service to several entities in one
+ * transaction.
+ * <p>
+ * The entities to update or delete are all read by one {@code IN} query, which both checks that they exist and puts
+ * them in the persistence context, so that the entity service finds them there rather than reading them one by one.
+ * The writes of friends, groups, activities and crypto trackers are flushed as batched statements. Accounts, expenses
+ * and settlements are posted to the balances and the dashboard deltas item by item, and the queries of each posting
+ * flush the writes pending before them, so those items are written one statement at a time.
+ * <p>
+ * The items are checked before anything is written: the items failing the checks, empty, invalid, unknown or repeated,
+ * are skipped and reported with the status the single item endpoint would have answered, the other items being
+ * applied. The writes themselves are all or nothing: a write failing, for instance on a stale version or a database
+ * constraint, rolls the whole request back and is answered as the single item endpoint would have answered it. A
+ * request has at most {@code application.bulk.max-items} items.
+ */
+@Service
+@Transactional
+public class BulkService {
+
+    private static final String ID = "id";
+
+    private final Logger log = LoggerFactory.getLogger(BulkService.class);
+
+    private final EntityManager em;
+
+    private final Validator validator;
+
+    private final ApplicationProperties applicationProperties;
+
+    public BulkService(EntityManager em, Validator validator, ApplicationProperties applicationProperties) {
+        this.em = em;
+        this.validator = validator;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Create entities.
+     *
+     * @param entities the entities to create, without id.
+     * @param idOf the id of an entity.
+     * @param save the creation of one entity by its service.
+     * @param <T> the type of the entities.
+     * @return the result of each entity, in order.
+     * @throws BulkSizeExceededException if there are more entities than the maximum of a bulk request.
+     */
+    public <T> List<BulkItemResultDTO> createAll(List<T> entities, Function<T, Long> idOf, UnaryOperator<T> save) {
+        log.debug("Request to create {} entities in bulk", entities.size());
+        checkSize(entities);
+        List<BulkItemResultDTO> results = new ArrayList<>(entities.size());
+        for (int index = 0; index < entities.size(); index++) {
+            T entity = entities.get(index);
+            if (entity == null) {
+                results.add(rejected(index, null, HttpStatus.BAD_REQUEST, "The item is empty"));
+                continue;
+            }
+            if (idOf.apply(entity) != null) {
+                results.add(rejected(index, idOf.apply(entity), HttpStatus.BAD_REQUEST, "A new entity cannot already have an ID"));
+                continue;
+            }
+            String violations = violationsOf(entity);
+            if (violations != null) {
+                results.add(rejected(index, null, HttpStatus.BAD_REQUEST, violations));
+                continue;
+            }
+            results.add(new BulkItemResultDTO(index, idOf.apply(save.apply(entity)), HttpStatus.CREATED.value(), null));
+        }
+        return results;
+    }
+
+    /**
+     * Partially update entities, each entity once: the repeated ids are rejected.
+     *
+     * @param type the type of the entities.
+     * @param entities the fields to update, with the id of their entity.
+     * @param idOf the id of an entity.
+     * @param partialUpdate the partial update of one entity by its service.
+     * @param <T> the type of the entities.
+     * @return the result of each entity, in order.
+     * @throws BulkSizeExceededException if there are more entities than the maximum of a bulk request.
+     */
+    public <T> List<BulkItemResultDTO> partialUpdateAll(
+        Class<T> type,
+        List<T> entities,
+        Function<T, Long> idOf,
+        Function<T, Optional<T>> partialUpdate
+    ) {
+        log.debug("Request to partially update {} {} in bulk", entities.size(), type.getSimpleName());
+        checkSize(entities);
+        Set<Long> existing = findExisting(
+            type,
+            entities.stream().filter(Objects::nonNull).map(idOf).filter(Objects::nonNull).collect(Collectors.toSet())
+        );
+        Set<Long> updated = new HashSet<>();
+        List<BulkItemResultDTO> results = new ArrayList<>(entities.size());
+        for (int index = 0; index < entities.size(); index++) {
+            T entity = entities.get(index);
+            Long id = entity == null ? null : idOf.apply(entity);
+            if (id == null) {
+                results.add(rejected(index, null, HttpStatus.BAD_REQUEST, "Invalid id"));
+            } else if (!existing.contains(id)) {
+                results.add(rejected(index, id, HttpStatus.NOT_FOUND, "Entity not found"));
+            } else if (!updated.add(id)) {
+                results.add(rejected(index, id, HttpStatus.BAD_REQUEST, "Duplicate id"));
+            } else {
+                partialUpdate.apply(entity);
+                results.add(new BulkItemResultDTO(index, id, HttpStatus.OK.value(), null));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Delete entities.
+     *
+     * @param type the type of the entities.
+     * @param ids the ids of the entities.
+     * @param delete the deletion of one entity by its service.
+     * @param <T> the type of the entities.
+     * @return the result of each id, in order.
+     * @throws BulkSizeExceededException if there are more ids than the maximum of a bulk request.
+     */
+    public <T> List<BulkItemResultDTO> deleteAll(Class<T> type, List<Long> ids, Consumer<Long> delete) {
+        log.debug("Request to delete {} {} in bulk", ids.size(), type.getSimpleName());
+        checkSize(ids);
+        Set<Long> existing = findExisting(type, ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+        Set<Long> deleted = new HashSet<>();
+        List<BulkItemResultDTO> results = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            Long id = ids.get(index);
+            if (id == null) {
+                results.add(rejected(index, null, HttpStatus.BAD_REQUEST, "Invalid id"));
+            } else if (!existing.contains(id) || !deleted.add(id)) {
+                results.add(rejected(index, id, HttpStatus.NOT_FOUND, "Entity not found"));
+            } else {
+                delete.accept(id);
+                results.add(new BulkItemResultDTO(index, id, HttpStatus.NO_CONTENT.value(), null));
+            }
+        }
+        return results;
+    }
+
+    private void checkSize(List<?> items) {
+        int maxItems = applicationProperties.getBulk().getMaxItems();
+        if (items.size() > maxItems) {
+            throw new BulkSizeExceededException(items.size(), maxItems);
+        }
+    }
+
+    private <T> Set<Long> findExisting(Class<T> type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        CriteriaQuery<T> query = em.getCriteriaBuilder().createQuery(type);
+        Root<T> root = query.from(type);
+        query.where(root.get(ID).in(ids));
+        PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        return em
+            .createQuery(query)
+            .getResultStream()
+            .map(entity -> (Long) persistenceUnitUtil.getIdentifier(entity))
+            .collect(Collectors.toSet());
+    }
+
+    private <T> String violationsOf(T entity) {
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private static BulkItemResultDTO rejected(int index, Long id, HttpStatus status, String message) {
+        return new BulkItemResultDTO(index, id, status.value(), message);
+    }
+}
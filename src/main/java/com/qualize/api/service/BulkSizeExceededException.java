@@ -0,0 +1,10 @@
+package com.qualize.api.service;
+
+public class BulkSizeExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BulkSizeExceededException(int size, int maxItems) {
+        super("A bulk request cannot have more than " + maxItems + " items, got " + size);
+    }
+}
@@ -0,0 +1,163 @@
+package com.qualize.api.service;
+
+import com.qualize.api.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.QueryHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Preloads entity regions of the second-level cache when the application starts, so that the first requests after a
+ * deploy find the most recently modified entities in the cache rather than in the database.
+ * <p>
+ * Each region of {@code application.cache.warm-up.entities} is read by one query, most recently modified first and
+ * with its singular associations joined, with at most {@code application.cache.warm-up.parallelism} queries at the
+ * same time. The warm-up runs once the application is ready, so after Liquibase, and the readiness state only turns to
+ * accepting traffic once it completes or times out. Its duration is published as the {@code cache.warmup} timer, and
+ * the duration of each region as the {@code cache.warmup.region} timer.
+ */
+@Component
+public class CacheWarmer {
+
+    public static final String WARMUP_METER_NAME = "cache.warmup";
+    public static final String REGION_METER_NAME = "cache.warmup.region";
+
+    private static final String DATE_MODIFIED = "dateModified";
+
+    private static final String ID = "id";
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final EntityManager em;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public CacheWarmer(
+        EntityManager em,
+        TransactionTemplate transactionTemplate,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.em = em;
+        this.transactionTemplate = transactionTemplate;
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (applicationProperties.getCache().getWarmUp().isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Preload the configured entity regions, giving up on the regions still loading when the timeout expires.
+     *
+     * @return the number of entities preloaded.
+     */
+    public int warmUp() {
+        ApplicationProperties.Cache.WarmUp warmUp = applicationProperties.getCache().getWarmUp();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (Map.Entry<String, Integer> entities : warmUp.getEntities().entrySet()) {
+            Optional<EntityType<?>> entityType = entityType(entities.getKey());
+            if (entityType.isEmpty()) {
+                log.warn("Cannot warm up the cache region {}, which is not an entity", entities.getKey());
+                continue;
+            }
+            Timer timer = Timer.builder(REGION_METER_NAME).tag("region", entities.getKey()).register(meterRegistry);
+            tasks.add(() -> timer.recordCallable(() -> preload(entityType.get(), entities.getValue())));
+        }
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        log.debug("Warming up {} cache regions", tasks.size());
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(warmUp.getParallelism(), tasks.size()),
+            new CustomizableThreadFactory("qualize-cache-warmup-")
+        );
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int preloaded = 0;
+        try {
+            for (Future<Integer> result : executor.invokeAll(tasks, warmUp.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                try {
+                    preloaded += result.get();
+                } catch (CancellationException e) {
+                    log.warn("Cache warm-up timed out after {}", warmUp.getTimeout());
+                } catch (ExecutionException e) {
+                    log.warn("Cache warm-up failed", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            sample.stop(Timer.builder(WARMUP_METER_NAME).description("Duration of the cache warm-up").register(meterRegistry));
+        }
+        log.info("Warmed up the cache with {} entities", preloaded);
+        return preloaded;
+    }
+
+    private Optional<EntityType<?>> entityType(String region) {
+        return em.getMetamodel().getEntities().stream().filter(entity -> entity.getJavaType().getName().equals(region)).findFirst();
+    }
+
+    private <T> int preload(EntityType<T> entityType, int maxEntities) {
+        int preloaded = transactionTemplate.execute(status -> {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaQuery<T> query = cb.createQuery(entityType.getJavaType());
+            Root<T> root = query.from(entityType);
+            if (entityType.getAttributes().stream().anyMatch(attribute -> attribute.getName().equals(DATE_MODIFIED))) {
+                query.orderBy(cb.desc(root.get(DATE_MODIFIED)), cb.desc(root.get(ID)));
+            } else {
+                query.orderBy(cb.desc(root.get(ID)));
+            }
+            EntityGraph<T> graph = em.createEntityGraph(entityType.getJavaType());
+            entityType
+                .getSingularAttributes()
+                .stream()
+                .filter(Attribute::isAssociation)
+                .forEach(association -> graph.addAttributeNodes(association.getName()));
+            // the refresh cache mode puts every entity read in the cache, even when an older copy is there
+            return em
+                .createQuery(query)
+                .setHint(QueryHints.HINT_FETCHGRAPH, graph)
+                .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.REFRESH)
+                .setMaxResults(maxEntities)
+                .getResultList()
+                .size();
+        });
+        log.debug("Warmed up the cache region {} with {} entities", entityType.getJavaType().getName(), preloaded);
+        return preloaded;
+    }
+}
@@ -0,0 +1,196 @@
+package com.qualize.api.service;
+
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.CryptoTracker;
+import com.qualize.api.domain.Settlements;
+import com.qualize.api.domain.enumeration.SettlementStatus;
+import com.qualize.api.repository.AccountsRepository;
+import com.qualize.api.repository.SettlementsRepository;
+import com.qualize.api.service.dto.CryptoRateDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service pricing {@link Accounts} and {@link Settlements} in their crypto currency, with the latest
+ * {@link CryptoTracker} rates of {@link LatestCryptoRates}.
+ * <p>
+ * {@code currencyValue} is set to the latest rate of {@code cryptoCurrency}, and {@code cryptoReceivablePayable} to
+ * {@code netReceivablePayable / currencyValue} for an account, or {@code amountYouOwe / currencyValue} for a settlement.
+ * A collection is priced in one pass, resolving the rate of each distinct currency once. Entities without a rate for
+ * their currency are left untouched, and so are {@link SettlementStatus#COMPLETED} and
+ * {@link SettlementStatus#CANCELLED} settlements, which keep the price they were closed at.
+ */
+@Service
+public class CryptoConversionService {
+
+    static final int CRYPTO_SCALE = 8;
+
+    private static final int REPRICE_PAGE_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(CryptoConversionService.class);
+
+    private final LatestCryptoRates latestCryptoRates;
+
+    private final AccountsRepository accountsRepository;
+
+    private final SettlementsRepository settlementsRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManager em;
+
+    public CryptoConversionService(
+        LatestCryptoRates latestCryptoRates,
+        AccountsRepository accountsRepository,
+        SettlementsRepository settlementsRepository,
+        TransactionTemplate transactionTemplate,
+        EntityManager em
+    ) {
+        this.latestCryptoRates = latestCryptoRates;
+        this.accountsRepository = accountsRepository;
+        this.settlementsRepository = settlementsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.em = em;
+    }
+
+    /**
+     * Price accounts with the latest rates.
+     *
+     * @param accounts the accounts to price.
+     * @return the number of priced accounts.
+     */
+    public int priceAccounts(Collection<Accounts> accounts) {
+        Map<String, BigDecimal> rates = ratesOf(accounts, Accounts::getCryptoCurrency);
+        int priced = 0;
+        for (Accounts account : accounts) {
+            BigDecimal rate = rates.get(account.getCryptoCurrency());
+            if (rate != null) {
+                account.setCurrencyValue(rate);
+                account.setCryptoReceivablePayable(toCrypto(account.getNetReceivablePayable(), rate));
+                priced++;
+            }
+        }
+        return priced;
+    }
+
+    /**
+     * Price the open settlements with the latest rates.
+     *
+     * @param settlements the settlements to price, closed ones are skipped.
+     * @return the number of priced settlements.
+     */
+    public int priceSettlements(Collection<Settlements> settlements) {
+        Map<String, BigDecimal> rates = ratesOf(settlements, Settlements::getCryptoCurrency);
+        int priced = 0;
+        for (Settlements settlement : settlements) {
+            BigDecimal rate = rates.get(settlement.getCryptoCurrency());
+            if (rate != null && isOpen(settlement.getSettlementStatus())) {
+                settlement.setCurrencyValue(rate);
+                settlement.setCryptoReceivablePayable(toCrypto(settlement.getAmountYouOwe(), rate));
+                priced++;
+            }
+        }
+        return priced;
+    }
+
+    /**
+     * Re-price the stored accounts and open settlements of the given currencies, a page per transaction.
+     * <p>
+     * This is run once a feed has landed new rates; only the rows whose price changed are written.
+     *
+     * @param currencies the currencies whose rate changed.
+     * @return the number of priced accounts and settlements.
+     */
+    public int repriceOpen(Collection<String> currencies) {
+        if (currencies.isEmpty()) {
+            return 0;
+        }
+        int repriced = 0;
+        Long afterId = Long.MIN_VALUE;
+        while (afterId != null) {
+            Long from = afterId;
+            PricedPage page = transactionTemplate.execute(status -> {
+                List<Accounts> accounts = accountsRepository.findAllByCryptoCurrencyInAfter(
+                    currencies,
+                    from,
+                    PageRequest.of(0, REPRICE_PAGE_SIZE)
+                );
+                return flushAndClear(priceAccounts(accounts), accounts, Accounts::getId);
+            });
+            repriced += page.priced;
+            afterId = page.lastId;
+        }
+        afterId = Long.MIN_VALUE;
+        while (afterId != null) {
+            Long from = afterId;
+            PricedPage page = transactionTemplate.execute(status -> {
+                List<Settlements> settlements = settlementsRepository.findAllByCryptoCurrencyInAndStatusAfter(
+                    currencies,
+                    SettlementStatus.INPROGRESS,
+                    from,
+                    PageRequest.of(0, REPRICE_PAGE_SIZE)
+                );
+                return flushAndClear(priceSettlements(settlements), settlements, Settlements::getId);
+            });
+            repriced += page.priced;
+            afterId = page.lastId;
+        }
+        log.info("Re-priced {} accounts and settlements in {}", repriced, currencies);
+        return repriced;
+    }
+
+    static BigDecimal toCrypto(BigDecimal amount, BigDecimal rate) {
+        return amount == null ? null : amount.divide(rate, CRYPTO_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private static boolean isOpen(SettlementStatus status) {
+        return status == null || status == SettlementStatus.INPROGRESS;
+    }
+
+    /**
+     * Resolve the latest rate of each distinct currency of the entities, skipping unknown currencies and zero rates.
+     */
+    private <T> Map<String, BigDecimal> ratesOf(Collection<T> entities, Function<T, String> currencyOf) {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (T entity : entities) {
+            String currency = currencyOf.apply(entity);
+            if (currency != null && !rates.containsKey(currency)) {
+                rates.put(
+                    currency,
+                    latestCryptoRates.get(currency.trim()).map(CryptoRateDTO::getValue).filter(value -> value.signum() != 0).orElse(null)
+                );
+            }
+        }
+        return rates;
+    }
+
+    private <T> PricedPage flushAndClear(int priced, List<T> page, Function<T, Long> idOf) {
+        em.flush();
+        em.clear();
+        Long lastId = page.size() < REPRICE_PAGE_SIZE ? null : idOf.apply(page.get(page.size() - 1));
+        return new PricedPage(priced, lastId);
+    }
+
+    private static final class PricedPage {
+
+        private final int priced;
+
+        private final Long lastId;
+
+        private PricedPage(int priced, Long lastId) {
+            this.priced = priced;
+            this.lastId = lastId;
+        }
+    }
+}
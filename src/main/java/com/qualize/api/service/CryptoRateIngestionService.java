@@ -0,0 +1,211 @@
+package com.qualize.api.service;
+
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.domain.CryptoTracker;
+import com.qualize.api.repository.CryptoTrackerRepository;
+import com.qualize.api.service.dto.CryptoRateDTO;
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service ingesting the rates of a {@link RateFeedSource} into {@link CryptoTracker}.
+ * <p>
+ * The rates of the feed are rounded to the scale of the column and deduplicated per (currency, day), the last one
+ * winning, then upserted in chunks of {@code application.rate-feed.chunk-size}: the existing rows of a chunk are read
+ * in one query, changed rows are updated and new rows inserted as batched statements. Once a chunk is committed its
+ * rates are published to {@link LatestCryptoRates}. Once the whole feed has landed, the accounts and open settlements
+ * of the currencies with changed rates are re-priced by {@link CryptoConversionService}, the dashboard revision is
+ * incremented, and the cached series of {@link CryptoRateSeriesService} are cleared.
+ */
+@Service
+public class CryptoRateIngestionService {
+
+    /**
+     * Scale of the {@code crypto_tracker.value} column.
+     */
+    private static final int VALUE_SCALE = 2;
+
+    private final Logger log = LoggerFactory.getLogger(CryptoRateIngestionService.class);
+
+    private final RateFeedSource rateFeedSource;
+
+    private final CryptoTrackerRepository cryptoTrackerRepository;
+
+    private final LatestCryptoRates latestCryptoRates;
+
+    private final CryptoConversionService cryptoConversionService;
+
+    private final CryptoRateSeriesService cryptoRateSeriesService;
+
+    private final DashboardService dashboardService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManager em;
+
+    private final ApplicationProperties applicationProperties;
+
+    public CryptoRateIngestionService(
+        RateFeedSource rateFeedSource,
+        CryptoTrackerRepository cryptoTrackerRepository,
+        LatestCryptoRates latestCryptoRates,
+        CryptoConversionService cryptoConversionService,
+        CryptoRateSeriesService cryptoRateSeriesService,
+        DashboardService dashboardService,
+        TransactionTemplate transactionTemplate,
+        EntityManager em,
+        ApplicationProperties applicationProperties
+    ) {
+        this.rateFeedSource = rateFeedSource;
+        this.cryptoTrackerRepository = cryptoTrackerRepository;
+        this.latestCryptoRates = latestCryptoRates;
+        this.cryptoConversionService = cryptoConversionService;
+        this.cryptoRateSeriesService = cryptoRateSeriesService;
+        this.dashboardService = dashboardService;
+        this.transactionTemplate = transactionTemplate;
+        this.em = em;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Pull the rates of the feed and upsert them.
+     * <p>
+     * This is scheduled with the {@code application.rate-feed.cron} expression, disabled by default.
+     *
+     * @return the number of rows inserted or updated.
+     * @throws IOException if the feed cannot be read.
+     */
+    @Scheduled(cron = "${application.rate-feed.cron:-}")
+    public int ingest() throws IOException {
+        List<CryptoRateDTO> fetched = rateFeedSource.fetchRates();
+        Map<RateKey, CryptoRateDTO> rates = new LinkedHashMap<>();
+        for (CryptoRateDTO rate : fetched) {
+            if (isIncomplete(rate)) {
+                log.warn("Skipping incomplete rate {}", rate);
+                continue;
+            }
+            // the value is stored as decimal(21,2): an unscaled feed value would never compare equal to its row
+            CryptoRateDTO trimmed = new CryptoRateDTO(
+                rate.getCurrency().trim(),
+                rate.getValue().setScale(VALUE_SCALE, RoundingMode.HALF_EVEN),
+                rate.getFeedDateTime()
+            );
+            // the last rate of a (currency, day) wins, and takes its position in the feed
+            rates.remove(RateKey.of(trimmed));
+            rates.put(RateKey.of(trimmed), trimmed);
+        }
+
+        int chunkSize = applicationProperties.getRateFeed().getChunkSize();
+        List<CryptoRateDTO> distinct = new ArrayList<>(rates.values());
+        int upserted = 0;
+        Set<String> changed = new HashSet<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<CryptoRateDTO> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            Integer written = transactionTemplate.execute(status -> upsert(chunk, changed));
+            upserted += written == null ? 0 : written;
+            latestCryptoRates.publish(chunk);
+        }
+        log.info("Ingested {} crypto rates, {} distinct, {} rows upserted", fetched.size(), distinct.size(), upserted);
+        if (upserted > 0) {
+            cryptoRateSeriesService.evictAll();
+        }
+        if (!changed.isEmpty()) {
+            cryptoConversionService.repriceOpen(changed);
+            dashboardService.touch();
+        }
+        return upserted;
+    }
+
+    private static boolean isIncomplete(CryptoRateDTO rate) {
+        return rate.getCurrency() == null || rate.getCurrency().isBlank() || rate.getFeedDateTime() == null || rate.getValue() == null;
+    }
+
+    private int upsert(List<CryptoRateDTO> chunk, Set<String> changed) {
+        Set<String> currencies = chunk.stream().map(CryptoRateDTO::getCurrency).collect(Collectors.toSet());
+        Set<LocalDate> days = chunk.stream().map(CryptoRateDTO::getFeedDateTime).collect(Collectors.toSet());
+        Map<RateKey, List<CryptoTracker>> existing = new HashMap<>();
+        for (CryptoTracker cryptoTracker : cryptoTrackerRepository.findAllByCurrencyInAndFeedDateTimeIn(currencies, days)) {
+            existing.computeIfAbsent(RateKey.of(cryptoTracker), key -> new ArrayList<>()).add(cryptoTracker);
+        }
+
+        LocalDate today = LocalDate.now();
+        int written = 0;
+        for (CryptoRateDTO rate : chunk) {
+            List<CryptoTracker> rows = existing.get(RateKey.of(rate));
+            if (rows == null) {
+                em.persist(
+                    new CryptoTracker()
+                        .currency(rate.getCurrency())
+                        .value(rate.getValue())
+                        .feedDateTime(rate.getFeedDateTime())
+                        .dateAdded(today)
+                        .dateModified(today)
+                );
+                changed.add(rate.getCurrency());
+                written++;
+                continue;
+            }
+            for (CryptoTracker cryptoTracker : rows) {
+                if (cryptoTracker.getValue() == null || cryptoTracker.getValue().compareTo(rate.getValue()) != 0) {
+                    cryptoTracker.setValue(rate.getValue());
+                    cryptoTracker.setDateModified(today);
+                    changed.add(rate.getCurrency());
+                    written++;
+                }
+            }
+        }
+        em.flush();
+        em.clear();
+        return written;
+    }
+
+    private static final class RateKey {
+
+        private final String currency;
+
+        private final LocalDate feedDateTime;
+
+        private RateKey(String currency, LocalDate feedDateTime) {
+            this.currency = currency;
+            this.feedDateTime = feedDateTime;
+        }
+
+        static RateKey of(CryptoRateDTO rate) {
+            return new RateKey(rate.getCurrency(), rate.getFeedDateTime());
+        }
+
+        static RateKey of(CryptoTracker cryptoTracker) {
+            return new RateKey(cryptoTracker.getCurrency(), cryptoTracker.getFeedDateTime());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RateKey)) {
+                return false;
+            }
+            RateKey other = (RateKey) o;
+            return currency.equals(other.currency) && feedDateTime.equals(other.feedDateTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(currency, feedDateTime);
+        }
+    }
+}
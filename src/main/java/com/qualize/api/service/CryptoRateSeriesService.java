@@ -0,0 +1,115 @@
+package com.qualize.api.service;
+
+import com.qualize.api.domain.CryptoTracker;
+import com.qualize.api.repository.CryptoTrackerRepository;
+import com.qualize.api.service.dto.CryptoRateBucketDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service downsampling the {@link CryptoTracker} history of a currency to open, high, low and close rates per bucket.
+ * <p>
+ * The rates of the range are read in day order through the (currency, feed_date_time) index and folded into buckets
+ * in one pass. Series are cached in {@link #SERIES_CACHE} per (currency, from, to, bucket), and the cache is cleared
+ * whenever rates are written.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CryptoRateSeriesService {
+
+    public static final String SERIES_CACHE = "cryptoRateSeries";
+
+    private final Logger log = LoggerFactory.getLogger(CryptoRateSeriesService.class);
+
+    private final CryptoTrackerRepository cryptoTrackerRepository;
+
+    private final CacheManager cacheManager;
+
+    public CryptoRateSeriesService(CryptoTrackerRepository cryptoTrackerRepository, CacheManager cacheManager) {
+        this.cryptoTrackerRepository = cryptoTrackerRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the series of a currency between two days.
+     *
+     * @param currency the currency.
+     * @param from the first day, included.
+     * @param to the last day, included.
+     * @param bucket the width of the buckets.
+     * @return the buckets holding at least one rate, in day order.
+     */
+    @Cacheable(cacheNames = SERIES_CACHE)
+    public List<CryptoRateBucketDTO> findSeries(String currency, LocalDate from, LocalDate to, RateSeriesBucket bucket) {
+        log.debug("Request to get the {} series of {} from {} to {}", bucket, currency, from, to);
+        List<CryptoRateBucketDTO> series = new ArrayList<>();
+        LocalDate start = null;
+        BigDecimal open = null;
+        BigDecimal high = null;
+        BigDecimal low = null;
+        BigDecimal close = null;
+        int samples = 0;
+        for (Object[] row : cryptoTrackerRepository.findSeriesRows(currency, from, to)) {
+            LocalDate rowStart = bucket.startOf((LocalDate) row[0]);
+            BigDecimal value = (BigDecimal) row[1];
+            if (!rowStart.equals(start)) {
+                if (samples > 0) {
+                    series.add(new CryptoRateBucketDTO(start, open, high, low, close, samples));
+                }
+                start = rowStart;
+                open = value;
+                high = value;
+                low = value;
+                samples = 0;
+            }
+            high = high.max(value);
+            low = low.min(value);
+            close = value;
+            samples++;
+        }
+        if (samples > 0) {
+            series.add(new CryptoRateBucketDTO(start, open, high, low, close, samples));
+        }
+        return Collections.unmodifiableList(series);
+    }
+
+    /**
+     * Clear the cached series.
+     */
+    public void evictAll() {
+        Cache cache = cacheManager.getCache(SERIES_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Clear the cached series once the current transaction commits, or right away outside of a transaction.
+     */
+    public void evictAllAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictAll();
+                    }
+                }
+            );
+        } else {
+            evictAll();
+        }
+    }
+}
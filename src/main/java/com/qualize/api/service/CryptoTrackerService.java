@@ -2,6 +2,9 @@ package com.qualize.api.service;
 
 import com.qualize.api.domain.CryptoTracker;
 import com.qualize.api.repository.CryptoTrackerRepository;
+import com.qualize.api.repository.KeysetCursor;
+import com.qualize.api.repository.KeysetPage;
+import com.qualize.api.repository.KeysetPaginationRepository;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,9 +12,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link CryptoTracker}.
+ * <p>
+ * Once a write commits, the latest rates are reloaded, then the dashboard revision is incremented, the balances by
+ * friend being priced at those rates, and the cached series are cleared. This happens once per transaction, however
+ * many rates it writes, so that a bulk request refreshes them once.
  */
 @Service
 @Transactional
@@ -21,8 +30,26 @@ public class CryptoTrackerService {
 
     private final CryptoTrackerRepository cryptoTrackerRepository;
 
-    public CryptoTrackerService(CryptoTrackerRepository cryptoTrackerRepository) {
+    private final KeysetPaginationRepository keysetPaginationRepository;
+
+    private final LatestCryptoRates latestCryptoRates;
+
+    private final CryptoRateSeriesService cryptoRateSeriesService;
+
+    private final DashboardService dashboardService;
+
+    public CryptoTrackerService(
+        CryptoTrackerRepository cryptoTrackerRepository,
+        KeysetPaginationRepository keysetPaginationRepository,
+        LatestCryptoRates latestCryptoRates,
+        CryptoRateSeriesService cryptoRateSeriesService,
+        DashboardService dashboardService
+    ) {
         this.cryptoTrackerRepository = cryptoTrackerRepository;
+        this.keysetPaginationRepository = keysetPaginationRepository;
+        this.latestCryptoRates = latestCryptoRates;
+        this.cryptoRateSeriesService = cryptoRateSeriesService;
+        this.dashboardService = dashboardService;
     }
 
     /**
@@ -33,6 +60,7 @@ public class CryptoTrackerService {
      */
     public CryptoTracker save(CryptoTracker cryptoTracker) {
         log.debug("Request to save CryptoTracker : {}", cryptoTracker);
+        refreshAfterCommit();
         return cryptoTrackerRepository.save(cryptoTracker);
     }
 
@@ -44,6 +72,7 @@ public class CryptoTrackerService {
      */
     public CryptoTracker update(CryptoTracker cryptoTracker) {
         log.debug("Request to save CryptoTracker : {}", cryptoTracker);
+        refreshAfterCommit();
         return cryptoTrackerRepository.save(cryptoTracker);
     }
 
@@ -55,6 +84,7 @@ public class CryptoTrackerService {
      */
     public Optional<CryptoTracker> partialUpdate(CryptoTracker cryptoTracker) {
         log.debug("Request to partially update CryptoTracker : {}", cryptoTracker);
+        refreshAfterCommit();
 
         return cryptoTrackerRepository
             .findById(cryptoTracker.getId())
@@ -92,6 +122,19 @@ public class CryptoTrackerService {
         return cryptoTrackerRepository.findAll(pageable);
     }
 
+    /**
+     * Get the page of cryptoTrackers following a keyset cursor, without counting them.
+     *
+     * @param cursor the position to read from.
+     * @param size the maximum number of entities of the page.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<CryptoTracker> findAllAfter(KeysetCursor cursor, int size) {
+        log.debug("Request to get CryptoTracker after {}", cursor);
+        return keysetPaginationRepository.findAfter(CryptoTracker.class, cursor, size);
+    }
+
     /**
      * Get one cryptoTracker by id.
      *
@@ -111,6 +154,27 @@ public class CryptoTrackerService {
      */
     public void delete(Long id) {
         log.debug("Request to delete CryptoTracker : {}", id);
+        refreshAfterCommit();
         cryptoTrackerRepository.deleteById(id);
     }
+
+    private void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            boolean registered = TransactionSynchronizationManager
+                .getSynchronizations()
+                .stream()
+                .anyMatch(RefreshRegistered.class::isInstance);
+            if (registered) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new RefreshRegistered());
+        }
+        latestCryptoRates.reloadAfterCommit(dashboardService::touchInNewTransaction);
+        cryptoRateSeriesService.evictAllAfterCommit();
+    }
+
+    /**
+     * Marks a transaction whose rates are already refreshed once it commits.
+     */
+    private static final class RefreshRegistered implements TransactionSynchronization {}
 }
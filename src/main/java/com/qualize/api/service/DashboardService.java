@@ -0,0 +1,229 @@
+package com.qualize.api.service;
+
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.DashboardSummary;
+import com.qualize.api.domain.DashboardSummaryDelta;
+import com.qualize.api.domain.DashboardSummaryDelta_;
+import com.qualize.api.repository.AccountsRepository;
+import com.qualize.api.repository.DashboardSummaryDeltaRepository;
+import com.qualize.api.repository.DashboardSummaryRepository;
+import com.qualize.api.repository.FriendsRepository;
+import com.qualize.api.service.dto.FriendBalanceDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service serving the dashboard from rollups: the {@link DashboardSummary} row for the totals, and the
+ * {@link Accounts} balances kept by {@link BalanceLedgerService} for the drill-down by friend.
+ * <p>
+ * The ledger adds the balance changes of every expense and settlement write to the totals, and {@link AccountsService}
+ * those of the direct writes of accounts. Each change is appended as a {@link DashboardSummaryDelta} instead of
+ * updating the summary row, so that concurrent writes do not queue up on the lock of that single row. The summary is
+ * read with the deltas added, each one counting as a revision, which versions both views; the changes of the
+ * drill-down by friend that leave the totals unchanged append an empty delta: the writes of friends, and the changes of
+ * the rates the balances are priced at. The deltas are folded into the summary row in the background, on the
+ * {@code application.dashboard.compact-cron} schedule.
+ */
+@Service
+@Transactional
+public class DashboardService {
+
+    /**
+     * Deltas deleted by one statement when they are folded.
+     */
+    private static final int FOLD_CHUNK_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private final DashboardSummaryRepository dashboardSummaryRepository;
+
+    private final DashboardSummaryDeltaRepository dashboardSummaryDeltaRepository;
+
+    private final AccountsRepository accountsRepository;
+
+    private final FriendsRepository friendsRepository;
+
+    private final CryptoConversionService cryptoConversionService;
+
+    public DashboardService(
+        DashboardSummaryRepository dashboardSummaryRepository,
+        DashboardSummaryDeltaRepository dashboardSummaryDeltaRepository,
+        AccountsRepository accountsRepository,
+        FriendsRepository friendsRepository,
+        CryptoConversionService cryptoConversionService
+    ) {
+        this.dashboardSummaryRepository = dashboardSummaryRepository;
+        this.dashboardSummaryDeltaRepository = dashboardSummaryDeltaRepository;
+        this.accountsRepository = accountsRepository;
+        this.friendsRepository = friendsRepository;
+        this.cryptoConversionService = cryptoConversionService;
+    }
+
+    /**
+     * Get the revision of the dashboard.
+     *
+     * @return the revision, incremented on every change of the totals or of the balances by friend.
+     */
+    @Transactional(readOnly = true)
+    public long getRevision() {
+        return dashboardSummaryRepository.findRevisionById(DashboardSummary.ID).orElse(0L);
+    }
+
+    /**
+     * Get the totals of the dashboard.
+     *
+     * @return the summary, with the deltas not folded into it yet.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DashboardSummary> getSummary() {
+        log.debug("Request to get the dashboard summary");
+        return dashboardSummaryRepository.findWithDeltasById(DashboardSummary.ID).stream().findFirst().map(DashboardService::withDeltas);
+    }
+
+    /**
+     * Get the balances of the friends' accounts.
+     *
+     * @param pageable the pagination information.
+     * @return the page of balances.
+     */
+    @Transactional(readOnly = true)
+    public Page<FriendBalanceDTO> getByFriend(Pageable pageable) {
+        log.debug("Request to get the dashboard balances by friend");
+        Page<Accounts> page = accountsRepository.findAll(pageable);
+        cryptoConversionService.priceAccounts(page.getContent());
+        Map<Long, String> friendNames = new HashMap<>();
+        if (page.hasContent()) {
+            List<Long> accountIds = page.getContent().stream().map(Accounts::getId).collect(Collectors.toList());
+            for (Object[] row : friendsRepository.findFirstFriendNameByAccountIdIn(accountIds)) {
+                friendNames.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return page.map(accounts ->
+            new FriendBalanceDTO(
+                accounts.getId(),
+                friendNames.get(accounts.getId()),
+                accounts.getAmountYouOwe(),
+                accounts.getAmountFriendOwes(),
+                accounts.getNetReceivablePayable(),
+                accounts.getCryptoCurrency(),
+                accounts.getCryptoReceivablePayable()
+            )
+        );
+    }
+
+    /**
+     * Add balance changes to the totals. The revision is incremented even when the changes cancel out, the balances
+     * of the accounts having changed.
+     *
+     * @param youOwe the change of the amounts you owe.
+     * @param friendOwes the change of the amounts your friends owe.
+     */
+    public void addToTotals(BigDecimal youOwe, BigDecimal friendOwes) {
+        dashboardSummaryDeltaRepository.save(new DashboardSummaryDelta().youOwe(youOwe).friendOwes(friendOwes));
+    }
+
+    /**
+     * Recompute the totals from all the account balances, which already hold the changes of the deltas.
+     */
+    public void rebuild() {
+        dashboardSummaryRepository
+            .findForUpdate(DashboardSummary.ID)
+            .ifPresent(summary -> {
+                fold(summary);
+                Object[] sums = accountsRepository.sumBalances().get(0);
+                summary.setTotalYouOwe((BigDecimal) sums[0]);
+                summary.setTotalFriendOwes((BigDecimal) sums[1]);
+                touch(summary);
+            });
+    }
+
+    /**
+     * Fold the deltas into the summary row, which is then read with the same totals and revision. The deltas appended
+     * by transactions still running are left to the next run.
+     * <p>
+     * This is scheduled with the {@code application.dashboard.compact-cron} expression, disabled by default.
+     */
+    @Scheduled(cron = "${application.dashboard.compact-cron:-}")
+    public void compact() {
+        dashboardSummaryRepository
+            .findForUpdate(DashboardSummary.ID)
+            .ifPresent(summary -> {
+                List<DashboardSummaryDelta> deltas = fold(summary);
+                if (deltas.isEmpty()) {
+                    return;
+                }
+                for (DashboardSummaryDelta delta : deltas) {
+                    summary.setTotalYouOwe(summary.getTotalYouOwe().add(delta.getYouOwe()));
+                    summary.setTotalFriendOwes(summary.getTotalFriendOwes().add(delta.getFriendOwes()));
+                }
+                summary.setNetReceivablePayable(summary.getTotalFriendOwes().subtract(summary.getTotalYouOwe()));
+                summary.setLastModifiedDate(deltas.get(deltas.size() - 1).getCreatedDate());
+                log.debug("Folded {} deltas into the dashboard summary", deltas.size());
+            });
+    }
+
+    /**
+     * Increment the revision, for a change of the balances by friend which leaves the totals unchanged.
+     */
+    public void touch() {
+        addToTotals(BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Increment the revision in a transaction of its own, for a change applied once another transaction has
+     * committed, such as the reload of the latest rates.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void touchInNewTransaction() {
+        touch();
+    }
+
+    /**
+     * Delete the deltas committed so far, the revision of the summary taking over their count.
+     */
+    private List<DashboardSummaryDelta> fold(DashboardSummary summary) {
+        List<DashboardSummaryDelta> deltas = dashboardSummaryDeltaRepository.findAll(Sort.by(DashboardSummaryDelta_.ID));
+        for (int from = 0; from < deltas.size(); from += FOLD_CHUNK_SIZE) {
+            List<Long> ids = deltas
+                .subList(from, Math.min(from + FOLD_CHUNK_SIZE, deltas.size()))
+                .stream()
+                .map(DashboardSummaryDelta::getId)
+                .collect(Collectors.toList());
+            dashboardSummaryDeltaRepository.deleteAllByIdIn(ids);
+        }
+        summary.setRevision(summary.getRevision() + deltas.size());
+        return deltas;
+    }
+
+    private static DashboardSummary withDeltas(Object[] row) {
+        DashboardSummary stored = (DashboardSummary) row[0];
+        DashboardSummary summary = new DashboardSummary();
+        summary.setId(stored.getId());
+        summary.setTotalYouOwe(stored.getTotalYouOwe().add((BigDecimal) row[1]));
+        summary.setTotalFriendOwes(stored.getTotalFriendOwes().add((BigDecimal) row[2]));
+        summary.setNetReceivablePayable(summary.getTotalFriendOwes().subtract(summary.getTotalYouOwe()));
+        summary.setRevision(stored.getRevision() + (Long) row[3]);
+        summary.setLastModifiedDate(row[4] == null ? stored.getLastModifiedDate() : (Instant) row[4]);
+        return summary;
+    }
+
+    private static void touch(DashboardSummary summary) {
+        summary.setNetReceivablePayable(summary.getTotalFriendOwes().subtract(summary.getTotalYouOwe()));
+        summary.setRevision(summary.getRevision() + 1);
+        summary.setLastModifiedDate(Instant.now());
+    }
+}
@@ -0,0 +1,155 @@
+package com.qualize.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes a short list of transfers settling a set of net balances.
+ * <p>
+ * The largest creditor is repeatedly paid by the largest debtor, both taken from max-heaps, so that every transfer
+ * clears at least one member: at most {@code n - 1} transfers are needed instead of one per pairwise debt.
+ * Balances are expressed in cents as primitive {@code long}, positive for members who are owed money.
+ */
+public final class DebtSimplifier {
+
+    private DebtSimplifier() {}
+
+    /**
+     * Compute the transfers settling the given balances.
+     *
+     * @param balances the net balance of each member in cents, which must sum to zero.
+     * @return the transfers, referencing members by their index in {@code balances}.
+     * @throws IllegalArgumentException if the balances do not sum to zero.
+     */
+    public static List<Transfer> simplify(long[] balances) {
+        long[] remaining = balances.clone();
+        long total = 0;
+        for (long balance : remaining) {
+            total = Math.addExact(total, balance);
+        }
+        if (total != 0) {
+            throw new IllegalArgumentException("Balances must sum to zero, got " + total);
+        }
+
+        IndexHeap creditors = new IndexHeap(remaining, 1);
+        IndexHeap debtors = new IndexHeap(remaining, -1);
+        for (int i = 0; i < remaining.length; i++) {
+            if (remaining[i] > 0) {
+                creditors.push(i);
+            } else if (remaining[i] < 0) {
+                debtors.push(i);
+            }
+        }
+
+        List<Transfer> transfers = new ArrayList<>(Math.max(0, creditors.size + debtors.size - 1));
+        while (creditors.size > 0 && debtors.size > 0) {
+            int creditor = creditors.pop();
+            int debtor = debtors.pop();
+            long cents = Math.min(remaining[creditor], -remaining[debtor]);
+            transfers.add(new Transfer(debtor, creditor, cents));
+            remaining[creditor] -= cents;
+            remaining[debtor] += cents;
+            if (remaining[creditor] > 0) {
+                creditors.push(creditor);
+            }
+            if (remaining[debtor] < 0) {
+                debtors.push(debtor);
+            }
+        }
+        return transfers;
+    }
+
+    /**
+     * A payment of {@code cents} from the member at index {@code from} to the member at index {@code to}.
+     */
+    public static final class Transfer {
+
+        private final int from;
+
+        private final int to;
+
+        private final long cents;
+
+        Transfer(int from, int to, long cents) {
+            this.from = from;
+            this.to = to;
+            this.cents = cents;
+        }
+
+        public int getFrom() {
+            return from;
+        }
+
+        public int getTo() {
+            return to;
+        }
+
+        public long getCents() {
+            return cents;
+        }
+
+        @Override
+        public String toString() {
+            return "Transfer{from=" + from + ", to=" + to + ", cents=" + cents + "}";
+        }
+    }
+
+    /**
+     * Binary max-heap of member indices, ordered by {@code sign * keys[index]}.
+     */
+    private static final class IndexHeap {
+
+        private final long[] keys;
+
+        private final int sign;
+
+        private final int[] heap;
+
+        private int size;
+
+        IndexHeap(long[] keys, int sign) {
+            this.keys = keys;
+            this.sign = sign;
+            this.heap = new int[keys.length];
+        }
+
+        void push(int index) {
+            int child = size++;
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (key(heap[parent]) >= key(index)) {
+                    break;
+                }
+                heap[child] = heap[parent];
+                child = parent;
+            }
+            heap[child] = index;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int last = heap[--size];
+            int parent = 0;
+            int half = size >>> 1;
+            while (parent < half) {
+                int child = 2 * parent + 1;
+                if (child + 1 < size && key(heap[child + 1]) > key(heap[child])) {
+                    child++;
+                }
+                if (key(last) >= key(heap[child])) {
+                    break;
+                }
+                heap[parent] = heap[child];
+                parent = child;
+            }
+            if (size > 0) {
+                heap[parent] = last;
+            }
+            return top;
+        }
+
+        private long key(int index) {
+            return sign * keys[index];
+        }
+    }
+}
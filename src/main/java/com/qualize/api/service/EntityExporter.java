@@ -0,0 +1,102 @@
+package com.qualize.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.qualize.api.config.Constants;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Writes a stream of entities to an output stream as NDJSON or CSV, one row at a time.
+ * <p>
+ * The entities come from a forward-only cursor and are serialized as they are read; the persistence context is cleared
+ * every {@link Constants#STREAM_FETCH_SIZE} rows so that the heap does not grow with the size of the table. NDJSON rows
+ * are the REST representation of the entities; CSV rows only hold the given columns, read from their getters without
+ * serializing the rest of the entity.
+ */
+@Component
+public class EntityExporter {
+
+    private final ObjectMapper objectMapper;
+
+    private final CsvMapper csvMapper = CsvMapper
+        .builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private final EntityManager em;
+
+    public EntityExporter(ObjectMapper objectMapper, EntityManager em) {
+        this.objectMapper = objectMapper;
+        this.em = em;
+    }
+
+    /**
+     * Write entities. Must be called within the transaction that opened the stream.
+     *
+     * @param rows the entities to write, consumed and closed by this method.
+     * @param type the type of the entities.
+     * @param format the output format.
+     * @param columns the properties written as CSV columns, in order.
+     * @param outputStream the stream to write to.
+     * @param <T> the type of the entities.
+     * @return the number of rows written.
+     * @throws IOException if the output cannot be written.
+     */
+    public <T> long export(Stream<T> rows, Class<T> type, RowFormat format, List<String> columns, OutputStream outputStream)
+        throws IOException {
+        List<Method> getters = format == RowFormat.CSV ? gettersOf(type, columns) : List.of();
+        long count = 0;
+        try (Stream<T> entities = rows; SequenceWriter writer = writerFor(type, format, columns).writeValues(outputStream)) {
+            for (T entity : (Iterable<T>) entities::iterator) {
+                writer.write(format == RowFormat.CSV ? csvRow(entity, getters) : entity);
+                if (++count % Constants.STREAM_FETCH_SIZE == 0) {
+                    writer.flush();
+                    em.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    private ObjectWriter writerFor(Class<?> type, RowFormat format, List<String> columns) {
+        if (format == RowFormat.CSV) {
+            CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+            columns.forEach(schema::addColumn);
+            return csvMapper.writerFor(Object[].class).with(schema.build());
+        }
+        return objectMapper.writerFor(type).without(SerializationFeature.INDENT_OUTPUT).withRootValueSeparator("\n");
+    }
+
+    private static List<Method> gettersOf(Class<?> type, List<String> columns) {
+        return columns
+            .stream()
+            .map(column -> {
+                PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, column);
+                if (property == null || property.getReadMethod() == null) {
+                    throw new IllegalArgumentException("No property " + column + " in " + type.getSimpleName());
+                }
+                return property.getReadMethod();
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static Object[] csvRow(Object entity, List<Method> getters) {
+        return getters.stream().map(getter -> ReflectionUtils.invokeMethod(getter, entity)).toArray();
+    }
+}
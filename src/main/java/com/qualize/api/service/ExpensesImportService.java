@@ -0,0 +1,204 @@
+package com.qualize.api.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.service.SpendingRollupService.Contribution;
+import com.qualize.api.service.dto.ExpenseImportReportDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing {@link Expenses} in bulk from a CSV or NDJSON stream.
+ * <p>
+ * Rows are read one at a time and validated, then persisted in chunks of
+ * {@code application.expense-import.chunk-size}, each chunk in its own transaction and flushed as batched inserts.
+ * Neither the input nor the imported entities are kept in memory beyond the current chunk, and only the first
+ * rejected rows are detailed in the report. Imported expenses have no friends yet, so they leave the
+ * {@link BalanceLedgerService} balances untouched; they are added to the {@link SpendingRollupService} rollups in the
+ * transaction of their chunk.
+ */
+@Service
+public class ExpensesImportService {
+
+    private final Logger log = LoggerFactory.getLogger(ExpensesImportService.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final CsvMapper csvMapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManager em;
+
+    private final SpendingRollupService spendingRollupService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ExpensesImportService(
+        ObjectMapper objectMapper,
+        Validator validator,
+        TransactionTemplate transactionTemplate,
+        EntityManager em,
+        SpendingRollupService spendingRollupService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.em = em;
+        this.spendingRollupService = spendingRollupService;
+        this.applicationProperties = applicationProperties;
+        this.csvMapper =
+            CsvMapper
+                .builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build();
+    }
+
+    /**
+     * Import expenses.
+     * <p>
+     * Invalid rows are skipped and reported. Malformed input stops the import, the chunks already committed being kept.
+     *
+     * @param inputStream the rows to import, not closed by this method.
+     * @param format the format of the rows.
+     * @return the import report.
+     * @throws IOException if the input cannot be read.
+     */
+    public ExpenseImportReportDTO importExpenses(InputStream inputStream, RowFormat format) throws IOException {
+        log.debug("Request to import Expenses from {}", format);
+        ApplicationProperties.ExpenseImport properties = applicationProperties.getExpenseImport();
+        ExpenseImportReportDTO report = new ExpenseImportReportDTO();
+        List<Expenses> chunk = new ArrayList<>(properties.getChunkSize());
+        List<Long> chunkRows = new ArrayList<>(properties.getChunkSize());
+
+        long row = 0;
+        try (MappingIterator<Expenses> rows = readerFor(format).readValues(inputStream)) {
+            while (rows.hasNextValue()) {
+                row++;
+                Expenses expenses;
+                try {
+                    expenses = rows.nextValue();
+                } catch (JsonParseException e) {
+                    reject(report, row, "Malformed input, import stopped: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    reject(report, row, describe(e));
+                    continue;
+                }
+                String violations = validate(expenses);
+                if (violations != null) {
+                    reject(report, row, violations);
+                    continue;
+                }
+                chunk.add(expenses);
+                chunkRows.add(row);
+                if (chunk.size() == properties.getChunkSize()) {
+                    persist(chunk, chunkRows, report);
+                }
+            }
+        } catch (JsonParseException e) {
+            row++;
+            reject(report, row, "Malformed input, import stopped: " + e.getOriginalMessage());
+        }
+        report.setRows(row);
+        persist(chunk, chunkRows, report);
+        log.debug("Imported Expenses : {}", report);
+        return report;
+    }
+
+    private ObjectReader readerFor(RowFormat format) {
+        if (format == RowFormat.CSV) {
+            return csvMapper.readerFor(Expenses.class).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(Expenses.class);
+    }
+
+    private String validate(Expenses expenses) {
+        if (expenses.getId() != null) {
+            return "id: a new expenses cannot already have an ID";
+        }
+        Set<ConstraintViolation<Expenses>> violations = validator.validate(expenses);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private void persist(List<Expenses> chunk, List<Long> chunkRows, ExpenseImportReportDTO report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                chunk.forEach(em::persist);
+                em.flush();
+                List<Long> ids = chunk.stream().map(Expenses::getId).collect(Collectors.toList());
+                spendingRollupService.apply(Contribution.EMPTY, spendingRollupService.contributionOf(ids));
+                em.flush();
+                em.clear();
+            });
+            report.setImported(report.getImported() + chunk.size());
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            log.warn("Could not import a chunk of {} Expenses : {}", chunk.size(), e.getMessage());
+            String message = "Rejected by the database: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            chunkRows.forEach(row -> reject(report, row, message));
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    private void reject(ExpenseImportReportDTO report, long row, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < applicationProperties.getExpenseImport().getMaxReportedErrors()) {
+            report.getErrors().add(new ExpenseImportReportDTO.RowError(row, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static String describe(JsonMappingException e) {
+        String field = e
+            .getPath()
+            .stream()
+            .map(JsonMappingException.Reference::getFieldName)
+            .filter(name -> name != null)
+            .collect(Collectors.joining("."));
+        return field.isEmpty() ? e.getOriginalMessage() : field + ": " + e.getOriginalMessage();
+    }
+}
@@ -1,11 +1,18 @@
 package com.qualize.api.service;
 
 import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Expenses_;
+import com.qualize.api.repository.ExpenseSummary;
 import com.qualize.api.repository.ExpensesRepository;
+import com.qualize.api.repository.KeysetCursor;
+import com.qualize.api.repository.KeysetPage;
+import com.qualize.api.repository.KeysetPaginationRepository;
+import com.qualize.api.service.BalanceLedgerService.Posting;
+import com.qualize.api.service.SpendingRollupService.Contribution;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -20,12 +27,44 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class ExpensesService {
 
+    /**
+     * The columns of a CSV export.
+     */
+    private static final List<String> EXPORT_COLUMNS = List.of(
+        Expenses_.ID,
+        Expenses_.DESCRIPTION,
+        Expenses_.PAID_BY,
+        Expenses_.AMOUNT,
+        Expenses_.CRYPTO_CURRENCY,
+        Expenses_.SORT_ORDER,
+        Expenses_.DATE_ADDED,
+        Expenses_.DATE_MODIFIED
+    );
+
     private final Logger log = LoggerFactory.getLogger(ExpensesService.class);
 
     private final ExpensesRepository expensesRepository;
 
-    public ExpensesService(ExpensesRepository expensesRepository) {
+    private final KeysetPaginationRepository keysetPaginationRepository;
+
+    private final BalanceLedgerService balanceLedgerService;
+
+    private final EntityExporter entityExporter;
+
+    private final SpendingRollupService spendingRollupService;
+
+    public ExpensesService(
+        ExpensesRepository expensesRepository,
+        KeysetPaginationRepository keysetPaginationRepository,
+        BalanceLedgerService balanceLedgerService,
+        EntityExporter entityExporter,
+        SpendingRollupService spendingRollupService
+    ) {
         this.expensesRepository = expensesRepository;
+        this.keysetPaginationRepository = keysetPaginationRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.entityExporter = entityExporter;
+        this.spendingRollupService = spendingRollupService;
     }
 
     /**
@@ -36,7 +75,12 @@ public class ExpensesService {
      */
     public Expenses save(Expenses expenses) {
         log.debug("Request to save Expenses : {}", expenses);
-        return expensesRepository.save(expenses);
+        Posting before = postingOf(expenses.getId());
+        Contribution contributionBefore = contributionOf(expenses.getId());
+        Expenses result = expensesRepository.save(expenses);
+        balanceLedgerService.apply(before, balanceLedgerService.postingOf(result));
+        spendingRollupService.apply(contributionBefore, contributionOf(result.getId()));
+        return result;
     }
 
     /**
@@ -47,7 +91,12 @@ public class ExpensesService {
      */
     public Expenses update(Expenses expenses) {
         log.debug("Request to save Expenses : {}", expenses);
-        return expensesRepository.save(expenses);
+        Posting before = postingOf(expenses.getId());
+        Contribution contributionBefore = contributionOf(expenses.getId());
+        Expenses result = expensesRepository.save(expenses);
+        balanceLedgerService.apply(before, balanceLedgerService.postingOf(result));
+        spendingRollupService.apply(contributionBefore, contributionOf(result.getId()));
+        return result;
     }
 
     /**
@@ -60,8 +109,10 @@ public class ExpensesService {
         log.debug("Request to partially update Expenses : {}", expenses);
 
         return expensesRepository
-            .findById(expenses.getId())
+            .findForUpdate(expenses.getId())
             .map(existingExpenses -> {
+                Posting before = balanceLedgerService.postingOf(existingExpenses);
+                Contribution contributionBefore = contributionOf(existingExpenses.getId());
                 if (expenses.getDescription() != null) {
                     existingExpenses.setDescription(expenses.getDescription());
                 }
@@ -84,47 +135,104 @@ public class ExpensesService {
                     existingExpenses.setDateModified(expenses.getDateModified());
                 }
 
-                return existingExpenses;
-            })
-            .map(expensesRepository::save);
+                Expenses result = expensesRepository.save(existingExpenses);
+                balanceLedgerService.apply(before, balanceLedgerService.postingOf(result));
+                spendingRollupService.apply(contributionBefore, contributionOf(result.getId()));
+                return result;
+            });
     }
 
     /**
      * Get all the expenses.
      *
      * @param pageable the pagination information.
+     * @param withPaidBies whether to read the friends of the expenses too.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<Expenses> findAll(Pageable pageable) {
+    public Page<Expenses> findAll(Pageable pageable, boolean withPaidBies) {
         log.debug("Request to get all Expenses");
-        return expensesRepository.findAll(pageable);
+        Page<Expenses> page = expensesRepository.findAll(pageable);
+        fetchPaidBies(page.getContent(), withPaidBies);
+        return page;
+    }
+
+    /**
+     * Get the summaries of all the expenses, read as plain columns.
+     *
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<ExpenseSummary> findAllSummaries(Pageable pageable) {
+        log.debug("Request to get all Expenses summaries");
+        return expensesRepository.findAllSummaries(pageable);
+    }
+
+    /**
+     * Get the page of expenses following a keyset cursor, without counting them.
+     *
+     * @param cursor the position to read from.
+     * @param size the maximum number of entities of the page.
+     * @param withPaidBies whether to read the friends of the expenses too.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Expenses> findAllAfter(KeysetCursor cursor, int size, boolean withPaidBies) {
+        log.debug("Request to get Expenses after {}", cursor);
+        KeysetPage<Expenses> page = keysetPaginationRepository.findAfter(
+            Expenses.class,
+            cursor,
+            size,
+            Expenses_.GROUP_NAME,
+            Expenses_.ACTIVITIES
+        );
+        fetchPaidBies(page.getContent(), withPaidBies);
+        return page;
     }
 
     /**
      *  Get all the expenses where GroupName is {@code null}.
+     *
+     *  @param pageable the pagination information.
+     *  @param withPaidBies whether to read the friends of the expenses too.
      *  @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public List<Expenses> findAllWhereGroupNameIsNull() {
+    public Page<Expenses> findAllWhereGroupNameIsNull(Pageable pageable, boolean withPaidBies) {
         log.debug("Request to get all expenses where GroupName is null");
-        return StreamSupport
-            .stream(expensesRepository.findAll().spliterator(), false)
-            .filter(expenses -> expenses.getGroupName() == null)
-            .collect(Collectors.toList());
+        Page<Expenses> page = expensesRepository.findAllWhereGroupNameIsNull(pageable);
+        fetchPaidBies(page.getContent(), withPaidBies);
+        return page;
     }
 
     /**
      *  Get all the expenses where Activities is {@code null}.
+     *
+     *  @param pageable the pagination information.
+     *  @param withPaidBies whether to read the friends of the expenses too.
      *  @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public List<Expenses> findAllWhereActivitiesIsNull() {
+    public Page<Expenses> findAllWhereActivitiesIsNull(Pageable pageable, boolean withPaidBies) {
         log.debug("Request to get all expenses where Activities is null");
-        return StreamSupport
-            .stream(expensesRepository.findAll().spliterator(), false)
-            .filter(expenses -> expenses.getActivities() == null)
-            .collect(Collectors.toList());
+        Page<Expenses> page = expensesRepository.findAllWhereActivitiesIsNull(pageable);
+        fetchPaidBies(page.getContent(), withPaidBies);
+        return page;
+    }
+
+    /**
+     * Export all the expenses, streamed from the database as they are written.
+     *
+     * @param format the output format.
+     * @param outputStream the stream to write to.
+     * @return the number of exported entities.
+     * @throws IOException if the output cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(RowFormat format, OutputStream outputStream) throws IOException {
+        log.debug("Request to export all Expenses as {}", format);
+        return entityExporter.export(expensesRepository.streamAll(), Expenses.class, format, EXPORT_COLUMNS, outputStream);
     }
 
     /**
@@ -146,6 +254,31 @@ public class ExpensesService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Expenses : {}", id);
+        balanceLedgerService.apply(postingOf(id), Posting.EMPTY);
+        spendingRollupService.apply(contributionOf(id), Contribution.EMPTY);
         expensesRepository.deleteById(id);
     }
+
+    /**
+     * The posting of an expense as stored, with the expense locked until the end of the write.
+     */
+    private Posting postingOf(Long id) {
+        if (id == null) {
+            return Posting.EMPTY;
+        }
+        return expensesRepository.findForUpdate(id).map(balanceLedgerService::postingOf).orElse(Posting.EMPTY);
+    }
+
+    private void fetchPaidBies(List<Expenses> expenses, boolean withPaidBies) {
+        if (withPaidBies && !expenses.isEmpty()) {
+            expensesRepository.fetchPaidBies(expenses);
+        }
+    }
+
+    private Contribution contributionOf(Long id) {
+        if (id == null) {
+            return Contribution.EMPTY;
+        }
+        return spendingRollupService.contributionOf(List.of(id));
+    }
 }
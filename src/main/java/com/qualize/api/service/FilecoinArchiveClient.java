@@ -0,0 +1,62 @@
+package com.qualize.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qualize.api.config.ApplicationProperties;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client uploading documents to the web3.storage API, which pins them on Filecoin.
+ */
+@Component
+public class FilecoinArchiveClient {
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient;
+
+    public FilecoinArchiveClient(ApplicationProperties applicationProperties, ObjectMapper objectMapper) {
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(applicationProperties.getArchive().getTimeout()).build();
+    }
+
+    /**
+     * Upload a document.
+     *
+     * @param payload the JSON document to upload.
+     * @return the content identifier of the uploaded document.
+     * @throws IOException if the upload fails or is rejected.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the response.
+     */
+    public String upload(String payload) throws IOException, InterruptedException {
+        ApplicationProperties.Archive archive = applicationProperties.getArchive();
+        HttpRequest.Builder request = HttpRequest
+            .newBuilder(URI.create(archive.getUrl()))
+            .timeout(archive.getTimeout())
+            .header("Accept", "application/json")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(payload, StandardCharsets.UTF_8));
+        if (StringUtils.isNotEmpty(archive.getToken())) {
+            request.header("Authorization", "Bearer " + archive.getToken());
+        }
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Archive endpoint answered " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode cid = objectMapper.readTree(response.body()).get("cid");
+        if (cid == null || !cid.isTextual()) {
+            throw new IOException("Archive endpoint answered without a cid: " + response.body());
+        }
+        return cid.asText();
+    }
+}
@@ -1,7 +1,13 @@
 package com.qualize.api.service;
 
+import com.qualize.api.domain.Expenses_;
 import com.qualize.api.domain.Friends;
+import com.qualize.api.domain.Friends_;
+import com.qualize.api.repository.FriendSummary;
 import com.qualize.api.repository.FriendsRepository;
+import com.qualize.api.repository.KeysetCursor;
+import com.qualize.api.repository.KeysetPage;
+import com.qualize.api.repository.KeysetPaginationRepository;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +18,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link Friends}.
+ * <p>
+ * The writes which may change the friend names of the dashboard balances increment the dashboard revision.
  */
 @Service
 @Transactional
@@ -21,8 +29,18 @@ public class FriendsService {
 
     private final FriendsRepository friendsRepository;
 
-    public FriendsService(FriendsRepository friendsRepository) {
+    private final KeysetPaginationRepository keysetPaginationRepository;
+
+    private final DashboardService dashboardService;
+
+    public FriendsService(
+        FriendsRepository friendsRepository,
+        KeysetPaginationRepository keysetPaginationRepository,
+        DashboardService dashboardService
+    ) {
         this.friendsRepository = friendsRepository;
+        this.keysetPaginationRepository = keysetPaginationRepository;
+        this.dashboardService = dashboardService;
     }
 
     /**
@@ -33,6 +51,9 @@ public class FriendsService {
      */
     public Friends save(Friends friends) {
         log.debug("Request to save Friends : {}", friends);
+        if (friends.getAccounts() != null) {
+            dashboardService.touch();
+        }
         return friendsRepository.save(friends);
     }
 
@@ -44,6 +65,7 @@ public class FriendsService {
      */
     public Friends update(Friends friends) {
         log.debug("Request to save Friends : {}", friends);
+        dashboardService.touch();
         return friendsRepository.save(friends);
     }
 
@@ -60,6 +82,9 @@ public class FriendsService {
             .findById(friends.getId())
             .map(existingFriends -> {
                 if (friends.getFriendName() != null) {
+                    if (!friends.getFriendName().equals(existingFriends.getFriendName())) {
+                        dashboardService.touch();
+                    }
                     existingFriends.setFriendName(friends.getFriendName());
                 }
                 if (friends.getEmail() != null) {
@@ -101,6 +126,40 @@ public class FriendsService {
         return friendsRepository.findAll(pageable);
     }
 
+    /**
+     * Get the summaries of all the friends, read as plain columns.
+     *
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<FriendSummary> findAllSummaries(Pageable pageable) {
+        log.debug("Request to get all Friends summaries");
+        return friendsRepository.findAllSummaries(pageable);
+    }
+
+    /**
+     * Get the page of friends following a keyset cursor, without counting them.
+     *
+     * @param cursor the position to read from.
+     * @param size the maximum number of entities of the page.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Friends> findAllAfter(KeysetCursor cursor, int size) {
+        log.debug("Request to get Friends after {}", cursor);
+        return keysetPaginationRepository.findAfter(
+            Friends.class,
+            cursor,
+            size,
+            Friends_.EXPENSE,
+            Friends_.EXPENSE + "." + Expenses_.GROUP_NAME,
+            Friends_.EXPENSE + "." + Expenses_.ACTIVITIES,
+            Friends_.SETTLEMENT,
+            Friends_.ACCOUNTS
+        );
+    }
+
     /**
      * Get one friends by id.
      *
@@ -120,6 +179,7 @@ public class FriendsService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Friends : {}", id);
+        dashboardService.touch();
         friendsRepository.deleteById(id);
     }
 }
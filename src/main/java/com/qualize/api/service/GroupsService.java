@@ -1,7 +1,14 @@
 package com.qualize.api.service;
 
 import com.qualize.api.domain.Groups;
+import com.qualize.api.domain.Groups_;
 import com.qualize.api.repository.GroupsRepository;
+import com.qualize.api.repository.KeysetCursor;
+import com.qualize.api.repository.KeysetPage;
+import com.qualize.api.repository.KeysetPaginationRepository;
+import com.qualize.api.service.SpendingRollupService.Contribution;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,8 +28,18 @@ public class GroupsService {
 
     private final GroupsRepository groupsRepository;
 
-    public GroupsService(GroupsRepository groupsRepository) {
+    private final KeysetPaginationRepository keysetPaginationRepository;
+
+    private final SpendingRollupService spendingRollupService;
+
+    public GroupsService(
+        GroupsRepository groupsRepository,
+        KeysetPaginationRepository keysetPaginationRepository,
+        SpendingRollupService spendingRollupService
+    ) {
         this.groupsRepository = groupsRepository;
+        this.keysetPaginationRepository = keysetPaginationRepository;
+        this.spendingRollupService = spendingRollupService;
     }
 
     /**
@@ -33,7 +50,11 @@ public class GroupsService {
      */
     public Groups save(Groups groups) {
         log.debug("Request to save Groups : {}", groups);
-        return groupsRepository.save(groups);
+        List<Long> expenseIds = linkedExpenseIds(groups);
+        Contribution before = spendingRollupService.contributionOf(expenseIds);
+        Groups result = groupsRepository.save(groups);
+        spendingRollupService.apply(before, spendingRollupService.contributionOf(expenseIds));
+        return result;
     }
 
     /**
@@ -44,7 +65,11 @@ public class GroupsService {
      */
     public Groups update(Groups groups) {
         log.debug("Request to save Groups : {}", groups);
-        return groupsRepository.save(groups);
+        List<Long> expenseIds = linkedExpenseIds(groups);
+        Contribution before = spendingRollupService.contributionOf(expenseIds);
+        Groups result = groupsRepository.save(groups);
+        spendingRollupService.apply(before, spendingRollupService.contributionOf(expenseIds));
+        return result;
     }
 
     /**
@@ -89,6 +114,19 @@ public class GroupsService {
         return groupsRepository.findAll(pageable);
     }
 
+    /**
+     * Get the page of groups following a keyset cursor, without counting them.
+     *
+     * @param cursor the position to read from.
+     * @param size the maximum number of entities of the page.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Groups> findAllAfter(KeysetCursor cursor, int size) {
+        log.debug("Request to get Groups after {}", cursor);
+        return keysetPaginationRepository.findAfter(Groups.class, cursor, size, Groups_.EXPENSES);
+    }
+
     /**
      * Get one groups by id.
      *
@@ -108,6 +146,24 @@ public class GroupsService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Groups : {}", id);
+        List<Long> expenseIds = groupsRepository.findExpensesIdById(id).map(List::of).orElse(List.of());
+        Contribution before = spendingRollupService.contributionOf(expenseIds);
         groupsRepository.deleteById(id);
+        spendingRollupService.apply(before, spendingRollupService.contributionOf(expenseIds));
+    }
+
+    /**
+     * The expenses whose spending rollup a write of the groups can move: the one it is linked to as stored, and the one it
+     * links to.
+     */
+    private List<Long> linkedExpenseIds(Groups groups) {
+        List<Long> expenseIds = new ArrayList<>(2);
+        if (groups.getId() != null) {
+            groupsRepository.findExpensesIdById(groups.getId()).ifPresent(expenseIds::add);
+        }
+        if (groups.getExpenses() != null) {
+            expenseIds.add(groups.getExpenses().getId());
+        }
+        return expenseIds;
     }
 }
@@ -0,0 +1,117 @@
+package com.qualize.api.service;
+
+import com.qualize.api.domain.CryptoTracker;
+import com.qualize.api.repository.CryptoTrackerRepository;
+import com.qualize.api.service.dto.CryptoRateDTO;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory copy of the newest rate of each crypto currency, so that conversions never read the
+ * {@code crypto_tracker} table.
+ * <p>
+ * Readers get an immutable snapshot without locking; writers publish a new copy of the map. The map is loaded when
+ * the application is ready, then kept up to date by the rate ingestion and by the writes of {@link CryptoTrackerService}.
+ */
+@Component
+public class LatestCryptoRates {
+
+    private final Logger log = LoggerFactory.getLogger(LatestCryptoRates.class);
+
+    private final CryptoTrackerRepository cryptoTrackerRepository;
+
+    private volatile Map<String, CryptoRateDTO> rates = Collections.emptyMap();
+
+    public LatestCryptoRates(CryptoTrackerRepository cryptoTrackerRepository) {
+        this.cryptoTrackerRepository = cryptoTrackerRepository;
+    }
+
+    /**
+     * Get the newest rate of a currency.
+     *
+     * @param currency the currency.
+     * @return the rate, empty if the currency has no rate.
+     */
+    public Optional<CryptoRateDTO> get(String currency) {
+        return Optional.ofNullable(rates.get(currency));
+    }
+
+    /**
+     * @return the newest rate of each currency, by currency.
+     */
+    public Map<String, CryptoRateDTO> getAll() {
+        return rates;
+    }
+
+    /**
+     * Publish rates, each replacing the rate of its currency unless that one is of a later day.
+     *
+     * @param published the rates to publish.
+     */
+    public synchronized void publish(Collection<CryptoRateDTO> published) {
+        Map<String, CryptoRateDTO> copy = new HashMap<>(rates);
+        for (CryptoRateDTO rate : published) {
+            copy.merge(rate.getCurrency(), rate, (current, candidate) -> isAfter(current, candidate) ? current : candidate);
+        }
+        rates = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Load the newest rate of each currency from the database, replacing the published ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<String, CryptoRateDTO> loaded = new HashMap<>();
+        cryptoTrackerRepository
+            .findAllLatest()
+            .stream()
+            .sorted(Comparator.comparing(CryptoTracker::getId))
+            .forEach(cryptoTracker -> loaded.put(cryptoTracker.getCurrency(), toRate(cryptoTracker)));
+        rates = Collections.unmodifiableMap(loaded);
+        log.debug("Loaded the latest rates of {} crypto currencies", loaded.size());
+    }
+
+    /**
+     * Reload the rates once the current transaction commits, or right away outside of a transaction.
+     *
+     * @param afterReload the action to run once the rates are reloaded.
+     */
+    public void reloadAfterCommit(Runnable afterReload) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        reload();
+                        afterReload.run();
+                    }
+                }
+            );
+        } else {
+            reload();
+            afterReload.run();
+        }
+    }
+
+    static CryptoRateDTO toRate(CryptoTracker cryptoTracker) {
+        return new CryptoRateDTO(cryptoTracker.getCurrency(), cryptoTracker.getValue(), cryptoTracker.getFeedDateTime());
+    }
+
+    private static boolean isAfter(CryptoRateDTO current, CryptoRateDTO candidate) {
+        return (
+            current.getFeedDateTime() != null &&
+            (candidate.getFeedDateTime() == null || current.getFeedDateTime().isAfter(candidate.getFeedDateTime()))
+        );
+    }
+}
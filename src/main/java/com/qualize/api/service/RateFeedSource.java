@@ -0,0 +1,22 @@
+package com.qualize.api.service;
+
+import com.qualize.api.service.dto.CryptoRateDTO;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Source of crypto currency rates pulled by {@link CryptoRateIngestionService}.
+ * <p>
+ * The default source reads the document at {@code application.rate-feed.url}; declare a {@code @Primary} bean to pull
+ * the rates from another provider.
+ */
+public interface RateFeedSource {
+    /**
+     * Fetch the rates currently published by the feed. A feed may publish several rates for the same currency and day,
+     * the last one wins.
+     *
+     * @return the rates, in feed order.
+     * @throws IOException if the feed cannot be read.
+     */
+    List<CryptoRateDTO> fetchRates() throws IOException;
+}
@@ -0,0 +1,39 @@
+package com.qualize.api.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * The width of the buckets a rate series is downsampled to.
+ */
+public enum RateSeriesBucket {
+    DAY {
+        @Override
+        public LocalDate startOf(LocalDate day) {
+            return day;
+        }
+    },
+    /**
+     * ISO weeks, starting on Monday.
+     */
+    WEEK {
+        @Override
+        public LocalDate startOf(LocalDate day) {
+            return day.with(DayOfWeek.MONDAY);
+        }
+    },
+    MONTH {
+        @Override
+        public LocalDate startOf(LocalDate day) {
+            return day.withDayOfMonth(1);
+        }
+    };
+
+    /**
+     * Get the first day of the bucket holding a day.
+     *
+     * @param day the day.
+     * @return the first day of its bucket.
+     */
+    public abstract LocalDate startOf(LocalDate day);
+}
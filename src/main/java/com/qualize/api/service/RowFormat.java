@@ -0,0 +1,50 @@
+package com.qualize.api.service;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The row-oriented formats of bulk imports and exports: CSV with a header row naming the columns, or NDJSON with one
+ * JSON object per line.
+ */
+public enum RowFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+
+    private final String extension;
+
+    RowFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Find the format matching a media type, a file extension or a format name.
+     *
+     * @param value the media type, extension or name, case insensitive.
+     * @return the format, or empty if none matches.
+     */
+    public static Optional<RowFormat> of(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String type = value.toLowerCase(Locale.ROOT);
+        if (type.endsWith("csv")) {
+            return Optional.of(CSV);
+        }
+        if (type.endsWith("ndjson") || type.endsWith("jsonl")) {
+            return Optional.of(NDJSON);
+        }
+        return Optional.empty();
+    }
+}
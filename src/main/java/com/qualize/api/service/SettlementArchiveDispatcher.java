@@ -0,0 +1,118 @@
+package com.qualize.api.service;
+
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.domain.SettlementArchiveOutbox;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job draining the {@link SettlementArchiveOutbox}: due entries are claimed in batches and uploaded with
+ * at most {@code application.archive.concurrency} requests in flight, outside of any database transaction.
+ * <p>
+ * It first runs {@code application.archive.poll-delay} after startup, then as long after the end of each run.
+ */
+@Component
+public class SettlementArchiveDispatcher implements SchedulingConfigurer {
+
+    private final Logger log = LoggerFactory.getLogger(SettlementArchiveDispatcher.class);
+
+    private final SettlementArchiveOutboxService outboxService;
+
+    private final FilecoinArchiveClient archiveClient;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ExecutorService executor;
+
+    public SettlementArchiveDispatcher(
+        SettlementArchiveOutboxService outboxService,
+        FilecoinArchiveClient archiveClient,
+        ApplicationProperties applicationProperties
+    ) {
+        this.outboxService = outboxService;
+        this.archiveClient = archiveClient;
+        this.applicationProperties = applicationProperties;
+        this.executor =
+            Executors.newFixedThreadPool(
+                applicationProperties.getArchive().getConcurrency(),
+                new CustomizableThreadFactory("qualize-archive-")
+            );
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        long pollDelay = applicationProperties.getArchive().getPollDelay().toMillis();
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::dispatchPendingArchives, pollDelay, pollDelay));
+    }
+
+    /**
+     * Drain the due entries of the outbox, batch after batch.
+     *
+     * @return the number of entries archived successfully.
+     */
+    public int dispatchPendingArchives() {
+        if (!applicationProperties.getArchive().isEnabled()) {
+            return 0;
+        }
+        int archived = 0;
+        List<SettlementArchiveOutbox> batch;
+        do {
+            batch = outboxService.claimDueBatch();
+            archived += dispatch(batch);
+        } while (batch.size() == applicationProperties.getArchive().getBatchSize());
+        return archived;
+    }
+
+    private int dispatch(List<SettlementArchiveOutbox> batch) {
+        List<Future<Boolean>> results = new ArrayList<>(batch.size());
+        for (SettlementArchiveOutbox outbox : batch) {
+            results.add(executor.submit((Callable<Boolean>) () -> archive(outbox)));
+        }
+        int archived = 0;
+        for (Future<Boolean> result : results) {
+            try {
+                if (Boolean.TRUE.equals(result.get())) {
+                    archived++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return archived;
+            } catch (ExecutionException e) {
+                log.error("Archive dispatch failed", e.getCause());
+            }
+        }
+        return archived;
+    }
+
+    private boolean archive(SettlementArchiveOutbox outbox) {
+        try {
+            outboxService.markArchived(outbox.getId(), archiveClient.upload(outbox.getPayload()));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outboxService.markFailed(outbox.getId(), "Interrupted");
+        } catch (Exception e) {
+            log.debug("Archive of Settlements : {} failed: {}", outbox.getSettlementId(), e.getMessage());
+            outboxService.markFailed(outbox.getId(), e.toString());
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
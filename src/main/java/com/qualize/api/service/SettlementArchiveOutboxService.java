@@ -0,0 +1,153 @@
+package com.qualize.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.domain.SettlementArchiveOutbox;
+import com.qualize.api.domain.Settlements;
+import com.qualize.api.domain.enumeration.ArchiveStatus;
+import com.qualize.api.repository.SettlementArchiveOutboxRepository;
+import com.qualize.api.repository.SettlementsRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service managing the {@link SettlementArchiveOutbox}, the queue of settlements waiting to be archived to Filecoin.
+ */
+@Service
+@Transactional
+public class SettlementArchiveOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(SettlementArchiveOutboxService.class);
+
+    private final SettlementArchiveOutboxRepository outboxRepository;
+
+    private final SettlementsRepository settlementsRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectMapper objectMapper;
+
+    public SettlementArchiveOutboxService(
+        SettlementArchiveOutboxRepository outboxRepository,
+        SettlementsRepository settlementsRepository,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.settlementsRepository = settlementsRepository;
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Queue a snapshot of a settlement for archival, in the caller's transaction.
+     *
+     * @param settlements the settlement to archive.
+     * @return the persisted outbox entry.
+     */
+    public SettlementArchiveOutbox enqueue(Settlements settlements) {
+        log.debug("Request to queue the archive of Settlements : {}", settlements.getId());
+        return outboxRepository.save(
+            new SettlementArchiveOutbox()
+                .settlementId(settlements.getId())
+                .payload(toPayload(settlements))
+                .status(ArchiveStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.now())
+        );
+    }
+
+    /**
+     * Claim the next batch of due entries: they are leased by pushing their next attempt past the lease duration, so
+     * that other dispatchers skip them until this one reports back or dies.
+     *
+     * @return the claimed entries.
+     */
+    public List<SettlementArchiveOutbox> claimDueBatch() {
+        ApplicationProperties.Archive archive = applicationProperties.getArchive();
+        Instant now = Instant.now();
+        List<SettlementArchiveOutbox> due = outboxRepository.findDueForUpdate(
+            ArchiveStatus.PENDING,
+            now,
+            PageRequest.of(0, archive.getBatchSize())
+        );
+        due.forEach(outbox -> outbox.setNextAttemptAt(now.plus(archive.getLease())));
+        return due;
+    }
+
+    /**
+     * Record a successful archive and store its CID on the settlement.
+     *
+     * @param outboxId the id of the outbox entry.
+     * @param cid the content identifier returned by the archive endpoint.
+     */
+    public void markArchived(Long outboxId, String cid) {
+        outboxRepository
+            .findById(outboxId)
+            .ifPresent(outbox -> {
+                outbox.setStatus(ArchiveStatus.ARCHIVED);
+                outbox.setAttempts(outbox.getAttempts() + 1);
+                outbox.setLastError(null);
+                settlementsRepository.findById(outbox.getSettlementId()).ifPresent(settlements -> settlements.setArchiveCid(cid));
+                log.debug("Archived Settlements : {} as {}", outbox.getSettlementId(), cid);
+            });
+    }
+
+    /**
+     * Record a failed archive attempt, scheduling a retry with exponential backoff until the attempts run out.
+     *
+     * @param outboxId the id of the outbox entry.
+     * @param error the failure description.
+     */
+    public void markFailed(Long outboxId, String error) {
+        ApplicationProperties.Archive archive = applicationProperties.getArchive();
+        outboxRepository
+            .findById(outboxId)
+            .ifPresent(outbox -> {
+                int attempts = outbox.getAttempts() + 1;
+                outbox.setAttempts(attempts);
+                outbox.setLastError(StringUtils.abbreviate(error, MAX_ERROR_LENGTH));
+                if (attempts >= archive.getMaxAttempts()) {
+                    log.warn("Giving up the archive of Settlements : {} after {} attempts: {}", outbox.getSettlementId(), attempts, error);
+                    outbox.setStatus(ArchiveStatus.FAILED);
+                } else {
+                    outbox.setNextAttemptAt(Instant.now().plus(backoff(attempts, archive)));
+                }
+            });
+    }
+
+    static Duration backoff(int attempts, ApplicationProperties.Archive archive) {
+        Duration backoff = archive.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(archive.getMaxBackoff()) > 0 ? archive.getMaxBackoff() : backoff;
+    }
+
+    private String toPayload(Settlements settlements) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", settlements.getId());
+        payload.put("description", settlements.getDescription());
+        payload.put("amountYouOwe", settlements.getAmountYouOwe());
+        payload.put("settlementStatus", settlements.getSettlementStatus());
+        payload.put("cryptoCurrency", settlements.getCryptoCurrency());
+        payload.put("currencyValue", settlements.getCurrencyValue());
+        payload.put("cryptoReceivablePayable", settlements.getCryptoReceivablePayable());
+        payload.put("transactionDate", settlements.getTransactionDate());
+        payload.put("dateModified", settlements.getDateModified());
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize Settlements " + settlements.getId(), e);
+        }
+    }
+}
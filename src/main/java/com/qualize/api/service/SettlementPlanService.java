@@ -0,0 +1,105 @@
+package com.qualize.api.service;
+
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.domain.Groups;
+import com.qualize.api.repository.GroupsRepository;
+import com.qualize.api.service.dto.SettlementTransferDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service computing the transfers needed to settle the expense of a {@link Groups}.
+ * <p>
+ * The expense is shared equally by you and the friends of the expense: you paid {@code paidBy} and the friends paid the
+ * rest in equal parts. The resulting net balances are handed to the {@link DebtSimplifier}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SettlementPlanService {
+
+    private static final String YOU = "you";
+
+    private final Logger log = LoggerFactory.getLogger(SettlementPlanService.class);
+
+    private final GroupsRepository groupsRepository;
+
+    public SettlementPlanService(GroupsRepository groupsRepository) {
+        this.groupsRepository = groupsRepository;
+    }
+
+    /**
+     * Get the settlement plan of a group.
+     *
+     * @param groupId the id of the group.
+     * @return the transfers settling the group, or empty if the group does not exist.
+     */
+    public Optional<List<SettlementTransferDTO>> findPlanForGroup(Long groupId) {
+        log.debug("Request to get the settlement plan of Groups : {}", groupId);
+        return groupsRepository.findById(groupId).map(this::planFor);
+    }
+
+    private List<SettlementTransferDTO> planFor(Groups groups) {
+        Expenses expenses = groups.getExpenses();
+        if (expenses == null || expenses.getPaidBies().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Friends> friends = new ArrayList<>(expenses.getPaidBies());
+        friends.sort(Comparator.comparing(Friends::getId));
+
+        int members = friends.size() + 1;
+        long amount = toCents(expenses.getAmount());
+        long paidBy = toCents(expenses.getPaidBy());
+        long[] shares = split(amount, members);
+        long[] friendPayments = split(amount - paidBy, friends.size());
+
+        // index 0 is you, index i is friends.get(i - 1)
+        long[] balances = new long[members];
+        balances[0] = paidBy - shares[0];
+        for (int i = 1; i < members; i++) {
+            balances[i] = friendPayments[i - 1] - shares[i];
+        }
+
+        List<SettlementTransferDTO> plan = new ArrayList<>();
+        for (DebtSimplifier.Transfer transfer : DebtSimplifier.simplify(balances)) {
+            Friends from = transfer.getFrom() == 0 ? null : friends.get(transfer.getFrom() - 1);
+            Friends to = transfer.getTo() == 0 ? null : friends.get(transfer.getTo() - 1);
+            plan.add(
+                new SettlementTransferDTO(
+                    from == null ? null : from.getId(),
+                    from == null ? YOU : from.getFriendName(),
+                    to == null ? null : to.getId(),
+                    to == null ? YOU : to.getFriendName(),
+                    BigDecimal.valueOf(transfer.getCents(), 2)
+                )
+            );
+        }
+        return plan;
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value == null ? 0L : value.setScale(2, RoundingMode.HALF_EVEN).movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Split an amount of cents in equal parts, the first parts taking one more cent to absorb the remainder.
+     */
+    private static long[] split(long cents, int parts) {
+        long[] split = new long[parts];
+        long share = cents / parts;
+        long remainder = cents % parts;
+        for (int i = 0; i < parts; i++) {
+            split[i] = share + (i < Math.abs(remainder) ? Long.signum(remainder) : 0);
+        }
+        return split;
+    }
+}
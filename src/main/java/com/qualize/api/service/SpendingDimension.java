@@ -0,0 +1,11 @@
+package com.qualize.api.service;
+
+/**
+ * The dimension spending rollups are sliced by.
+ */
+public enum SpendingDimension {
+    MONTH,
+    GROUP,
+    ACTIVITY,
+    CURRENCY,
+}
@@ -0,0 +1,401 @@
+package com.qualize.api.service;
+
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.SpendingRollup;
+import com.qualize.api.domain.SpendingRollup_;
+import com.qualize.api.repository.ExpensesRepository;
+import com.qualize.api.repository.SpendingRollupRepository;
+import com.qualize.api.service.dto.SpendingSliceDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping the {@link SpendingRollup} monthly totals in line with {@link Expenses}, and slicing them for the
+ * analytics drill-down.
+ * <p>
+ * Like the balance ledger, every write of an expense, or of the group or activity it belongs to, is turned into a
+ * {@link Contribution}: the amount and count it adds to each (month, group, activity, currency) key, the month being
+ * the one of {@code dateAdded}. The difference between the contributions before and after the write is applied to the
+ * rollup rows in the same transaction. Expenses without {@code dateAdded} are not rolled up. A reconciliation job
+ * recomputes every row from the expenses, to repair drift caused by writes outside of the services.
+ * <p>
+ * A missing row is inserted empty in a transaction of its own before being locked and updated like an existing one, so
+ * that two writes adding the first expenses of a key cannot both insert it. Rows emptied by a write are kept at zero,
+ * and not sliced, until the reconciliation deletes them.
+ */
+@Service
+@Transactional
+public class SpendingRollupService {
+
+    private final Logger log = LoggerFactory.getLogger(SpendingRollupService.class);
+
+    private final SpendingRollupRepository spendingRollupRepository;
+
+    private final ExpensesRepository expensesRepository;
+
+    private final TransactionTemplate newTransactionTemplate;
+
+    public SpendingRollupService(
+        SpendingRollupRepository spendingRollupRepository,
+        ExpensesRepository expensesRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.spendingRollupRepository = spendingRollupRepository;
+        this.expensesRepository = expensesRepository;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Compute the rollup contribution of some expenses as currently stored.
+     *
+     * @param expenseIds the ids of the expenses, {@code null} ids are ignored.
+     * @return the contribution of the expenses.
+     */
+    @Transactional(readOnly = true)
+    public Contribution contributionOf(Collection<Long> expenseIds) {
+        List<Long> ids = expenseIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Contribution.EMPTY;
+        }
+        Map<RollupKey, Total> totals = new HashMap<>();
+        for (Object[] row : expensesRepository.findRollupRowsByIdIn(ids)) {
+            addRow(totals, row);
+        }
+        return new Contribution(totals);
+    }
+
+    /**
+     * Apply the difference between two contributions to the affected rollup rows, locked in key order.
+     *
+     * @param before the contribution of the expenses before the write.
+     * @param after the contribution of the expenses after the write.
+     */
+    public void apply(Contribution before, Contribution after) {
+        Map<RollupKey, Total> deltas = after.minus(before);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        log.debug("Applying spending rollup deltas : {}", deltas);
+        deltas.forEach((key, delta) -> {
+            SpendingRollup rollup = lock(key);
+            rollup.setTotalAmount(rollup.getTotalAmount().add(delta.amount));
+            rollup.setExpenseCount(rollup.getExpenseCount() + delta.count);
+        });
+    }
+
+    /**
+     * Recompute every rollup row from the expenses.
+     * <p>
+     * This is scheduled with the {@code application.spending-rollup.reconcile-cron} expression, nightly by default.
+     *
+     * @return the number of rows inserted, updated or deleted.
+     */
+    @Scheduled(cron = "${application.spending-rollup.reconcile-cron:-}")
+    public int reconcile() {
+        log.info("Reconciling the spending rollups");
+        // the rows are locked before the expenses are read, so that the delta of a concurrent write is either read
+        // with the expenses or applied on top of the corrected row
+        List<SpendingRollup> rollups = spendingRollupRepository.findAllForUpdate();
+        Map<RollupKey, Total> expected = new TreeMap<>();
+        try (Stream<Object[]> rows = expensesRepository.streamRollupRows()) {
+            rows.forEach(row -> addRow(expected, row));
+        }
+
+        int corrected = 0;
+        for (SpendingRollup rollup : rollups) {
+            Total total = expected.remove(RollupKey.of(rollup));
+            if (total == null) {
+                spendingRollupRepository.delete(rollup);
+                corrected++;
+            } else if (total.amount.compareTo(rollup.getTotalAmount()) != 0 || total.count != rollup.getExpenseCount()) {
+                rollup.setTotalAmount(total.amount);
+                rollup.setExpenseCount(total.count);
+                corrected++;
+            }
+        }
+        for (Map.Entry<RollupKey, Total> missing : expected.entrySet()) {
+            SpendingRollup rollup = lock(missing.getKey());
+            rollup.setTotalAmount(missing.getValue().amount);
+            rollup.setExpenseCount(missing.getValue().count);
+            corrected++;
+        }
+        log.info("Reconciled the spending rollups, {} rows corrected", corrected);
+        return corrected;
+    }
+
+    /**
+     * Slice the expense totals of a range of months by a dimension, read from the rollups in one indexed query.
+     *
+     * @param from a day of the first month, included.
+     * @param to a day of the last month, included.
+     * @param groupId the group to restrict to, {@link SpendingRollup#NONE} for expenses without group, or {@code null}.
+     * @param activityId the activity to restrict to, {@link SpendingRollup#NONE} for expenses without activity, or
+     * {@code null}.
+     * @param currency the currency to restrict to, empty for expenses without currency, or {@code null}.
+     * @param by the dimension to slice by.
+     * @return the slices holding expenses, in dimension order.
+     */
+    @Transactional(readOnly = true)
+    public List<SpendingSliceDTO> findSlices(
+        LocalDate from,
+        LocalDate to,
+        Long groupId,
+        Long activityId,
+        String currency,
+        SpendingDimension by
+    ) {
+        log.debug("Request to get the spending from {} to {} by {}", from, to, by);
+        Specification<SpendingRollup> specification = (root, query, cb) ->
+            cb.between(root.get(SpendingRollup_.month), monthOf(from), monthOf(to));
+        if (groupId != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get(SpendingRollup_.groupId), groupId));
+        }
+        if (activityId != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get(SpendingRollup_.activityId), activityId));
+        }
+        if (currency != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get(SpendingRollup_.currency), currency));
+        }
+
+        Map<Object, Total> slices = new HashMap<>();
+        for (SpendingRollup rollup : spendingRollupRepository.findAll(specification)) {
+            if (rollup.getExpenseCount() == 0 && rollup.getTotalAmount().signum() == 0) {
+                continue;
+            }
+            slices.merge(sliceKey(rollup, by), new Total(rollup.getTotalAmount(), rollup.getExpenseCount()), Total::plus);
+        }
+        List<SpendingSliceDTO> result = new ArrayList<>(slices.size());
+        slices.forEach((key, total) -> result.add(toSlice(key, total, by)));
+        result.sort(sliceOrder(by));
+        return result;
+    }
+
+    /**
+     * Lock the rollup row of a key, inserting it empty first if it does not exist yet.
+     */
+    private SpendingRollup lock(RollupKey key) {
+        Optional<SpendingRollup> rollup = findForUpdate(key);
+        if (rollup.isPresent()) {
+            return rollup.get();
+        }
+        try {
+            newTransactionTemplate.executeWithoutResult(status ->
+                spendingRollupRepository.saveAndFlush(key.newRollup().totalAmount(BigDecimal.ZERO).expenseCount(0L))
+            );
+        } catch (DataIntegrityViolationException e) {
+            log.debug("The spending rollup {} was inserted by a concurrent write", key);
+        }
+        return findForUpdate(key).orElseThrow(() -> new IllegalStateException("Missing spending rollup " + key));
+    }
+
+    private Optional<SpendingRollup> findForUpdate(RollupKey key) {
+        return spendingRollupRepository.findForUpdate(key.month, key.groupId, key.activityId, key.currency);
+    }
+
+    private static Object sliceKey(SpendingRollup rollup, SpendingDimension by) {
+        switch (by) {
+            case MONTH:
+                return rollup.getMonth();
+            case GROUP:
+                return rollup.getGroupId();
+            case ACTIVITY:
+                return rollup.getActivityId();
+            default:
+                return rollup.getCurrency();
+        }
+    }
+
+    private static SpendingSliceDTO toSlice(Object key, Total total, SpendingDimension by) {
+        switch (by) {
+            case MONTH:
+                return new SpendingSliceDTO((LocalDate) key, null, null, null, total.amount, total.count);
+            case GROUP:
+                return new SpendingSliceDTO(null, orNull((Long) key), null, null, total.amount, total.count);
+            case ACTIVITY:
+                return new SpendingSliceDTO(null, null, orNull((Long) key), null, total.amount, total.count);
+            default:
+                String sliceCurrency = (String) key;
+                return new SpendingSliceDTO(null, null, null, sliceCurrency.isEmpty() ? null : sliceCurrency, total.amount, total.count);
+        }
+    }
+
+    private static Comparator<SpendingSliceDTO> sliceOrder(SpendingDimension by) {
+        switch (by) {
+            case MONTH:
+                return Comparator.comparing(SpendingSliceDTO::getMonth);
+            case GROUP:
+                return Comparator.comparing(SpendingSliceDTO::getGroupId, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case ACTIVITY:
+                return Comparator.comparing(SpendingSliceDTO::getActivityId, Comparator.nullsFirst(Comparator.naturalOrder()));
+            default:
+                return Comparator.comparing(SpendingSliceDTO::getCurrency, Comparator.nullsFirst(Comparator.naturalOrder()));
+        }
+    }
+
+    private static Long orNull(Long id) {
+        return SpendingRollup.NONE.equals(id) ? null : id;
+    }
+
+    private static LocalDate monthOf(LocalDate day) {
+        return day.withDayOfMonth(1);
+    }
+
+    /**
+     * Add a {@code [dateAdded, groupId, activityId, cryptoCurrency, amount]} expense row to totals.
+     */
+    private static void addRow(Map<RollupKey, Total> totals, Object[] row) {
+        LocalDate dateAdded = (LocalDate) row[0];
+        if (dateAdded == null) {
+            return;
+        }
+        RollupKey key = new RollupKey(
+            monthOf(dateAdded),
+            row[1] == null ? SpendingRollup.NONE : (Long) row[1],
+            row[2] == null ? SpendingRollup.NONE : (Long) row[2],
+            row[3] == null ? "" : (String) row[3]
+        );
+        totals.merge(key, new Total(row[4] == null ? BigDecimal.ZERO : (BigDecimal) row[4], 1), Total::plus);
+    }
+
+    /**
+     * The rollup contribution of some expenses, per (month, group, activity, currency) key.
+     */
+    public static final class Contribution {
+
+        public static final Contribution EMPTY = new Contribution(Collections.emptyMap());
+
+        private final Map<RollupKey, Total> totals;
+
+        private Contribution(Map<RollupKey, Total> totals) {
+            this.totals = totals;
+        }
+
+        /**
+         * Compute the non-zero changes from another contribution to this one, in key order.
+         */
+        Map<RollupKey, Total> minus(Contribution before) {
+            Map<RollupKey, Total> deltas = new TreeMap<>(totals);
+            before.totals.forEach((key, total) -> deltas.merge(key, total.negate(), Total::plus));
+            deltas.values().removeIf(Total::isZero);
+            return deltas;
+        }
+
+        @Override
+        public String toString() {
+            return totals.toString();
+        }
+    }
+
+    static final class RollupKey implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator
+            .comparing((RollupKey key) -> key.month)
+            .thenComparing(key -> key.groupId)
+            .thenComparing(key -> key.activityId)
+            .thenComparing(key -> key.currency);
+
+        final LocalDate month;
+
+        final Long groupId;
+
+        final Long activityId;
+
+        final String currency;
+
+        RollupKey(LocalDate month, Long groupId, Long activityId, String currency) {
+            this.month = month;
+            this.groupId = groupId;
+            this.activityId = activityId;
+            this.currency = currency;
+        }
+
+        static RollupKey of(SpendingRollup rollup) {
+            return new RollupKey(rollup.getMonth(), rollup.getGroupId(), rollup.getActivityId(), rollup.getCurrency());
+        }
+
+        SpendingRollup newRollup() {
+            return new SpendingRollup().month(month).groupId(groupId).activityId(activityId).currency(currency);
+        }
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RollupKey)) {
+                return false;
+            }
+            RollupKey other = (RollupKey) o;
+            return (
+                month.equals(other.month) &&
+                groupId.equals(other.groupId) &&
+                activityId.equals(other.activityId) &&
+                currency.equals(other.currency)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(month, groupId, activityId, currency);
+        }
+
+        @Override
+        public String toString() {
+            return "{month=" + month + ", groupId=" + groupId + ", activityId=" + activityId + ", currency='" + currency + "'}";
+        }
+    }
+
+    static final class Total {
+
+        final BigDecimal amount;
+
+        final long count;
+
+        Total(BigDecimal amount, long count) {
+            this.amount = amount;
+            this.count = count;
+        }
+
+        Total plus(Total other) {
+            return new Total(amount.add(other.amount), count + other.count);
+        }
+
+        Total negate() {
+            return new Total(amount.negate(), -count);
+        }
+
+        boolean isZero() {
+            return amount.signum() == 0 && count == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "{amount=" + amount + ", count=" + count + "}";
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.qualize.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.service.dto.CryptoRateDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link RateFeedSource} reading a JSON array of rates from {@code application.rate-feed.url}, which may be an
+ * {@code http(s):}, {@code file:} or {@code classpath:} URL.
+ */
+@Component
+public class UrlRateFeedSource implements RateFeedSource {
+
+    private static final TypeReference<List<CryptoRateDTO>> RATES = new TypeReference<>() {};
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ResourceLoader resourceLoader;
+
+    private final ObjectMapper objectMapper;
+
+    public UrlRateFeedSource(ApplicationProperties applicationProperties, ResourceLoader resourceLoader, ObjectMapper objectMapper) {
+        this.applicationProperties = applicationProperties;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<CryptoRateDTO> fetchRates() throws IOException {
+        String url = applicationProperties.getRateFeed().getUrl();
+        if (url == null || url.isEmpty()) {
+            throw new IOException("No rate feed configured, set application.rate-feed.url");
+        }
+        try (InputStream inputStream = resourceLoader.getResource(url).getInputStream()) {
+            return objectMapper.readValue(inputStream, RATES);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.qualize.api.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of one item of a bulk request, numbered from 0 in request order. The status is the
+ * one the single item endpoint would have answered, either the success of an applied item or the rejection of an item
+ * failing the checks made before the writes, and the message explains a rejected item.
+ */
+public final class BulkItemResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+
+    private final Long id;
+
+    private final int status;
+
+    private final String message;
+
+    public BulkItemResultDTO(int index, Long id, int status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + index +
+            ", id=" + id +
+            ", status=" + status +
+            ", message='" + message + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,78 @@
+package com.qualize.api.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A DTO representing the open, high, low and close rates of a crypto currency over a bucket of days. Instances are
+ * immutable, so that they can be shared by the readers of a cached series.
+ */
+public final class CryptoRateBucketDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LocalDate start;
+
+    private final BigDecimal open;
+
+    private final BigDecimal high;
+
+    private final BigDecimal low;
+
+    private final BigDecimal close;
+
+    private final int samples;
+
+    public CryptoRateBucketDTO(LocalDate start, BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close, int samples) {
+        this.start = start;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.samples = samples;
+    }
+
+    /**
+     * The first day of the bucket.
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public BigDecimal getOpen() {
+        return open;
+    }
+
+    public BigDecimal getHigh() {
+        return high;
+    }
+
+    public BigDecimal getLow() {
+        return low;
+    }
+
+    public BigDecimal getClose() {
+        return close;
+    }
+
+    /**
+     * The number of rates of the bucket.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CryptoRateBucketDTO{" +
+            "start='" + start + "'" +
+            ", open=" + open +
+            ", high=" + high +
+            ", low=" + low +
+            ", close=" + close +
+            ", samples=" + samples +
+            "}";
+    }
+}
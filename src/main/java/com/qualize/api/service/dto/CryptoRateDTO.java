@@ -0,0 +1,77 @@
+package com.qualize.api.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A DTO representing the rate of a crypto currency on a given day, as published by a rate feed. Instances are
+ * immutable, so that they can be shared by the readers of the latest rates.
+ */
+public final class CryptoRateDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String currency;
+
+    private final BigDecimal value;
+
+    private final LocalDate feedDateTime;
+
+    @JsonCreator
+    public CryptoRateDTO(
+        @JsonProperty("currency") String currency,
+        @JsonProperty("value") BigDecimal value,
+        @JsonProperty("feedDateTime") LocalDate feedDateTime
+    ) {
+        this.currency = currency;
+        this.value = value;
+        this.feedDateTime = feedDateTime;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public LocalDate getFeedDateTime() {
+        return feedDateTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CryptoRateDTO)) {
+            return false;
+        }
+        CryptoRateDTO other = (CryptoRateDTO) o;
+        return (
+            Objects.equals(currency, other.currency) &&
+            (value == null ? other.value == null : other.value != null && value.compareTo(other.value) == 0) &&
+            Objects.equals(feedDateTime, other.feedDateTime)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(currency, feedDateTime);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CryptoRateDTO{" +
+            "currency='" + currency + "'" +
+            ", value=" + value +
+            ", feedDateTime='" + feedDateTime + "'" +
+            "}";
+    }
+}
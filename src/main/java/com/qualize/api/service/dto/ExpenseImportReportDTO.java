@@ -0,0 +1,121 @@
+package com.qualize.api.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of an expense import. Only the first rejected rows are detailed in {@code errors}, so
+ * that the report stays small whatever the size of the import.
+ */
+public class ExpenseImportReportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long rows;
+
+    private long imported;
+
+    private long failed;
+
+    private boolean errorsTruncated;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ExpenseImportReportDTO{" +
+            "rows=" + rows +
+            ", imported=" + imported +
+            ", failed=" + failed +
+            ", errorsTruncated=" + errorsTruncated +
+            "}";
+    }
+
+    /**
+     * A rejected row, numbered from 1 in the order of the import, header excluded.
+     */
+    public static class RowError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private long row;
+
+        private String message;
+
+        public RowError() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public void setRow(long row) {
+            this.row = row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "RowError{" +
+                "row=" + row +
+                ", message='" + message + "'" +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.qualize.api.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A DTO representing the balance of one friend's account on the dashboard.
+ */
+public final class FriendBalanceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long accountId;
+
+    private final String friendName;
+
+    private final BigDecimal amountYouOwe;
+
+    private final BigDecimal amountFriendOwes;
+
+    private final BigDecimal netReceivablePayable;
+
+    private final String cryptoCurrency;
+
+    private final BigDecimal cryptoReceivablePayable;
+
+    public FriendBalanceDTO(
+        Long accountId,
+        String friendName,
+        BigDecimal amountYouOwe,
+        BigDecimal amountFriendOwes,
+        BigDecimal netReceivablePayable,
+        String cryptoCurrency,
+        BigDecimal cryptoReceivablePayable
+    ) {
+        this.accountId = accountId;
+        this.friendName = friendName;
+        this.amountYouOwe = amountYouOwe;
+        this.amountFriendOwes = amountFriendOwes;
+        this.netReceivablePayable = netReceivablePayable;
+        this.cryptoCurrency = cryptoCurrency;
+        this.cryptoReceivablePayable = cryptoReceivablePayable;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * The name of the first friend linked to the account, {@code null} if none is.
+     */
+    public String getFriendName() {
+        return friendName;
+    }
+
+    public BigDecimal getAmountYouOwe() {
+        return amountYouOwe;
+    }
+
+    public BigDecimal getAmountFriendOwes() {
+        return amountFriendOwes;
+    }
+
+    public BigDecimal getNetReceivablePayable() {
+        return netReceivablePayable;
+    }
+
+    public String getCryptoCurrency() {
+        return cryptoCurrency;
+    }
+
+    public BigDecimal getCryptoReceivablePayable() {
+        return cryptoReceivablePayable;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FriendBalanceDTO{" +
+            "accountId=" + accountId +
+            ", friendName='" + friendName + "'" +
+            ", amountYouOwe=" + amountYouOwe +
+            ", amountFriendOwes=" + amountFriendOwes +
+            ", netReceivablePayable=" + netReceivablePayable +
+            ", cryptoCurrency='" + cryptoCurrency + "'" +
+            ", cryptoReceivablePayable=" + cryptoReceivablePayable +
+            "}";
+    }
+}
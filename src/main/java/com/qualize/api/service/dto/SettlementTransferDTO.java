@@ -0,0 +1,86 @@
+package com.qualize.api.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A DTO representing one transfer of a settlement plan. A {@code null} friend id stands for the current user.
+ */
+public class SettlementTransferDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long fromFriendId;
+
+    private String fromFriendName;
+
+    private Long toFriendId;
+
+    private String toFriendName;
+
+    private BigDecimal amount;
+
+    public SettlementTransferDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SettlementTransferDTO(Long fromFriendId, String fromFriendName, Long toFriendId, String toFriendName, BigDecimal amount) {
+        this.fromFriendId = fromFriendId;
+        this.fromFriendName = fromFriendName;
+        this.toFriendId = toFriendId;
+        this.toFriendName = toFriendName;
+        this.amount = amount;
+    }
+
+    public Long getFromFriendId() {
+        return fromFriendId;
+    }
+
+    public void setFromFriendId(Long fromFriendId) {
+        this.fromFriendId = fromFriendId;
+    }
+
+    public String getFromFriendName() {
+        return fromFriendName;
+    }
+
+    public void setFromFriendName(String fromFriendName) {
+        this.fromFriendName = fromFriendName;
+    }
+
+    public Long getToFriendId() {
+        return toFriendId;
+    }
+
+    public void setToFriendId(Long toFriendId) {
+        this.toFriendId = toFriendId;
+    }
+
+    public String getToFriendName() {
+        return toFriendName;
+    }
+
+    public void setToFriendName(String toFriendName) {
+        this.toFriendName = toFriendName;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SettlementTransferDTO{" +
+            "fromFriendId=" + fromFriendId +
+            ", fromFriendName='" + fromFriendName + "'" +
+            ", toFriendId=" + toFriendId +
+            ", toFriendName='" + toFriendName + "'" +
+            ", amount=" + amount +
+            "}";
+    }
+}
@@ -0,0 +1,75 @@
+package com.qualize.api.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A DTO representing the expense total of one value of the dimension a spending drill-down is sliced by. Only the
+ * field of that dimension is set, {@code null} standing for expenses without group, activity or currency.
+ */
+public final class SpendingSliceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LocalDate month;
+
+    private final Long groupId;
+
+    private final Long activityId;
+
+    private final String currency;
+
+    private final BigDecimal totalAmount;
+
+    private final long expenseCount;
+
+    public SpendingSliceDTO(LocalDate month, Long groupId, Long activityId, String currency, BigDecimal totalAmount, long expenseCount) {
+        this.month = month;
+        this.groupId = groupId;
+        this.activityId = activityId;
+        this.currency = currency;
+        this.totalAmount = totalAmount;
+        this.expenseCount = expenseCount;
+    }
+
+    /**
+     * The first day of the month.
+     */
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public Long getActivityId() {
+        return activityId;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public long getExpenseCount() {
+        return expenseCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SpendingSliceDTO{" +
+            "month='" + month + "'" +
+            ", groupId=" + groupId +
+            ", activityId=" + activityId +
+            ", currency='" + currency + "'" +
+            ", totalAmount=" + totalAmount +
+            ", expenseCount=" + expenseCount +
+            "}";
+    }
+}
@@ -1,19 +1,30 @@
 package com.qualize.api.web.rest;
 
 import com.qualize.api.domain.Accounts;
-import com.qualize.api.repository.AccountsRepository;
+import com.qualize.api.domain.Accounts_;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.management.SqlBudget;
+import com.qualize.api.repository.AccountSummary;
 import com.qualize.api.service.AccountsService;
+import com.qualize.api.service.BulkService;
+import com.qualize.api.service.RowFormat;
+import com.qualize.api.service.dto.BulkItemResultDTO;
 import com.qualize.api.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +43,8 @@ public class AccountsResource {
 
     private final Logger log = LoggerFactory.getLogger(AccountsResource.class);
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of(Accounts_.ID, Accounts_.SORT_ORDER);
+
     private static final String ENTITY_NAME = "accounts";
 
     @Value("${jhipster.clientApp.name}")
@@ -39,11 +52,11 @@ public class AccountsResource {
 
     private final AccountsService accountsService;
 
-    private final AccountsRepository accountsRepository;
+    private final BulkService bulkService;
 
-    public AccountsResource(AccountsService accountsService, AccountsRepository accountsRepository) {
+    public AccountsResource(AccountsService accountsService, BulkService bulkService) {
         this.accountsService = accountsService;
-        this.accountsRepository = accountsRepository;
+        this.bulkService = bulkService;
     }
 
     /**
@@ -72,7 +85,8 @@ public class AccountsResource {
      * @param id the id of the accounts to save.
      * @param accounts the accounts to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated accounts,
-     * or with status {@code 400 (Bad Request)} if the accounts is not valid,
+     * or with status {@code 400 (Bad Request)} if the accounts is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the accounts was updated since the version it carries,
      * or with status {@code 500 (Internal Server Error)} if the accounts couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -89,11 +103,9 @@ public class AccountsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!accountsRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Accounts result = accountsService.update(accounts);
+        Accounts result = accountsService
+            .update(accounts)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, accounts.getId().toString()))
@@ -106,8 +118,7 @@ public class AccountsResource {
      * @param id the id of the accounts to save.
      * @param accounts the accounts to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated accounts,
-     * or with status {@code 400 (Bad Request)} if the accounts is not valid,
-     * or with status {@code 404 (Not Found)} if the accounts is not found,
+     * or with status {@code 400 (Bad Request)} if the accounts is not valid or not found, as on {@code PUT},
      * or with status {@code 500 (Internal Server Error)} if the accounts couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -124,32 +135,143 @@ public class AccountsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!accountsRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Accounts result = accountsService
+            .partialUpdate(accounts)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, accounts.getId().toString()))
+            .body(result);
+    }
 
-        Optional<Accounts> result = accountsService.partialUpdate(accounts);
+    /**
+     * {@code POST  /accounts/bulk} : Create several accounts in one transaction.
+     *
+     * @param accounts the accounts to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each accounts, in request order.
+     */
+    @PostMapping("/accounts/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createAccountsInBulk(@RequestBody List<Accounts> accounts) {
+        log.debug("REST request to save {} Accounts in bulk", accounts.size());
+        return ResponseEntity.ok(bulkService.createAll(accounts, Accounts::getId, accountsService::save));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, accounts.getId().toString())
-        );
+    /**
+     * {@code PATCH  /accounts/bulk} : Partial updates given fields of several existing accounts in one transaction.
+     *
+     * @param accounts the accounts to update, each with its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each accounts, in request order.
+     */
+    @PatchMapping(value = "/accounts/bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateAccountsInBulk(@RequestBody List<Accounts> accounts) {
+        log.debug("REST request to partial update {} Accounts in bulk", accounts.size());
+        return ResponseEntity.ok(bulkService.partialUpdateAll(Accounts.class, accounts, Accounts::getId, accountsService::partialUpdate));
+    }
+
+    /**
+     * {@code DELETE  /accounts/bulk?ids=...} : delete several accounts in one transaction.
+     *
+     * @param ids the ids of the accounts to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id, in request order.
+     */
+    @DeleteMapping("/accounts/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> deleteAccountsInBulk(@RequestParam List<Long> ids) {
+        log.debug("REST request to delete {} Accounts in bulk", ids.size());
+        return ResponseEntity.ok(bulkService.deleteAll(Accounts.class, ids, accountsService::delete));
     }
 
     /**
      * {@code GET  /accounts} : get all the accounts.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor of the page, empty for the first page, or absent for offset pagination.
+     * @param include {@code friendNames} to read the friends of the accounts too.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of accounts in body.
      */
-    @GetMapping("/accounts")
-    public ResponseEntity<List<Accounts>> getAllAccounts(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    @GetMapping(value = "/accounts", params = "!view")
+    @SqlBudget(3)
+    public ResponseEntity<List<Accounts>> getAllAccounts(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER, required = false) String after,
+        @RequestParam(name = IncludeUtil.INCLUDE, required = false) List<String> include
+    ) {
+        boolean withFriendNames = IncludeUtil.includes(include, Accounts_.FRIEND_NAMES, ENTITY_NAME);
+        if (after != null) {
+            log.debug("REST request to get Accounts after a cursor");
+            return KeysetPaginationUtil.keysetPage(
+                after,
+                pageable,
+                KEYSET_PROPERTIES,
+                ENTITY_NAME,
+                (cursor, size) -> accountsService.findAllAfter(cursor, size, withFriendNames),
+                ServletUriComponentsBuilder.fromCurrentRequest()
+            );
+        }
         log.debug("REST request to get a page of Accounts");
-        Page<Accounts> page = accountsService.findAll(pageable);
+        Page<Accounts> page = accountsService.findAll(pageable, withFriendNames);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /accounts?view=summary} : get the summaries of all the accounts, read as plain columns rather than as
+     * entities. Not supported with a keyset cursor.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of summaries in body.
+     */
+    @GetMapping(value = "/accounts", params = "view=summary")
+    @SqlBudget(2)
+    public ResponseEntity<List<AccountSummary>> getAllAccountSummaries(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to get a page of Accounts summaries");
+        Page<AccountSummary> page = accountsService.findAllSummaries(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /accounts?fields=...} : get all the accounts with only some of their fields. The fields are read as
+     * plain columns when they are all in the summary, and from the entities otherwise.
+     *
+     * @param pageable the pagination information.
+     * @param fields the fields to write.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of accounts in body, or with status
+     * {@code 400 (Bad Request)} if a field is not a property of the accounts.
+     */
+    @GetMapping(value = "/accounts", params = { SparseFieldsets.FIELDS, "!view", "!after", "!include" })
+    public ResponseEntity<? extends List<?>> getAllAccountsFields(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = SparseFieldsets.FIELDS) List<String> fields
+    ) {
+        SparseFieldsets.checkFields(fields, Accounts.class);
+        if (SparseFieldsets.within(fields, AccountSummary.class)) {
+            return getAllAccountSummaries(pageable);
+        }
+        return getAllAccounts(pageable, null, null);
+    }
+
+    /**
+     * {@code GET  /accounts/export} : export all the accounts, written to the response as they are read from the database.
+     *
+     * @param format the format of the export, {@code ndjson} (default) or {@code csv}.
+     * @param response the response to write to.
+     * @throws IOException if the export cannot be written.
+     */
+    @GetMapping("/accounts/export")
+    public void exportAccounts(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Accounts as {}", format);
+        RowFormat rowFormat = RowFormat
+            .of(format)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "exportformat"));
+        response.setContentType(rowFormat.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(ENTITY_NAME + "." + rowFormat.getExtension()).build().toString()
+        );
+        accountsService.exportAll(rowFormat, response.getOutputStream());
+    }
+
     /**
      * {@code GET  /accounts/:id} : get the "id" accounts.
      *
@@ -157,12 +279,26 @@ public class AccountsResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the accounts, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/accounts/{id}")
+    @SqlBudget(1)
     public ResponseEntity<Accounts> getAccounts(@PathVariable Long id) {
         log.debug("REST request to get Accounts : {}", id);
         Optional<Accounts> accounts = accountsService.findOne(id);
         return ResponseUtil.wrapOrNotFound(accounts);
     }
 
+    /**
+     * {@code GET  /accounts/:id/friends} : get the friends of the "id" accounts.
+     *
+     * @param id the id of the accounts.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of friends in body.
+     */
+    @GetMapping("/accounts/{id}/friends")
+    @SqlBudget(1)
+    public ResponseEntity<List<Friends>> getAccountsFriends(@PathVariable Long id) {
+        log.debug("REST request to get the Friends of Accounts : {}", id);
+        return ResponseEntity.ok(accountsService.findFriends(id));
+    }
+
     /**
      * {@code DELETE  /accounts/:id} : delete the "id" accounts.
      *
@@ -1,14 +1,19 @@
 package com.qualize.api.web.rest;
 
 import com.qualize.api.domain.Activities;
+import com.qualize.api.domain.Activities_;
+import com.qualize.api.management.SqlBudget;
 import com.qualize.api.repository.ActivitiesRepository;
 import com.qualize.api.service.ActivitiesService;
+import com.qualize.api.service.BulkService;
+import com.qualize.api.service.dto.BulkItemResultDTO;
 import com.qualize.api.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -34,6 +39,8 @@ public class ActivitiesResource {
 
     private final Logger log = LoggerFactory.getLogger(ActivitiesResource.class);
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of(Activities_.ID, Activities_.SORT_ORDER);
+
     private static final String ENTITY_NAME = "activities";
 
     @Value("${jhipster.clientApp.name}")
@@ -43,9 +50,12 @@ public class ActivitiesResource {
 
     private final ActivitiesRepository activitiesRepository;
 
-    public ActivitiesResource(ActivitiesService activitiesService, ActivitiesRepository activitiesRepository) {
+    private final BulkService bulkService;
+
+    public ActivitiesResource(ActivitiesService activitiesService, ActivitiesRepository activitiesRepository, BulkService bulkService) {
         this.activitiesService = activitiesService;
         this.activitiesRepository = activitiesRepository;
+        this.bulkService = bulkService;
     }
 
     /**
@@ -108,8 +118,7 @@ public class ActivitiesResource {
      * @param id the id of the activities to save.
      * @param activities the activities to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated activities,
-     * or with status {@code 400 (Bad Request)} if the activities is not valid,
-     * or with status {@code 404 (Not Found)} if the activities is not found,
+     * or with status {@code 400 (Bad Request)} if the activities is not valid or not found, as on {@code PUT},
      * or with status {@code 500 (Internal Server Error)} if the activities couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -126,26 +135,77 @@ public class ActivitiesResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!activitiesRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Activities result = activitiesService
+            .partialUpdate(activities)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, activities.getId().toString()))
+            .body(result);
+    }
 
-        Optional<Activities> result = activitiesService.partialUpdate(activities);
+    /**
+     * {@code POST  /activities/bulk} : Create several activities in one transaction.
+     *
+     * @param activities the activities to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each activities, in request order.
+     */
+    @PostMapping("/activities/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createActivitiesInBulk(@RequestBody List<Activities> activities) {
+        log.debug("REST request to save {} Activities in bulk", activities.size());
+        return ResponseEntity.ok(bulkService.createAll(activities, Activities::getId, activitiesService::save));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, activities.getId().toString())
+    /**
+     * {@code PATCH  /activities/bulk} : Partial updates given fields of several existing activities in one transaction.
+     *
+     * @param activities the activities to update, each with its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each activities, in request order.
+     */
+    @PatchMapping(value = "/activities/bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateActivitiesInBulk(@RequestBody List<Activities> activities) {
+        log.debug("REST request to partial update {} Activities in bulk", activities.size());
+        return ResponseEntity.ok(
+            bulkService.partialUpdateAll(Activities.class, activities, Activities::getId, activitiesService::partialUpdate)
         );
     }
 
+    /**
+     * {@code DELETE  /activities/bulk?ids=...} : delete several activities in one transaction.
+     *
+     * @param ids the ids of the activities to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id, in request order.
+     */
+    @DeleteMapping("/activities/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> deleteActivitiesInBulk(@RequestParam List<Long> ids) {
+        log.debug("REST request to delete {} Activities in bulk", ids.size());
+        return ResponseEntity.ok(bulkService.deleteAll(Activities.class, ids, activitiesService::delete));
+    }
+
     /**
      * {@code GET  /activities} : get all the activities.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor of the page, empty for the first page, or absent for offset pagination.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of activities in body.
      */
     @GetMapping("/activities")
-    public ResponseEntity<List<Activities>> getAllActivities(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    @SqlBudget(2)
+    public ResponseEntity<List<Activities>> getAllActivities(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER, required = false) String after
+    ) {
+        if (after != null) {
+            log.debug("REST request to get Activities after a cursor");
+            return KeysetPaginationUtil.keysetPage(
+                after,
+                pageable,
+                KEYSET_PROPERTIES,
+                ENTITY_NAME,
+                activitiesService::findAllAfter,
+                ServletUriComponentsBuilder.fromCurrentRequest()
+            );
+        }
         log.debug("REST request to get a page of Activities");
         Page<Activities> page = activitiesService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
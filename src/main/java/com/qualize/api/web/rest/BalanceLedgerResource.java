@@ -0,0 +1,38 @@
+package com.qualize.api.web.rest;
+
+import com.qualize.api.security.AuthoritiesConstants;
+import com.qualize.api.service.BalanceLedgerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for managing the balance ledger of {@link com.qualize.api.domain.Accounts}.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class BalanceLedgerResource {
+
+    private final Logger log = LoggerFactory.getLogger(BalanceLedgerResource.class);
+
+    private final BalanceLedgerService balanceLedgerService;
+
+    public BalanceLedgerResource(BalanceLedgerService balanceLedgerService) {
+        this.balanceLedgerService = balanceLedgerService;
+    }
+
+    /**
+     * {@code POST  /admin/ledger/rebuild} : Recompute every account balance from the expenses and settlements.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @PostMapping("/ledger/rebuild")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> rebuildLedger() {
+        log.debug("REST request to rebuild the balance ledger");
+        balanceLedgerService.rebuildAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,14 +1,24 @@
 package com.qualize.api.web.rest;
 
 import com.qualize.api.domain.CryptoTracker;
+import com.qualize.api.domain.CryptoTracker_;
+import com.qualize.api.management.SqlBudget;
 import com.qualize.api.repository.CryptoTrackerRepository;
+import com.qualize.api.service.BulkService;
+import com.qualize.api.service.CryptoRateSeriesService;
 import com.qualize.api.service.CryptoTrackerService;
+import com.qualize.api.service.RateSeriesBucket;
+import com.qualize.api.service.dto.BulkItemResultDTO;
+import com.qualize.api.service.dto.CryptoRateBucketDTO;
 import com.qualize.api.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -34,6 +44,8 @@ public class CryptoTrackerResource {
 
     private final Logger log = LoggerFactory.getLogger(CryptoTrackerResource.class);
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of(CryptoTracker_.ID);
+
     private static final String ENTITY_NAME = "cryptoTracker";
 
     @Value("${jhipster.clientApp.name}")
@@ -43,9 +55,20 @@ public class CryptoTrackerResource {
 
     private final CryptoTrackerRepository cryptoTrackerRepository;
 
-    public CryptoTrackerResource(CryptoTrackerService cryptoTrackerService, CryptoTrackerRepository cryptoTrackerRepository) {
+    private final CryptoRateSeriesService cryptoRateSeriesService;
+
+    private final BulkService bulkService;
+
+    public CryptoTrackerResource(
+        CryptoTrackerService cryptoTrackerService,
+        CryptoTrackerRepository cryptoTrackerRepository,
+        CryptoRateSeriesService cryptoRateSeriesService,
+        BulkService bulkService
+    ) {
         this.cryptoTrackerService = cryptoTrackerService;
         this.cryptoTrackerRepository = cryptoTrackerRepository;
+        this.cryptoRateSeriesService = cryptoRateSeriesService;
+        this.bulkService = bulkService;
     }
 
     /**
@@ -108,8 +131,7 @@ public class CryptoTrackerResource {
      * @param id the id of the cryptoTracker to save.
      * @param cryptoTracker the cryptoTracker to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cryptoTracker,
-     * or with status {@code 400 (Bad Request)} if the cryptoTracker is not valid,
-     * or with status {@code 404 (Not Found)} if the cryptoTracker is not found,
+     * or with status {@code 400 (Bad Request)} if the cryptoTracker is not valid or not found, as on {@code PUT},
      * or with status {@code 500 (Internal Server Error)} if the cryptoTracker couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -126,32 +148,115 @@ public class CryptoTrackerResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!cryptoTrackerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        CryptoTracker result = cryptoTrackerService
+            .partialUpdate(cryptoTracker)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cryptoTracker.getId().toString()))
+            .body(result);
+    }
 
-        Optional<CryptoTracker> result = cryptoTrackerService.partialUpdate(cryptoTracker);
+    /**
+     * {@code POST  /crypto-trackers/bulk} : Create several cryptoTrackers in one transaction.
+     *
+     * @param cryptoTrackers the cryptoTrackers to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each cryptoTracker, in request order.
+     */
+    @PostMapping("/crypto-trackers/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createCryptoTrackerInBulk(@RequestBody List<CryptoTracker> cryptoTrackers) {
+        log.debug("REST request to save {} CryptoTracker in bulk", cryptoTrackers.size());
+        return ResponseEntity.ok(bulkService.createAll(cryptoTrackers, CryptoTracker::getId, cryptoTrackerService::save));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cryptoTracker.getId().toString())
+    /**
+     * {@code PATCH  /crypto-trackers/bulk} : Partial updates given fields of several existing cryptoTrackers in one transaction.
+     *
+     * @param cryptoTrackers the cryptoTrackers to update, each with its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each cryptoTracker, in request order.
+     */
+    @PatchMapping(value = "/crypto-trackers/bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateCryptoTrackerInBulk(@RequestBody List<CryptoTracker> cryptoTrackers) {
+        log.debug("REST request to partial update {} CryptoTracker in bulk", cryptoTrackers.size());
+        return ResponseEntity.ok(
+            bulkService.partialUpdateAll(CryptoTracker.class, cryptoTrackers, CryptoTracker::getId, cryptoTrackerService::partialUpdate)
         );
     }
 
+    /**
+     * {@code DELETE  /crypto-trackers/bulk?ids=...} : delete several cryptoTrackers in one transaction.
+     *
+     * @param ids the ids of the cryptoTrackers to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id, in request order.
+     */
+    @DeleteMapping("/crypto-trackers/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> deleteCryptoTrackerInBulk(@RequestParam List<Long> ids) {
+        log.debug("REST request to delete {} CryptoTracker in bulk", ids.size());
+        return ResponseEntity.ok(bulkService.deleteAll(CryptoTracker.class, ids, cryptoTrackerService::delete));
+    }
+
     /**
      * {@code GET  /crypto-trackers} : get all the cryptoTrackers.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor of the page, empty for the first page, or absent for offset pagination.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cryptoTrackers in body.
      */
     @GetMapping("/crypto-trackers")
-    public ResponseEntity<List<CryptoTracker>> getAllCryptoTrackers(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    @SqlBudget(2)
+    public ResponseEntity<List<CryptoTracker>> getAllCryptoTrackers(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER, required = false) String after
+    ) {
+        if (after != null) {
+            log.debug("REST request to get CryptoTrackers after a cursor");
+            return KeysetPaginationUtil.keysetPage(
+                after,
+                pageable,
+                KEYSET_PROPERTIES,
+                ENTITY_NAME,
+                cryptoTrackerService::findAllAfter,
+                ServletUriComponentsBuilder.fromCurrentRequest()
+            );
+        }
         log.debug("REST request to get a page of CryptoTrackers");
         Page<CryptoTracker> page = cryptoTrackerService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /crypto-trackers/:currency/series} : get the open, high, low and close rates of a currency per bucket.
+     *
+     * @param currency the currency.
+     * @param from the first day of the series, included, a year before {@code to} by default.
+     * @param to the last day of the series, included, today by default.
+     * @param bucket the width of the buckets, {@code day}, {@code week} or {@code month}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the buckets holding at least one rate in body,
+     * or with status {@code 400 (Bad Request)} if the bucket is unknown or {@code from} is after {@code to}.
+     */
+    @GetMapping("/crypto-trackers/{currency}/series")
+    public ResponseEntity<List<CryptoRateBucketDTO>> getCryptoRateSeries(
+        @PathVariable String currency,
+        @RequestParam(required = false) LocalDate from,
+        @RequestParam(required = false) LocalDate to,
+        @RequestParam(defaultValue = "day") String bucket
+    ) {
+        log.debug("REST request to get the {} series of {} from {} to {}", bucket, currency, from, to);
+        RateSeriesBucket rateSeriesBucket;
+        try {
+            rateSeriesBucket = RateSeriesBucket.valueOf(bucket.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown series bucket", ENTITY_NAME, "bucketinvalid");
+        }
+        LocalDate last = to == null ? LocalDate.now() : to;
+        LocalDate first = from == null ? last.minusYears(1) : from;
+        if (first.isAfter(last)) {
+            throw new BadRequestAlertException("The series cannot start after it ends", ENTITY_NAME, "rangeinvalid");
+        }
+        return ResponseEntity.ok(cryptoRateSeriesService.findSeries(currency, first, last, rateSeriesBucket));
+    }
+
     /**
      * {@code GET  /crypto-trackers/:id} : get the "id" cryptoTracker.
      *
@@ -0,0 +1,100 @@
+package com.qualize.api.web.rest;
+
+import com.qualize.api.domain.DashboardSummary;
+import com.qualize.api.management.SqlBudget;
+import com.qualize.api.service.DashboardService;
+import com.qualize.api.service.dto.FriendBalanceDTO;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for the dashboard totals and balances by friend.
+ * <p>
+ * Both views carry the revision of the {@link DashboardSummary} as their {@code ETag}, read before the view itself so
+ * that a view is never older than its tag: a request with a matching {@code If-None-Match} gets a {@code 304} after a
+ * single lookup.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardResource {
+
+    private final Logger log = LoggerFactory.getLogger(DashboardResource.class);
+
+    private final DashboardService dashboardService;
+
+    public DashboardResource(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * {@code GET  /dashboard/summary} : get the totals of the dashboard.
+     *
+     * @param webRequest the request, to check its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the summary in body, or with status
+     * {@code 304 (Not Modified)} if it did not change.
+     */
+    @GetMapping("/summary")
+    @SqlBudget(2)
+    public ResponseEntity<DashboardSummary> getSummary(WebRequest webRequest) {
+        log.debug("REST request to get the dashboard summary");
+        String eTag = eTagOf(dashboardService.getRevision());
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        Optional<DashboardSummary> summary = dashboardService.getSummary();
+        return ResponseUtil.wrapOrNotFound(summary, headers(eTag));
+    }
+
+    /**
+     * {@code GET  /dashboard/by-friend} : get the balances of the friends' accounts.
+     *
+     * @param pageable the pagination information.
+     * @param webRequest the request, to check its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of balances in body, or with status
+     * {@code 304 (Not Modified)} if none changed.
+     */
+    @GetMapping("/by-friend")
+    @SqlBudget(5)
+    public ResponseEntity<List<FriendBalanceDTO>> getByFriend(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        WebRequest webRequest
+    ) {
+        log.debug("REST request to get the dashboard balances by friend");
+        String eTag = eTagOf(dashboardService.getRevision());
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        Page<FriendBalanceDTO> page = dashboardService.getByFriend(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        headers.addAll(headers(eTag));
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    private static String eTagOf(long revision) {
+        return "\"" + revision + "\"";
+    }
+
+    private static HttpHeaders headers(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(CacheControl.noCache());
+        return headers;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers(eTag)).build();
+    }
+}
@@ -1,15 +1,28 @@
 package com.qualize.api.web.rest;
 
 import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Expenses_;
+import com.qualize.api.management.SqlBudget;
+import com.qualize.api.repository.ExpenseSummary;
 import com.qualize.api.repository.ExpensesRepository;
+import com.qualize.api.service.BulkService;
+import com.qualize.api.service.ExpensesImportService;
 import com.qualize.api.service.ExpensesService;
+import com.qualize.api.service.RowFormat;
+import com.qualize.api.service.dto.BulkItemResultDTO;
+import com.qualize.api.service.dto.ExpenseImportReportDTO;
 import com.qualize.api.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.StreamSupport;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -17,10 +30,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,6 +51,8 @@ public class ExpensesResource {
 
     private final Logger log = LoggerFactory.getLogger(ExpensesResource.class);
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of(Expenses_.ID, Expenses_.SORT_ORDER);
+
     private static final String ENTITY_NAME = "expenses";
 
     @Value("${jhipster.clientApp.name}")
@@ -44,9 +62,20 @@ public class ExpensesResource {
 
     private final ExpensesRepository expensesRepository;
 
-    public ExpensesResource(ExpensesService expensesService, ExpensesRepository expensesRepository) {
+    private final ExpensesImportService expensesImportService;
+
+    private final BulkService bulkService;
+
+    public ExpensesResource(
+        ExpensesService expensesService,
+        ExpensesRepository expensesRepository,
+        ExpensesImportService expensesImportService,
+        BulkService bulkService
+    ) {
         this.expensesService = expensesService;
         this.expensesRepository = expensesRepository;
+        this.expensesImportService = expensesImportService;
+        this.bulkService = bulkService;
     }
 
     /**
@@ -69,6 +98,45 @@ public class ExpensesResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /expenses/import} : Import expenses from an uploaded CSV or NDJSON file.
+     *
+     * @param file the file to import, its format being given by its content type or its extension.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report, or with status {@code 400 (Bad Request)} if the format is not supported.
+     * @throws IOException if the file cannot be read.
+     */
+    @PostMapping(value = "/expenses/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ExpenseImportReportDTO> importExpensesFile(@RequestPart("file") MultipartFile file) throws IOException {
+        log.debug("REST request to import Expenses from file : {}", file.getOriginalFilename());
+        RowFormat format = RowFormat
+            .of(file.getContentType())
+            .or(() -> RowFormat.of(StringUtils.getFilenameExtension(file.getOriginalFilename())))
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported import format", ENTITY_NAME, "importformat"));
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(expensesImportService.importExpenses(inputStream, format));
+        }
+    }
+
+    /**
+     * {@code POST  /expenses/import} : Import expenses from a CSV or NDJSON request body, read as it is received.
+     *
+     * @param contentType the format of the body, {@code text/csv} or {@code application/x-ndjson}.
+     * @param body the rows to import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/expenses/import", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<ExpenseImportReportDTO> importExpensesStream(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+        InputStream body
+    ) throws IOException {
+        log.debug("REST request to import Expenses from body : {}", contentType);
+        RowFormat format = RowFormat
+            .of(contentType.getSubtype())
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported import format", ENTITY_NAME, "importformat"));
+        return ResponseEntity.ok(expensesImportService.importExpenses(body, format));
+    }
+
     /**
      * {@code PUT  /expenses/:id} : Updates an existing expenses.
      *
@@ -109,8 +177,7 @@ public class ExpensesResource {
      * @param id the id of the expenses to save.
      * @param expenses the expenses to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated expenses,
-     * or with status {@code 400 (Bad Request)} if the expenses is not valid,
-     * or with status {@code 404 (Not Found)} if the expenses is not found,
+     * or with status {@code 400 (Bad Request)} if the expenses is not valid or not found, as on {@code PUT},
      * or with status {@code 500 (Internal Server Error)} if the expenses couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -127,16 +194,49 @@ public class ExpensesResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!expensesRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Expenses result = expensesService
+            .partialUpdate(expenses)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, expenses.getId().toString()))
+            .body(result);
+    }
 
-        Optional<Expenses> result = expensesService.partialUpdate(expenses);
+    /**
+     * {@code POST  /expenses/bulk} : Create several expenses in one transaction.
+     *
+     * @param expenses the expenses to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each expenses, in request order.
+     */
+    @PostMapping("/expenses/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createExpensesInBulk(@RequestBody List<Expenses> expenses) {
+        log.debug("REST request to save {} Expenses in bulk", expenses.size());
+        return ResponseEntity.ok(bulkService.createAll(expenses, Expenses::getId, expensesService::save));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, expenses.getId().toString())
-        );
+    /**
+     * {@code PATCH  /expenses/bulk} : Partial updates given fields of several existing expenses in one transaction.
+     *
+     * @param expenses the expenses to update, each with its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each expenses, in request order.
+     */
+    @PatchMapping(value = "/expenses/bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateExpensesInBulk(@RequestBody List<Expenses> expenses) {
+        log.debug("REST request to partial update {} Expenses in bulk", expenses.size());
+        return ResponseEntity.ok(bulkService.partialUpdateAll(Expenses.class, expenses, Expenses::getId, expensesService::partialUpdate));
+    }
+
+    /**
+     * {@code DELETE  /expenses/bulk?ids=...} : delete several expenses in one transaction.
+     *
+     * @param ids the ids of the expenses to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id, in request order.
+     */
+    @DeleteMapping("/expenses/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> deleteExpensesInBulk(@RequestParam List<Long> ids) {
+        log.debug("REST request to delete {} Expenses in bulk", ids.size());
+        return ResponseEntity.ok(bulkService.deleteAll(Expenses.class, ids, expensesService::delete));
     }
 
     /**
@@ -144,28 +244,105 @@ public class ExpensesResource {
      *
      * @param pageable the pagination information.
      * @param filter the filter of the request.
+     * @param after the keyset cursor of the page, empty for the first page, or absent for offset pagination. Not
+     * supported with a filter.
+     * @param include {@code paidBies} to read the friends of the expenses too.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of expenses in body.
      */
-    @GetMapping("/expenses")
+    @GetMapping(value = "/expenses", params = "!view")
+    @SqlBudget(3)
     public ResponseEntity<List<Expenses>> getAllExpenses(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        @RequestParam(required = false) String filter
+        @RequestParam(required = false) String filter,
+        @RequestParam(name = KeysetPaginationUtil.AFTER, required = false) String after,
+        @RequestParam(name = IncludeUtil.INCLUDE, required = false) List<String> include
     ) {
+        boolean withPaidBies = IncludeUtil.includes(include, Expenses_.PAID_BIES, ENTITY_NAME);
+        if (after != null && filter == null) {
+            log.debug("REST request to get Expenses after a cursor");
+            return KeysetPaginationUtil.keysetPage(
+                after,
+                pageable,
+                KEYSET_PROPERTIES,
+                ENTITY_NAME,
+                (cursor, size) -> expensesService.findAllAfter(cursor, size, withPaidBies),
+                ServletUriComponentsBuilder.fromCurrentRequest()
+            );
+        }
+        Page<Expenses> page;
         if ("groupname-is-null".equals(filter)) {
-            log.debug("REST request to get all Expensess where groupName is null");
-            return new ResponseEntity<>(expensesService.findAllWhereGroupNameIsNull(), HttpStatus.OK);
+            log.debug("REST request to get a page of Expensess where groupName is null");
+            page = expensesService.findAllWhereGroupNameIsNull(pageable, withPaidBies);
+        } else if ("activities-is-null".equals(filter)) {
+            log.debug("REST request to get a page of Expensess where activities is null");
+            page = expensesService.findAllWhereActivitiesIsNull(pageable, withPaidBies);
+        } else {
+            log.debug("REST request to get a page of Expenses");
+            page = expensesService.findAll(pageable, withPaidBies);
         }
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
 
-        if ("activities-is-null".equals(filter)) {
-            log.debug("REST request to get all Expensess where activities is null");
-            return new ResponseEntity<>(expensesService.findAllWhereActivitiesIsNull(), HttpStatus.OK);
-        }
-        log.debug("REST request to get a page of Expenses");
-        Page<Expenses> page = expensesService.findAll(pageable);
+    /**
+     * {@code GET  /expenses?view=summary} : get the summaries of all the expenses, read as plain columns rather than as
+     * entities. Not supported with a keyset cursor.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of summaries in body.
+     */
+    @GetMapping(value = "/expenses", params = "view=summary")
+    @SqlBudget(2)
+    public ResponseEntity<List<ExpenseSummary>> getAllExpenseSummaries(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to get a page of Expenses summaries");
+        Page<ExpenseSummary> page = expensesService.findAllSummaries(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /expenses?fields=...} : get all the expenses with only some of their fields. The fields are read as
+     * plain columns when they are all in the summary, and from the entities otherwise.
+     *
+     * @param pageable the pagination information.
+     * @param fields the fields to write.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of expenses in body, or with status
+     * {@code 400 (Bad Request)} if a field is not a property of the expenses.
+     */
+    @GetMapping(value = "/expenses", params = { SparseFieldsets.FIELDS, "!view", "!filter", "!after", "!include" })
+    public ResponseEntity<? extends List<?>> getAllExpensesFields(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = SparseFieldsets.FIELDS) List<String> fields
+    ) {
+        SparseFieldsets.checkFields(fields, Expenses.class);
+        if (SparseFieldsets.within(fields, ExpenseSummary.class)) {
+            return getAllExpenseSummaries(pageable);
+        }
+        return getAllExpenses(pageable, null, null, null);
+    }
+
+    /**
+     * {@code GET  /expenses/export} : export all the expenses, written to the response as they are read from the database.
+     *
+     * @param format the format of the export, {@code ndjson} (default) or {@code csv}.
+     * @param response the response to write to.
+     * @throws IOException if the export cannot be written.
+     */
+    @GetMapping("/expenses/export")
+    public void exportExpenses(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Expenses as {}", format);
+        RowFormat rowFormat = RowFormat
+            .of(format)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "exportformat"));
+        response.setContentType(rowFormat.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(ENTITY_NAME + "." + rowFormat.getExtension()).build().toString()
+        );
+        expensesService.exportAll(rowFormat, response.getOutputStream());
+    }
+
     /**
      * {@code GET  /expenses/:id} : get the "id" expenses.
      *
@@ -173,6 +350,7 @@ public class ExpensesResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the expenses, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/expenses/{id}")
+    @SqlBudget(1)
     public ResponseEntity<Expenses> getExpenses(@PathVariable Long id) {
         log.debug("REST request to get Expenses : {}", id);
         Optional<Expenses> expenses = expensesService.findOne(id);
@@ -1,14 +1,20 @@
 package com.qualize.api.web.rest;
 
 import com.qualize.api.domain.Friends;
+import com.qualize.api.domain.Friends_;
+import com.qualize.api.management.SqlBudget;
+import com.qualize.api.repository.FriendSummary;
 import com.qualize.api.repository.FriendsRepository;
+import com.qualize.api.service.BulkService;
 import com.qualize.api.service.FriendsService;
+import com.qualize.api.service.dto.BulkItemResultDTO;
 import com.qualize.api.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -32,6 +38,8 @@ public class FriendsResource {
 
     private final Logger log = LoggerFactory.getLogger(FriendsResource.class);
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of(Friends_.ID);
+
     private static final String ENTITY_NAME = "friends";
 
     @Value("${jhipster.clientApp.name}")
@@ -41,9 +49,12 @@ public class FriendsResource {
 
     private final FriendsRepository friendsRepository;
 
-    public FriendsResource(FriendsService friendsService, FriendsRepository friendsRepository) {
+    private final BulkService bulkService;
+
+    public FriendsResource(FriendsService friendsService, FriendsRepository friendsRepository, BulkService bulkService) {
         this.friendsService = friendsService;
         this.friendsRepository = friendsRepository;
+        this.bulkService = bulkService;
     }
 
     /**
@@ -104,8 +115,7 @@ public class FriendsResource {
      * @param id the id of the friends to save.
      * @param friends the friends to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated friends,
-     * or with status {@code 400 (Bad Request)} if the friends is not valid,
-     * or with status {@code 404 (Not Found)} if the friends is not found,
+     * or with status {@code 400 (Bad Request)} if the friends is not valid or not found, as on {@code PUT},
      * or with status {@code 500 (Internal Server Error)} if the friends couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -122,32 +132,118 @@ public class FriendsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!friendsRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Friends result = friendsService
+            .partialUpdate(friends)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, friends.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code POST  /friends/bulk} : Create several friends in one transaction.
+     *
+     * @param friends the friends to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each friends, in request order.
+     */
+    @PostMapping("/friends/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createFriendsInBulk(@RequestBody List<Friends> friends) {
+        log.debug("REST request to save {} Friends in bulk", friends.size());
+        return ResponseEntity.ok(bulkService.createAll(friends, Friends::getId, friendsService::save));
+    }
 
-        Optional<Friends> result = friendsService.partialUpdate(friends);
+    /**
+     * {@code PATCH  /friends/bulk} : Partial updates given fields of several existing friends in one transaction.
+     *
+     * @param friends the friends to update, each with its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each friends, in request order.
+     */
+    @PatchMapping(value = "/friends/bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateFriendsInBulk(@RequestBody List<Friends> friends) {
+        log.debug("REST request to partial update {} Friends in bulk", friends.size());
+        return ResponseEntity.ok(bulkService.partialUpdateAll(Friends.class, friends, Friends::getId, friendsService::partialUpdate));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, friends.getId().toString())
-        );
+    /**
+     * {@code DELETE  /friends/bulk?ids=...} : delete several friends in one transaction.
+     *
+     * @param ids the ids of the friends to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id, in request order.
+     */
+    @DeleteMapping("/friends/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> deleteFriendsInBulk(@RequestParam List<Long> ids) {
+        log.debug("REST request to delete {} Friends in bulk", ids.size());
+        return ResponseEntity.ok(bulkService.deleteAll(Friends.class, ids, friendsService::delete));
     }
 
     /**
      * {@code GET  /friends} : get all the friends.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor of the page, empty for the first page, or absent for offset pagination.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of friends in body.
      */
-    @GetMapping("/friends")
-    public ResponseEntity<List<Friends>> getAllFriends(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    @GetMapping(value = "/friends", params = "!view")
+    @SqlBudget(2)
+    public ResponseEntity<List<Friends>> getAllFriends(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER, required = false) String after
+    ) {
+        if (after != null) {
+            log.debug("REST request to get Friends after a cursor");
+            return KeysetPaginationUtil.keysetPage(
+                after,
+                pageable,
+                KEYSET_PROPERTIES,
+                ENTITY_NAME,
+                friendsService::findAllAfter,
+                ServletUriComponentsBuilder.fromCurrentRequest()
+            );
+        }
         log.debug("REST request to get a page of Friends");
         Page<Friends> page = friendsService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /friends?view=summary} : get the summaries of all the friends, read as plain columns rather than as
+     * entities. Not supported with a keyset cursor.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of summaries in body.
+     */
+    @GetMapping(value = "/friends", params = "view=summary")
+    @SqlBudget(2)
+    public ResponseEntity<List<FriendSummary>> getAllFriendSummaries(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to get a page of Friends summaries");
+        Page<FriendSummary> page = friendsService.findAllSummaries(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /friends?fields=...} : get all the friends with only some of their fields. The fields are read as
+     * plain columns when they are all in the summary, and from the entities otherwise.
+     *
+     * @param pageable the pagination information.
+     * @param fields the fields to write.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of friends in body, or with status
+     * {@code 400 (Bad Request)} if a field is not a property of the friends.
+     */
+    @GetMapping(value = "/friends", params = { SparseFieldsets.FIELDS, "!view", "!after" })
+    public ResponseEntity<? extends List<?>> getAllFriendsFields(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = SparseFieldsets.FIELDS) List<String> fields
+    ) {
+        SparseFieldsets.checkFields(fields, Friends.class);
+        if (SparseFieldsets.within(fields, FriendSummary.class)) {
+            return getAllFriendSummaries(pageable);
+        }
+        return getAllFriends(pageable, null);
+    }
+
     /**
      * {@code GET  /friends/:id} : get the "id" friends.
      *
@@ -155,6 +251,7 @@ public class FriendsResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the friends, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/friends/{id}")
+    @SqlBudget(1)
     public ResponseEntity<Friends> getFriends(@PathVariable Long id) {
         log.debug("REST request to get Friends : {}", id);
         Optional<Friends> friends = friendsService.findOne(id);
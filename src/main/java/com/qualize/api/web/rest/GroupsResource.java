@@ -1,14 +1,21 @@
 package com.qualize.api.web.rest;
 
 import com.qualize.api.domain.Groups;
+import com.qualize.api.domain.Groups_;
+import com.qualize.api.management.SqlBudget;
 import com.qualize.api.repository.GroupsRepository;
+import com.qualize.api.service.BulkService;
 import com.qualize.api.service.GroupsService;
+import com.qualize.api.service.SettlementPlanService;
+import com.qualize.api.service.dto.BulkItemResultDTO;
+import com.qualize.api.service.dto.SettlementTransferDTO;
 import com.qualize.api.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -34,6 +41,8 @@ public class GroupsResource {
 
     private final Logger log = LoggerFactory.getLogger(GroupsResource.class);
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of(Groups_.ID, Groups_.SORT_ORDER);
+
     private static final String ENTITY_NAME = "groups";
 
     @Value("${jhipster.clientApp.name}")
@@ -43,9 +52,20 @@ public class GroupsResource {
 
     private final GroupsRepository groupsRepository;
 
-    public GroupsResource(GroupsService groupsService, GroupsRepository groupsRepository) {
+    private final SettlementPlanService settlementPlanService;
+
+    private final BulkService bulkService;
+
+    public GroupsResource(
+        GroupsService groupsService,
+        GroupsRepository groupsRepository,
+        SettlementPlanService settlementPlanService,
+        BulkService bulkService
+    ) {
         this.groupsService = groupsService;
         this.groupsRepository = groupsRepository;
+        this.settlementPlanService = settlementPlanService;
+        this.bulkService = bulkService;
     }
 
     /**
@@ -108,8 +128,7 @@ public class GroupsResource {
      * @param id the id of the groups to save.
      * @param groups the groups to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated groups,
-     * or with status {@code 400 (Bad Request)} if the groups is not valid,
-     * or with status {@code 404 (Not Found)} if the groups is not found,
+     * or with status {@code 400 (Bad Request)} if the groups is not valid or not found, as on {@code PUT},
      * or with status {@code 500 (Internal Server Error)} if the groups couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -126,26 +145,75 @@ public class GroupsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!groupsRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Groups result = groupsService
+            .partialUpdate(groups)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, groups.getId().toString()))
+            .body(result);
+    }
 
-        Optional<Groups> result = groupsService.partialUpdate(groups);
+    /**
+     * {@code POST  /groups/bulk} : Create several groups in one transaction.
+     *
+     * @param groups the groups to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each groups, in request order.
+     */
+    @PostMapping("/groups/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createGroupsInBulk(@RequestBody List<Groups> groups) {
+        log.debug("REST request to save {} Groups in bulk", groups.size());
+        return ResponseEntity.ok(bulkService.createAll(groups, Groups::getId, groupsService::save));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, groups.getId().toString())
-        );
+    /**
+     * {@code PATCH  /groups/bulk} : Partial updates given fields of several existing groups in one transaction.
+     *
+     * @param groups the groups to update, each with its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each groups, in request order.
+     */
+    @PatchMapping(value = "/groups/bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateGroupsInBulk(@RequestBody List<Groups> groups) {
+        log.debug("REST request to partial update {} Groups in bulk", groups.size());
+        return ResponseEntity.ok(bulkService.partialUpdateAll(Groups.class, groups, Groups::getId, groupsService::partialUpdate));
+    }
+
+    /**
+     * {@code DELETE  /groups/bulk?ids=...} : delete several groups in one transaction.
+     *
+     * @param ids the ids of the groups to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id, in request order.
+     */
+    @DeleteMapping("/groups/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> deleteGroupsInBulk(@RequestParam List<Long> ids) {
+        log.debug("REST request to delete {} Groups in bulk", ids.size());
+        return ResponseEntity.ok(bulkService.deleteAll(Groups.class, ids, groupsService::delete));
     }
 
     /**
      * {@code GET  /groups} : get all the groups.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor of the page, empty for the first page, or absent for offset pagination.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of groups in body.
      */
     @GetMapping("/groups")
-    public ResponseEntity<List<Groups>> getAllGroups(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    @SqlBudget(2)
+    public ResponseEntity<List<Groups>> getAllGroups(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER, required = false) String after
+    ) {
+        if (after != null) {
+            log.debug("REST request to get Groups after a cursor");
+            return KeysetPaginationUtil.keysetPage(
+                after,
+                pageable,
+                KEYSET_PROPERTIES,
+                ENTITY_NAME,
+                groupsService::findAllAfter,
+                ServletUriComponentsBuilder.fromCurrentRequest()
+            );
+        }
         log.debug("REST request to get a page of Groups");
         Page<Groups> page = groupsService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -165,6 +233,18 @@ public class GroupsResource {
         return ResponseUtil.wrapOrNotFound(groups);
     }
 
+    /**
+     * {@code GET  /groups/:id/settlement-plan} : get the transfers settling the "id" groups.
+     *
+     * @param id the id of the groups to settle.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of transfers in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/groups/{id}/settlement-plan")
+    public ResponseEntity<List<SettlementTransferDTO>> getGroupsSettlementPlan(@PathVariable Long id) {
+        log.debug("REST request to get the settlement plan of Groups : {}", id);
+        return ResponseUtil.wrapOrNotFound(settlementPlanService.findPlanForGroup(id));
+    }
+
     /**
      * {@code DELETE  /groups/:id} : delete the "id" groups.
      *
@@ -0,0 +1,40 @@
+package com.qualize.api.web.rest;
+
+import com.qualize.api.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+
+/**
+ * Utility class for the {@code include} request parameter of the entity lists.
+ * <p>
+ * The collections of an entity are not serialized unless they are named in {@code include}, in which case they are
+ * read for the whole page in one more statement rather than one statement per entity.
+ */
+public final class IncludeUtil {
+
+    public static final String INCLUDE = "include";
+
+    private static final String ERROR_KEY = "includeinvalid";
+
+    private IncludeUtil() {}
+
+    /**
+     * Check whether a collection is requested by the {@code include} parameter.
+     *
+     * @param include the values of the {@code include} parameter, or {@code null}.
+     * @param collection the name of the only collection that can be included.
+     * @param entityName the name of the entity, for error reporting.
+     * @return {@code true} if the collection is requested.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if another collection is requested.
+     */
+    public static boolean includes(List<String> include, String collection, String entityName) {
+        if (include == null) {
+            return false;
+        }
+        for (String value : include) {
+            if (!collection.equals(value)) {
+                throw new BadRequestAlertException("Cannot include " + value, entityName, ERROR_KEY);
+            }
+        }
+        return !include.isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.qualize.api.web.rest;
+
+import com.qualize.api.repository.InvalidKeysetCursorException;
+import com.qualize.api.repository.KeysetCursor;
+import com.qualize.api.repository.KeysetPage;
+import com.qualize.api.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for the keyset (seek) pagination of the entity lists.
+ * <p>
+ * A list is read in keyset mode when the {@code after} request parameter is present: empty for the first page, then
+ * set to the cursor of the {@code rel="next"} link of the previous page. The first page is ordered by the first
+ * {@code sort} order of the request, or by id; the following pages keep that order, carried by the cursor. No
+ * {@code X-Total-Count} header is returned since the rows are never counted.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER = "after";
+
+    private static final String ERROR_KEY = "cursorinvalid";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Read a page of entities in keyset mode.
+     *
+     * @param after the cursor of the page, empty for the first page.
+     * @param pageable the pagination information of the request, only its size and sort are used.
+     * @param properties the properties the entities may be sorted by.
+     * @param entityName the name of the entity, for error reporting.
+     * @param finder the service method reading the page following a cursor.
+     * @param uriBuilder the builder of the request URI.
+     * @param <T> the type of the entities.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the page in body and the link to the next page in
+     * header.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the cursor is invalid or not sorted by one of the
+     * given properties.
+     */
+    public static <T> ResponseEntity<List<T>> keysetPage(
+        String after,
+        Pageable pageable,
+        Set<String> properties,
+        String entityName,
+        BiFunction<KeysetCursor, Integer, KeysetPage<T>> finder,
+        UriComponentsBuilder uriBuilder
+    ) {
+        KeysetCursor cursor;
+        try {
+            cursor = after.isEmpty() ? firstCursor(pageable.getSort()) : KeysetCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, ERROR_KEY);
+        }
+        if (!properties.contains(cursor.getProperty())) {
+            throw new BadRequestAlertException("Cannot paginate by " + cursor.getProperty(), entityName, ERROR_KEY);
+        }
+        KeysetPage<T> page;
+        try {
+            page = finder.apply(cursor, pageable.getPageSize());
+        } catch (InvalidKeysetCursorException e) {
+            // only the cursor value is checked by the query, any other failure is not the client's
+            throw new BadRequestAlertException("Invalid cursor", entityName, ERROR_KEY);
+        }
+        HttpHeaders headers = generateKeysetHttpHeaders(uriBuilder, page, pageable.getPageSize());
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * Generate the {@code Link} header of a keyset page, with a {@code rel="next"} link unless it is the last page.
+     *
+     * @param uriBuilder the builder of the request URI.
+     * @param page the page.
+     * @param size the size of the pages.
+     * @param <T> the type of the entities.
+     * @return the headers.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetPage<T> page, int size) {
+        HttpHeaders headers = new HttpHeaders();
+        page
+            .getNext()
+            .ifPresent(next -> {
+                String link = uriBuilder
+                    .replaceQueryParam(AFTER, next.toToken())
+                    .replaceQueryParam("size", size)
+                    .replaceQueryParam("page")
+                    .replaceQueryParam("sort")
+                    .toUriString();
+                headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+            });
+        return headers;
+    }
+
+    private static KeysetCursor firstCursor(Sort sort) {
+        return sort
+            .stream()
+            .findFirst()
+            .map(order -> KeysetCursor.first(order.getProperty(), order.getDirection()))
+            .orElse(KeysetCursor.first("id", Sort.Direction.ASC));
+    }
+}
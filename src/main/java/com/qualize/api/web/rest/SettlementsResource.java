@@ -1,14 +1,23 @@
 package com.qualize.api.web.rest;
 
 import com.qualize.api.domain.Settlements;
+import com.qualize.api.domain.Settlements_;
+import com.qualize.api.management.SqlBudget;
 import com.qualize.api.repository.SettlementsRepository;
+import com.qualize.api.service.BulkService;
+import com.qualize.api.service.RowFormat;
 import com.qualize.api.service.SettlementsService;
+import com.qualize.api.service.dto.BulkItemResultDTO;
 import com.qualize.api.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -16,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +44,8 @@ public class SettlementsResource {
 
     private final Logger log = LoggerFactory.getLogger(SettlementsResource.class);
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of(Settlements_.ID, Settlements_.SORT_ORDER);
+
     private static final String ENTITY_NAME = "settlements";
 
     @Value("${jhipster.clientApp.name}")
@@ -43,9 +55,16 @@ public class SettlementsResource {
 
     private final SettlementsRepository settlementsRepository;
 
-    public SettlementsResource(SettlementsService settlementsService, SettlementsRepository settlementsRepository) {
+    private final BulkService bulkService;
+
+    public SettlementsResource(
+        SettlementsService settlementsService,
+        SettlementsRepository settlementsRepository,
+        BulkService bulkService
+    ) {
         this.settlementsService = settlementsService;
         this.settlementsRepository = settlementsRepository;
+        this.bulkService = bulkService;
     }
 
     /**
@@ -108,8 +127,7 @@ public class SettlementsResource {
      * @param id the id of the settlements to save.
      * @param settlements the settlements to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated settlements,
-     * or with status {@code 400 (Bad Request)} if the settlements is not valid,
-     * or with status {@code 404 (Not Found)} if the settlements is not found,
+     * or with status {@code 400 (Bad Request)} if the settlements is not valid or not found, as on {@code PUT},
      * or with status {@code 500 (Internal Server Error)} if the settlements couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -126,32 +144,108 @@ public class SettlementsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!settlementsRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Settlements result = settlementsService
+            .partialUpdate(settlements)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, settlements.getId().toString()))
+            .body(result);
+    }
 
-        Optional<Settlements> result = settlementsService.partialUpdate(settlements);
+    /**
+     * {@code POST  /settlements/bulk} : Create several settlements in one transaction.
+     *
+     * @param settlements the settlements to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each settlements, in request order.
+     */
+    @PostMapping("/settlements/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createSettlementsInBulk(@RequestBody List<Settlements> settlements) {
+        log.debug("REST request to save {} Settlements in bulk", settlements.size());
+        return ResponseEntity.ok(bulkService.createAll(settlements, Settlements::getId, settlementsService::save));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, settlements.getId().toString())
+    /**
+     * {@code PATCH  /settlements/bulk} : Partial updates given fields of several existing settlements in one transaction.
+     *
+     * @param settlements the settlements to update, each with its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each settlements, in request order.
+     */
+    @PatchMapping(value = "/settlements/bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateSettlementsInBulk(@RequestBody List<Settlements> settlements) {
+        log.debug("REST request to partial update {} Settlements in bulk", settlements.size());
+        return ResponseEntity.ok(
+            bulkService.partialUpdateAll(Settlements.class, settlements, Settlements::getId, settlementsService::partialUpdate)
         );
     }
 
+    /**
+     * {@code DELETE  /settlements/bulk?ids=...} : delete several settlements in one transaction.
+     *
+     * @param ids the ids of the settlements to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id, in request order.
+     */
+    @DeleteMapping("/settlements/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> deleteSettlementsInBulk(@RequestParam List<Long> ids) {
+        log.debug("REST request to delete {} Settlements in bulk", ids.size());
+        return ResponseEntity.ok(bulkService.deleteAll(Settlements.class, ids, settlementsService::delete));
+    }
+
     /**
      * {@code GET  /settlements} : get all the settlements.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor of the page, empty for the first page, or absent for offset pagination.
+     * @param include {@code accounts} to read the friends of the settlements too.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of settlements in body.
      */
     @GetMapping("/settlements")
-    public ResponseEntity<List<Settlements>> getAllSettlements(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    @SqlBudget(2)
+    public ResponseEntity<List<Settlements>> getAllSettlements(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER, required = false) String after,
+        @RequestParam(name = IncludeUtil.INCLUDE, required = false) List<String> include
+    ) {
+        boolean withAccounts = IncludeUtil.includes(include, Settlements_.ACCOUNTS, ENTITY_NAME);
+        if (after != null) {
+            log.debug("REST request to get Settlements after a cursor");
+            return KeysetPaginationUtil.keysetPage(
+                after,
+                pageable,
+                KEYSET_PROPERTIES,
+                ENTITY_NAME,
+                (cursor, size) -> settlementsService.findAllAfter(cursor, size, withAccounts),
+                ServletUriComponentsBuilder.fromCurrentRequest()
+            );
+        }
         log.debug("REST request to get a page of Settlements");
-        Page<Settlements> page = settlementsService.findAll(pageable);
+        Page<Settlements> page = settlementsService.findAll(pageable, withAccounts);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /settlements/export} : export all the settlements, written to the response as they are read from the database.
+     *
+     * @param format the format of the export, {@code ndjson} (default) or {@code csv}.
+     * @param response the response to write to.
+     * @throws IOException if the export cannot be written.
+     */
+    @GetMapping("/settlements/export")
+    public void exportSettlements(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Settlements as {}", format);
+        RowFormat rowFormat = RowFormat
+            .of(format)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "exportformat"));
+        response.setContentType(rowFormat.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(ENTITY_NAME + "." + rowFormat.getExtension()).build().toString()
+        );
+        settlementsService.exportAll(rowFormat, response.getOutputStream());
+    }
+
     /**
      * {@code GET  /settlements/:id} : get the "id" settlements.
      *
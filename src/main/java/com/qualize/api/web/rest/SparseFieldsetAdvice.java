@@ -0,0 +1,59 @@
+package com.qualize.api.web.rest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+import org.zalando.problem.Problem;
+
+/**
+ * Restrict the JSON responses of the requests with a {@code fields} parameter to the listed fields, answering
+ * {@code 400 (Bad Request)} when a field is not a property of the body.
+ *
+ * @see SparseFieldsets
+ */
+@RestControllerAdvice
+public class SparseFieldsetAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(
+        MappingJacksonValue bodyContainer,
+        MediaType contentType,
+        MethodParameter returnType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return;
+        }
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        String[] values = servletRequest.getParameterValues(SparseFieldsets.FIELDS);
+        Set<String> fields = values == null ? Set.of() : SparseFieldsets.parse(Arrays.asList(values));
+        if (fields.isEmpty()) {
+            return;
+        }
+        Object value = bodyContainer.getValue();
+        if (value instanceof Collection) {
+            Collection<?> elements = (Collection<?>) value;
+            if (elements.isEmpty() || elements.iterator().next() == null) {
+                return;
+            }
+            value = elements.iterator().next();
+        }
+        if (value instanceof Problem) {
+            // the error responses, such as the one of an unknown field, are written whole
+            return;
+        }
+        Class<?> type = SparseFieldsets.typeOf(value);
+        SparseFieldsets.checkFields(fields, type);
+        bodyContainer.setFilters(SparseFieldsets.writeOnly(type, fields));
+    }
+}
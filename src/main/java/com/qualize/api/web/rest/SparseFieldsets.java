@@ -0,0 +1,192 @@
+package com.qualize.api.web.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.qualize.api.web.rest.errors.BadRequestAlertException;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.hibernate.proxy.HibernateProxyHelper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Utility class for the sparse fieldsets of the REST responses.
+ * <p>
+ * When a request has a {@code fields} parameter, such as {@code fields=id,description,amount}, only the listed
+ * properties of the body, or of each element of a list body, are written; nested objects are written whole.
+ * Filtering happens at the Jackson layer: every class of the application is bound to a property filter that writes
+ * all the properties by default, and {@link SparseFieldsetAdvice} swaps in a filter restricted to the fields for the
+ * responses of such requests. Lists that have a projection holding all the requested fields are also read through
+ * that projection. A field that is not a property of the body is rejected with {@code 400 (Bad Request)}.
+ */
+public final class SparseFieldsets {
+
+    public static final String FIELDS = "fields";
+
+    static final String FILTER_ID = "sparseFieldset";
+
+    private static final String BASE_PACKAGE = "com.qualize.api.";
+
+    private static final String ERROR_KEY = "fieldsinvalid";
+
+    private SparseFieldsets() {}
+
+    /**
+     * The Jackson module binding the classes of the application to the sparse fieldset filter.
+     *
+     * @return the module.
+     */
+    public static Module module() {
+        return new SimpleModule("SparseFieldsets") {
+            @Override
+            public void setupModule(SetupContext context) {
+                super.setupModule(context);
+                context.insertAnnotationIntrospector(new FilterIdIntrospector());
+            }
+        };
+    }
+
+    /**
+     * The filters writing every property, for the responses without sparse fieldset.
+     *
+     * @return the filter provider.
+     */
+    public static FilterProvider writeAll() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    /**
+     * The filters writing only some properties of a type.
+     *
+     * @param type the type of the body, or of the elements of a list body.
+     * @param fields the properties to write.
+     * @return the filter provider.
+     */
+    public static FilterProvider writeOnly(Class<?> type, Set<String> fields) {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, new SparseFieldsetFilter(type, fields));
+    }
+
+    /**
+     * Parse the values of a {@code fields} parameter.
+     *
+     * @param values the values, each holding comma separated field names.
+     * @return the field names, in request order.
+     */
+    public static Set<String> parse(Collection<String> values) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String value : values) {
+            for (String field : StringUtils.commaDelimitedListToSet(value)) {
+                if (StringUtils.hasText(field)) {
+                    fields.add(field.trim());
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Check whether some fields are all properties of a projection, so that the projection can be read instead of the
+     * entity.
+     *
+     * @param fields the values of the {@code fields} parameter.
+     * @param projection the projection interface.
+     * @return {@code true} if every field is a property of the projection.
+     */
+    public static boolean within(Collection<String> fields, Class<?> projection) {
+        Set<String> requested = parse(fields);
+        return !requested.isEmpty() && propertiesOf(projection).containsAll(requested);
+    }
+
+    /**
+     * Check that some fields are all properties of a type.
+     *
+     * @param fields the values of the {@code fields} parameter.
+     * @param type the type of the body, or of the elements of a list body.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if a field is not a property of the type.
+     */
+    public static void checkFields(Collection<String> fields, Class<?> type) {
+        Class<?> beanType = beanTypeOf(type);
+        Set<String> properties = propertiesOf(beanType);
+        for (String field : parse(fields)) {
+            if (!properties.contains(field)) {
+                throw new BadRequestAlertException("Unknown field " + field, StringUtils.uncapitalize(beanType.getSimpleName()), ERROR_KEY);
+            }
+        }
+    }
+
+    static Class<?> typeOf(Object value) {
+        return HibernateProxyHelper.getClassWithoutInitializingProxy(value);
+    }
+
+    private static Set<String> propertiesOf(Class<?> type) {
+        Set<String> properties = new LinkedHashSet<>();
+        Arrays.stream(BeanUtils.getPropertyDescriptors(type)).map(PropertyDescriptor::getName).forEach(properties::add);
+        properties.remove("class");
+        return properties;
+    }
+
+    /**
+     * The projection interface behind a projection proxy, or the type itself.
+     */
+    private static Class<?> beanTypeOf(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            return Arrays.stream(type.getInterfaces()).filter(SparseFieldsets::isApplicationType).findFirst().orElse(type);
+        }
+        return type;
+    }
+
+    private static boolean isApplicationType(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            return Arrays.stream(type.getInterfaces()).anyMatch(SparseFieldsets::isApplicationType);
+        }
+        return type.getName().startsWith(BASE_PACKAGE);
+    }
+
+    private static final class FilterIdIntrospector extends NopAnnotationIntrospector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Object findFilterId(Annotated annotated) {
+            if (annotated instanceof AnnotatedClass && isApplicationType(annotated.getRawType())) {
+                return FILTER_ID;
+            }
+            return null;
+        }
+    }
+
+    private static final class SparseFieldsetFilter extends SimpleBeanPropertyFilter {
+
+        private final Class<?> type;
+
+        private final Set<String> fields;
+
+        private SparseFieldsetFilter(Class<?> type, Set<String> fields) {
+            this.type = type;
+            this.fields = fields;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator jgen, SerializerProvider provider, PropertyWriter writer)
+            throws Exception {
+            if (fields.contains(writer.getName()) || !type.equals(typeOf(pojo))) {
+                writer.serializeAsField(pojo, jgen, provider);
+            } else if (!jgen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, jgen, provider);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.qualize.api.web.rest;
+
+import com.qualize.api.security.AuthoritiesConstants;
+import com.qualize.api.service.SpendingDimension;
+import com.qualize.api.service.SpendingRollupService;
+import com.qualize.api.service.dto.SpendingSliceDTO;
+import com.qualize.api.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the monthly spending rollups of {@link com.qualize.api.domain.Expenses}.
+ */
+@RestController
+@RequestMapping("/api")
+public class SpendingRollupResource {
+
+    private static final String ENTITY_NAME = "spendingRollup";
+
+    private final Logger log = LoggerFactory.getLogger(SpendingRollupResource.class);
+
+    private final SpendingRollupService spendingRollupService;
+
+    public SpendingRollupResource(SpendingRollupService spendingRollupService) {
+        this.spendingRollupService = spendingRollupService;
+    }
+
+    /**
+     * {@code GET  /spending-rollups} : get the expense totals of a range of months, sliced by a dimension.
+     *
+     * @param from a day of the first month, twelve months before {@code to} by default.
+     * @param to a day of the last month, today by default.
+     * @param groupId the group to restrict to, {@code 0} for expenses without group.
+     * @param activityId the activity to restrict to, {@code 0} for expenses without activity.
+     * @param currency the currency to restrict to, empty for expenses without currency.
+     * @param by the dimension to slice by, {@code month}, {@code group}, {@code activity} or {@code currency}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the slices holding expenses in body, or with
+     * status {@code 400 (Bad Request)} if the dimension is unknown or {@code from} is after {@code to}.
+     */
+    @GetMapping("/spending-rollups")
+    public ResponseEntity<List<SpendingSliceDTO>> getSpendingSlices(
+        @RequestParam(required = false) LocalDate from,
+        @RequestParam(required = false) LocalDate to,
+        @RequestParam(required = false) Long groupId,
+        @RequestParam(required = false) Long activityId,
+        @RequestParam(required = false) String currency,
+        @RequestParam(defaultValue = "month") String by
+    ) {
+        log.debug("REST request to get the spending from {} to {} by {}", from, to, by);
+        SpendingDimension dimension;
+        try {
+            dimension = SpendingDimension.valueOf(by.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown spending dimension", ENTITY_NAME, "dimensioninvalid");
+        }
+        LocalDate last = to == null ? LocalDate.now() : to;
+        LocalDate first = from == null ? last.minusMonths(11) : from;
+        if (first.isAfter(last)) {
+            throw new BadRequestAlertException("The range cannot start after it ends", ENTITY_NAME, "rangeinvalid");
+        }
+        return ResponseEntity.ok(spendingRollupService.findSlices(first, last, groupId, activityId, currency, dimension));
+    }
+
+    /**
+     * {@code POST  /admin/spending-rollups/reconcile} : Recompute every spending rollup from the expenses.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @PostMapping("/admin/spending-rollups/reconcile")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> reconcileSpendingRollups() {
+        log.debug("REST request to reconcile the spending rollups");
+        spendingRollupService.reconcile();
+        return ResponseEntity.noContent().build();
+    }
+}
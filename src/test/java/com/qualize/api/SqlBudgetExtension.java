@@ -0,0 +1,33 @@
+package com.qualize.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qualize.api.management.SqlStatementTracker;
+import java.util.Optional;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Fails the integration tests sending requests which execute more SQL statements than the
+ * {@link com.qualize.api.management.SqlBudget} of their REST method.
+ */
+public class SqlBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        tracker(context).ifPresent(SqlStatementTracker::drainBudgetViolations);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        tracker(context).ifPresent(tracker -> assertThat(tracker.drainBudgetViolations()).as("Requests over their SQL budget").isEmpty());
+    }
+
+    private Optional<SqlStatementTracker> tracker(ExtensionContext context) {
+        return Optional.ofNullable(
+            SpringExtension.getApplicationContext(context).getBeanProvider(SqlStatementTracker.class).getIfAvailable()
+        );
+    }
+}
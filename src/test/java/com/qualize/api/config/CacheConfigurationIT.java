@@ -0,0 +1,79 @@
+package com.qualize.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Friends;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.management.ObjectName;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the cache regions built by {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    private static final String FRIENDS_REGION = Friends.class.getName();
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void regionsHaveTheirOwnTiers() {
+        CacheRuntimeConfiguration<Object, Object> friends = runtimeConfigurationOf(FRIENDS_REGION);
+        assertThat(friends.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10);
+        assertThat(friends.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(1);
+        ExpiryPolicy<? super Object, ? super Object> expiry = friends.getExpiryPolicy();
+        assertThat(expiry.getExpiryForAccess(1L, () -> "friend")).isEqualTo(Duration.ofMinutes(10));
+
+        // the regions without settings keep the jhipster.cache.ehcache heap only tier
+        CacheRuntimeConfiguration<Object, Object> groups = runtimeConfigurationOf("com.qualize.api.domain.Groups");
+        assertThat(groups.getResourcePools().getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+    }
+
+    @Test
+    void regionsReportTheirHitRatio() throws Exception {
+        Cache<Object, Object> cache = cacheManager.getCache(FRIENDS_REGION);
+        ManagementFactory
+            .getPlatformMBeanServer()
+            .invoke(
+                new ObjectName(
+                    "javax.cache:type=CacheStatistics,CacheManager=" +
+                    cacheManager.getURI().toString().replaceAll(",|:|=|\n", ".") +
+                    ",Cache=" +
+                    FRIENDS_REGION
+                ),
+                "clear",
+                null,
+                null
+            );
+
+        cache.put(1L, "friend");
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", FRIENDS_REGION).gauge().value()).isEqualTo(0.75);
+        cache.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheRuntimeConfiguration<Object, Object> runtimeConfigurationOf(String region) {
+        Eh107Configuration<Object, Object> configuration = cacheManager.getCache(region).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.qualize.api.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.web.rest.TestUtil;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@code sequenceGenerator} declared in {@code package-info.java}.
+ */
+@IntegrationTest
+@Transactional
+class SequenceGeneratorIT {
+
+    private static final int EXPENSES = 500;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void assertThatBulkInsertsAreBatched() throws Exception {
+        List<Expenses> expenses = new ArrayList<>(EXPENSES);
+        Statistics statistics = TestUtil.withStatistics(
+            em,
+            () -> {
+                for (int i = 0; i < EXPENSES; i++) {
+                    Expenses expense = new Expenses().description("expense " + i).amount(BigDecimal.TEN).paidBy(BigDecimal.ONE);
+                    em.persist(expense);
+                    expenses.add(expense);
+                }
+                em.flush();
+            }
+        );
+
+        assertThat(expenses).extracting(Expenses::getId).doesNotContainNull().doesNotHaveDuplicates();
+        // 20 batches of 25 inserts and one generator round-trip per block of 50 ids, instead of 500 inserts
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(EXPENSES);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(EXPENSES / 10);
+    }
+
+    @Test
+    void assertThatIdsAreAllocatedPerEntityTable() {
+        Expenses expenses = new Expenses().description("dinner");
+        Friends friends = new Friends().friendName("alice");
+        em.persist(expenses);
+        em.persist(friends);
+        em.flush();
+
+        Number expensesNextVal = (Number) em
+            .createNativeQuery("select next_val from sequence_generator where sequence_name = 'expenses'")
+            .getSingleResult();
+        Number friendsNextVal = (Number) em
+            .createNativeQuery("select next_val from sequence_generator where sequence_name = 'friends'")
+            .getSingleResult();
+        assertThat(expenses.getId()).isLessThan(expensesNextVal.longValue());
+        assertThat(friends.getId()).isLessThan(friendsNextVal.longValue());
+    }
+}
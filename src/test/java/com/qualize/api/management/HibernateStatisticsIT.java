@@ -0,0 +1,128 @@
+package com.qualize.api.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.repository.FriendsRepository;
+import com.qualize.api.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for {@link HibernateStatisticsEndpoint} and {@link HibernateFlushMetrics}, with the
+ * second-level cache on so that its regions are metered, and the statistics on at startup as in prod so that the
+ * Hibernate meters are bound.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+    }
+)
+class HibernateStatisticsIT {
+
+    private static final String ENDPOINT_URL = "/management/hibernatestatistics";
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FriendsRepository friendsRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    private boolean statisticsEnabled;
+
+    private Friends friends;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statisticsEnabled = statistics.isStatisticsEnabled();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statistics.setStatisticsEnabled(statisticsEnabled);
+        if (friends != null) {
+            friendsRepository.delete(friends);
+        }
+    }
+
+    @Test
+    void statisticsAreSwitchedAtRuntime() throws Exception {
+        restMockMvc.perform(delete(ENDPOINT_URL)).andExpect(status().isNoContent());
+        restMockMvc
+            .perform(post(ENDPOINT_URL).contentType(MediaType.APPLICATION_JSON).content("{\"enabled\":true}"))
+            .andExpect(status().isNoContent());
+        restMockMvc.perform(get(ENDPOINT_URL)).andExpect(status().isOk()).andExpect(jsonPath("$.enabled").value(true));
+
+        friends = friendsRepository.save(new Friends().friendName("metered"));
+        // read by id in a session of its own, from the second-level cache
+        EntityManager reader = em.getEntityManagerFactory().createEntityManager();
+        try {
+            assertThat(reader.find(Friends.class, friends.getId())).isNotNull();
+        } finally {
+            reader.close();
+        }
+
+        assertThat(meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("hibernate.flush.time").timer().count()).isPositive();
+        assertThat(
+            meterRegistry
+                .get("hibernate.second.level.cache.requests")
+                .tags("region", Friends.class.getName(), "result", "hit")
+                .functionCounter()
+                .count()
+        )
+            .isEqualTo(1);
+        // and the same hit in the statistics of the Ehcache region
+        assertThat(meterRegistry.get("cache.gets").tags("cache", Friends.class.getName(), "result", "hit").functionCounter().count())
+            .isPositive();
+
+        restMockMvc
+            .perform(post(ENDPOINT_URL).contentType(MediaType.APPLICATION_JSON).content("{\"enabled\":false}"))
+            .andExpect(status().isNoContent());
+        double statements = meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count();
+        long flushes = meterRegistry.get("hibernate.flush.time").timer().count();
+        friends = friendsRepository.save(friends.friendName("unmetered"));
+        assertThat(meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count()).isEqualTo(statements);
+        assertThat(meterRegistry.get("hibernate.flush.time").timer().count()).isEqualTo(flushes);
+        restMockMvc.perform(get(ENDPOINT_URL)).andExpect(status().isOk()).andExpect(jsonPath("$.enabled").value(false));
+    }
+
+    @Test
+    @WithMockUser
+    void statisticsAreOnlySwitchedByAdmins() throws Exception {
+        restMockMvc
+            .perform(post(ENDPOINT_URL).contentType(MediaType.APPLICATION_JSON).content("{\"enabled\":true}"))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,143 @@
+package com.qualize.api.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.domain.Friends;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link SqlStatementTracker}, with the statements of the data source of the tests.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class SqlStatementTrackerIT {
+
+    private static final String ENDPOINT = "GET /test";
+
+    private static final String HANDLER = "TestResource.getTest";
+
+    @Autowired
+    private SqlStatementTracker sqlStatementTracker;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private Duration slowStatementThreshold;
+
+    private int repeatedStatementThreshold;
+
+    @BeforeEach
+    public void setUp() {
+        slowStatementThreshold = applicationProperties.getSqlMonitoring().getSlowStatementThreshold();
+        repeatedStatementThreshold = applicationProperties.getSqlMonitoring().getRepeatedStatementThreshold();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        applicationProperties.getSqlMonitoring().setSlowStatementThreshold(slowStatementThreshold);
+        applicationProperties.getSqlMonitoring().setRepeatedStatementThreshold(repeatedStatementThreshold);
+    }
+
+    @Test
+    void statementsAreCountedByEndpointAndByServiceMethod() throws Exception {
+        Friends friends = persistFriends("counted");
+        long requests = summaryCount(SqlStatementTracker.REQUEST_METER_NAME, "endpoint", "GET /api/friends/{id}");
+        long transactions = summaryCount(SqlStatementTracker.TRANSACTION_METER_NAME, "method", "FriendsService.findOne");
+
+        restMockMvc.perform(get("/api/friends/{id}", friends.getId())).andExpect(status().isOk());
+
+        assertThat(summaryCount(SqlStatementTracker.REQUEST_METER_NAME, "endpoint", "GET /api/friends/{id}")).isEqualTo(requests + 1);
+        assertThat(summaryCount(SqlStatementTracker.TRANSACTION_METER_NAME, "method", "FriendsService.findOne"))
+            .isEqualTo(transactions + 1);
+    }
+
+    @Test
+    void repeatedSelectsAreReported() {
+        applicationProperties.getSqlMonitoring().setRepeatedStatementThreshold(3);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(persistFriends("repeated " + i).getId());
+        }
+        em.clear();
+        double repeated = meterRegistry.counter(SqlStatementTracker.REPEATED_METER_NAME, "endpoint", ENDPOINT).count();
+
+        SqlStatementTracker.Scope scope = sqlStatementTracker.openRequest(ENDPOINT, HANDLER, null);
+        ids.forEach(id -> em.find(Friends.class, id));
+        sqlStatementTracker.close(scope);
+
+        assertThat(scope.getStatements()).isEqualTo(3);
+        assertThat(meterRegistry.counter(SqlStatementTracker.REPEATED_METER_NAME, "endpoint", ENDPOINT).count()).isEqualTo(repeated + 1);
+    }
+
+    @Test
+    void requestsOverTheirBudgetAreKept() {
+        double exceeded = meterRegistry.counter(SqlStatementTracker.BUDGET_EXCEEDED_METER_NAME, "endpoint", ENDPOINT).count();
+
+        SqlStatementTracker.Scope scope = sqlStatementTracker.openRequest(ENDPOINT, HANDLER, 1);
+        countFriends();
+        countFriends();
+        sqlStatementTracker.close(scope);
+
+        assertThat(sqlStatementTracker.drainBudgetViolations())
+            .singleElement()
+            .isEqualTo(ENDPOINT + " (" + HANDLER + ") executed 2 statements, over its budget of 1");
+        assertThat(meterRegistry.counter(SqlStatementTracker.BUDGET_EXCEEDED_METER_NAME, "endpoint", ENDPOINT).count())
+            .isEqualTo(exceeded + 1);
+    }
+
+    @Test
+    void slowStatementsAreCounted() {
+        applicationProperties.getSqlMonitoring().setSlowStatementThreshold(Duration.ZERO);
+        double slow = meterRegistry.counter(SqlStatementTracker.SLOW_METER_NAME, "endpoint", ENDPOINT).count();
+
+        SqlStatementTracker.Scope scope = sqlStatementTracker.openRequest(ENDPOINT, HANDLER, null);
+        countFriends();
+        sqlStatementTracker.close(scope);
+
+        assertThat(meterRegistry.counter(SqlStatementTracker.SLOW_METER_NAME, "endpoint", ENDPOINT).count()).isEqualTo(slow + 1);
+    }
+
+    private Friends persistFriends(String friendName) {
+        Friends friends = new Friends().friendName(friendName);
+        em.persist(friends);
+        em.flush();
+        return friends;
+    }
+
+    private void countFriends() {
+        em.createQuery("select count(f) from Friends f", Long.class).getSingleResult();
+    }
+
+    private long summaryCount(String name, String tagKey, String tagValue) {
+        DistributionSummary summary = meterRegistry.find(name).tag(tagKey, tagValue).summary();
+        return summary != null ? summary.count() : 0;
+    }
+}
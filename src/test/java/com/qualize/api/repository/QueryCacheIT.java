@@ -0,0 +1,158 @@
+package com.qualize.api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.CryptoTracker;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.service.UserService;
+import com.qualize.api.web.rest.TestUtil;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Integration tests for the repository queries read from the Hibernate query cache, which the other tests run without.
+ * <p>
+ * The data is committed rather than rolled back, since Hibernate does not read the query cache for the tables written
+ * by the current transaction, and deleted after each test.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    }
+)
+class QueryCacheIT {
+
+    private static final String CURRENCY = "QCT";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private FriendsRepository friendsRepository;
+
+    @Autowired
+    private CryptoTrackerRepository cryptoTrackerRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restAccountsMockMvc;
+
+    private Accounts accounts;
+
+    private final List<Friends> friends = new ArrayList<>();
+
+    private final List<CryptoTracker> cryptoTrackers = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        friendsRepository.deleteAll(friends);
+        cryptoTrackerRepository.deleteAll(cryptoTrackers);
+        if (accounts != null) {
+            accountsRepository.delete(accounts);
+        }
+    }
+
+    @Test
+    void authoritiesAreReadOnce() throws Exception {
+        List<String> authorities = userService.getAuthorities();
+
+        Statistics statistics = TestUtil.withStatistics(em, () -> assertThat(userService.getAuthorities()).isEqualTo(authorities));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void friendsOfAnAccountAreReadOnceUntilTheFriendsChange() throws Exception {
+        accounts = accountsRepository.save(new Accounts().cryptoCurrency("ETH").dateAdded(LocalDate.now()));
+        Friends first = saveFriend();
+        Friends second = saveFriend();
+        getAccountsFriends().andExpect(jsonPath("$", hasSize(2)));
+
+        Statistics statistics = TestUtil.withStatistics(
+            em,
+            () -> getAccountsFriends().andExpect(jsonPath("$[*].id", contains(first.getId().intValue(), second.getId().intValue())))
+        );
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        // the friend written since invalidates the cached ids through the update timestamp of the friends table
+        Friends third = saveFriend();
+        statistics = TestUtil.withStatistics(em, () -> getAccountsFriends().andExpect(jsonPath("$[2].id").value(third.getId().intValue())));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    void latestRatesAreReadOnceUntilTheRatesChange() throws Exception {
+        saveRate(LocalDate.of(2026, 10, 16), "10.00");
+        List<CryptoTracker> latest = cryptoTrackerRepository.findAllLatest();
+
+        Statistics statistics = TestUtil.withStatistics(em, () -> assertThat(cryptoTrackerRepository.findAllLatest()).isEqualTo(latest));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        saveRate(LocalDate.of(2026, 10, 17), "11.00");
+        long statements = TestUtil.countStatements(
+            em,
+            () ->
+                assertThat(cryptoTrackerRepository.findAllLatest())
+                    .filteredOn(cryptoTracker -> CURRENCY.equals(cryptoTracker.getCurrency()))
+                    .singleElement()
+                    .satisfies(cryptoTracker -> assertThat(cryptoTracker.getValue()).isEqualByComparingTo("11.00"))
+        );
+        assertThat(statements).isEqualTo(1);
+    }
+
+    private ResultActions getAccountsFriends() throws Exception {
+        return restAccountsMockMvc.perform(get("/api/accounts/{id}/friends", accounts.getId())).andExpect(status().isOk());
+    }
+
+    private Friends saveFriend() {
+        Friends saved = friendsRepository.save(new Friends().friendName("friend " + friends.size()).accounts(accounts));
+        friends.add(saved);
+        return saved;
+    }
+
+    private void saveRate(LocalDate feedDateTime, String value) {
+        cryptoTrackers.add(
+            cryptoTrackerRepository.save(
+                new CryptoTracker().currency(CURRENCY).feedDateTime(feedDateTime).value(new BigDecimal(value))
+            )
+        );
+    }
+}
@@ -0,0 +1,115 @@
+package com.qualize.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.domain.Settlements;
+import com.qualize.api.domain.enumeration.SettlementStatus;
+import com.qualize.api.repository.AccountsRepository;
+import java.math.BigDecimal;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link BalanceLedgerService}.
+ */
+@IntegrationTest
+@Transactional
+class BalanceLedgerServiceIT {
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private ExpensesService expensesService;
+
+    @Autowired
+    private SettlementsService settlementsService;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Accounts alice;
+
+    private Accounts bob;
+
+    private Expenses expenses;
+
+    @BeforeEach
+    public void init() {
+        alice = new Accounts();
+        bob = new Accounts();
+        em.persist(alice);
+        em.persist(bob);
+        expenses = new Expenses().description("dinner").amount(BigDecimal.ZERO).paidBy(BigDecimal.ZERO);
+        em.persist(expenses);
+        em.persist(new Friends().friendName("alice").accounts(alice).expense(expenses));
+        em.persist(new Friends().friendName("bob").accounts(bob).expense(expenses));
+        em.flush();
+    }
+
+    @Test
+    void assertThatExpenseUpdatesApplyDeltas() {
+        expensesService.partialUpdate(new Expenses().id(expenses.getId()).amount(new BigDecimal("90.00")).paidBy(new BigDecimal("60.00")));
+
+        // 60 paid by you, split in three: 20 per friend; 30 paid by the two friends, 5 of it for you per friend
+        assertBalance(alice, "5.00", "20.00", "15.00");
+        assertBalance(bob, "5.00", "20.00", "15.00");
+
+        expensesService.partialUpdate(new Expenses().id(expenses.getId()).paidBy(new BigDecimal("90.00")));
+
+        assertBalance(alice, "0.00", "30.00", "30.00");
+    }
+
+    @Test
+    void assertThatCompletedSettlementReducesAmountYouOwe() {
+        expensesService.partialUpdate(new Expenses().id(expenses.getId()).amount(new BigDecimal("90.00")));
+        assertBalance(alice, "15.00", "0.00", "-15.00");
+
+        Settlements settlements = new Settlements().description("payback").amountYouOwe(new BigDecimal("30.00"));
+        em.persist(settlements);
+        em.persist(new Friends().friendName("alice").accounts(alice).settlement(settlements));
+        em.persist(new Friends().friendName("bob").accounts(bob).settlement(settlements));
+        em.flush();
+
+        settlementsService.partialUpdate(new Settlements().id(settlements.getId()).settlementStatus(SettlementStatus.COMPLETED));
+
+        assertBalance(alice, "0.00", "0.00", "0.00");
+        assertBalance(bob, "0.00", "0.00", "0.00");
+    }
+
+    @Test
+    void assertThatRebuildMatchesIncrementalBalances() {
+        expensesService.partialUpdate(new Expenses().id(expenses.getId()).amount(new BigDecimal("120.00")).paidBy(new BigDecimal("60.00")));
+        Accounts incremental = accountsRepository.findById(alice.getId()).orElseThrow();
+        BigDecimal youOwe = incremental.getAmountYouOwe();
+        BigDecimal friendOwes = incremental.getAmountFriendOwes();
+
+        alice.setAmountYouOwe(new BigDecimal("999.00"));
+        em.merge(alice);
+        em.flush();
+        balanceLedgerService.rebuildAll();
+
+        Accounts rebuilt = accountsRepository.findById(alice.getId()).orElseThrow();
+        assertThat(rebuilt.getAmountYouOwe()).isEqualByComparingTo(youOwe);
+        assertThat(rebuilt.getAmountFriendOwes()).isEqualByComparingTo(friendOwes);
+    }
+
+    private void assertBalance(Accounts accounts, String youOwe, String friendOwes, String net) {
+        em.flush();
+        em.clear();
+        Accounts reloaded = accountsRepository.findById(accounts.getId()).orElseThrow();
+        assertThat(reloaded.getAmountYouOwe()).isEqualByComparingTo(youOwe);
+        assertThat(reloaded.getAmountFriendOwes()).isEqualByComparingTo(friendOwes);
+        assertThat(reloaded.getNetReceivablePayable()).isEqualByComparingTo(net);
+    }
+}
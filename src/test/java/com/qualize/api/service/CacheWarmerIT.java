@@ -0,0 +1,111 @@
+package com.qualize.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.repository.AccountsRepository;
+import com.qualize.api.repository.FriendsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link CacheWarmer}, with the second-level cache on. The data is committed, to be read by the
+ * warm-up threads, and deleted after each test.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    }
+)
+class CacheWarmerIT {
+
+    @Autowired
+    private CacheWarmer cacheWarmer;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private FriendsRepository friendsRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager em;
+
+    private Cache cache;
+
+    private Map<String, Integer> previousEntities;
+
+    private Accounts accounts;
+
+    private final List<Friends> friends = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        cache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        previousEntities = applicationProperties.getCache().getWarmUp().getEntities();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        applicationProperties.getCache().getWarmUp().setEntities(previousEntities);
+        friendsRepository.deleteAll(friends);
+        if (accounts != null) {
+            accountsRepository.delete(accounts);
+        }
+    }
+
+    @Test
+    void mostRecentlyModifiedEntitiesArePreloaded() {
+        accounts = accountsRepository.save(new Accounts().cryptoCurrency("ETH").dateAdded(LocalDate.now()));
+        Friends oldest = saveFriend(LocalDate.of(2026, 10, 1));
+        Friends newest = saveFriend(LocalDate.of(2026, 10, 15));
+        Friends older = saveFriend(LocalDate.of(2026, 10, 10));
+        cache.evictAllRegions();
+        Map<String, Integer> entities = new LinkedHashMap<>();
+        entities.put(Friends.class.getName(), 2);
+        entities.put("com.qualize.api.domain.Unknown", 10);
+        applicationProperties.getCache().getWarmUp().setEntities(entities);
+        long warmUpsBefore = meterRegistry.timer(CacheWarmer.WARMUP_METER_NAME).count();
+
+        assertThat(cacheWarmer.warmUp()).isEqualTo(2);
+
+        assertThat(cache.containsEntity(Friends.class, newest.getId())).isTrue();
+        assertThat(cache.containsEntity(Friends.class, older.getId())).isTrue();
+        assertThat(cache.containsEntity(Friends.class, oldest.getId())).isFalse();
+        // the associations are joined and preloaded too
+        assertThat(cache.containsEntity(Accounts.class, accounts.getId())).isTrue();
+        assertThat(meterRegistry.timer(CacheWarmer.WARMUP_METER_NAME).count()).isEqualTo(warmUpsBefore + 1);
+        assertThat(meterRegistry.get(CacheWarmer.REGION_METER_NAME).tag("region", Friends.class.getName()).timer().count()).isPositive();
+    }
+
+    private Friends saveFriend(LocalDate dateModified) {
+        Friends saved = friendsRepository.save(
+            new Friends().friendName("friend " + friends.size()).dateModified(dateModified).accounts(accounts)
+        );
+        friends.add(saved);
+        return saved;
+    }
+}
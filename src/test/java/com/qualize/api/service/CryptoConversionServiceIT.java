@@ -0,0 +1,133 @@
+package com.qualize.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.Settlements;
+import com.qualize.api.domain.enumeration.SettlementStatus;
+import com.qualize.api.repository.AccountsRepository;
+import com.qualize.api.repository.SettlementsRepository;
+import com.qualize.api.service.dto.CryptoRateDTO;
+import com.qualize.api.web.rest.TestUtil;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link CryptoConversionService}.
+ */
+@IntegrationTest
+@Transactional
+class CryptoConversionServiceIT {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 17);
+
+    @Autowired
+    private CryptoConversionService cryptoConversionService;
+
+    @Autowired
+    private CryptoRateIngestionService cryptoRateIngestionService;
+
+    @Autowired
+    private LatestCryptoRates latestCryptoRates;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private SettlementsRepository settlementsRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @AfterTransaction
+    void reloadLatestRates() {
+        latestCryptoRates.reload();
+    }
+
+    @Test
+    void assertThatAPageOfAccountsIsPricedWithoutQueries() throws Exception {
+        latestCryptoRates.publish(
+            List.of(new CryptoRateDTO("BTC", new BigDecimal("20000.00"), DAY), new CryptoRateDTO("ETH", new BigDecimal("1250.00"), DAY))
+        );
+        List<Accounts> accounts = List.of(
+            new Accounts().cryptoCurrency("BTC").netReceivablePayable(new BigDecimal("150.00")),
+            new Accounts().cryptoCurrency("ETH").netReceivablePayable(new BigDecimal("-100.00")),
+            new Accounts().cryptoCurrency("BTC").netReceivablePayable(new BigDecimal("7.00")),
+            new Accounts().cryptoCurrency("DOGE").netReceivablePayable(new BigDecimal("10.00")).currencyValue(BigDecimal.ONE)
+        );
+
+        long statements = TestUtil.countStatements(em, () -> assertThat(cryptoConversionService.priceAccounts(accounts)).isEqualTo(3));
+
+        assertThat(statements).isZero();
+
+        assertThat(accounts.get(0).getCurrencyValue()).isEqualByComparingTo("20000.00");
+        assertThat(accounts.get(0).getCryptoReceivablePayable()).isEqualByComparingTo("0.0075");
+        assertThat(accounts.get(1).getCryptoReceivablePayable()).isEqualByComparingTo("-0.08");
+        assertThat(accounts.get(2).getCryptoReceivablePayable()).isEqualByComparingTo("0.00035");
+        // no rate, left as is
+        assertThat(accounts.get(3).getCurrencyValue()).isEqualByComparingTo("1");
+        assertThat(accounts.get(3).getCryptoReceivablePayable()).isNull();
+    }
+
+    @Test
+    void assertThatClosedSettlementsKeepTheirPrice() {
+        latestCryptoRates.publish(List.of(new CryptoRateDTO("BTC", new BigDecimal("20000.00"), DAY)));
+        Settlements open = new Settlements().cryptoCurrency("BTC").amountYouOwe(new BigDecimal("50.00"));
+        Settlements completed = new Settlements()
+            .cryptoCurrency("BTC")
+            .amountYouOwe(new BigDecimal("50.00"))
+            .settlementStatus(SettlementStatus.COMPLETED)
+            .currencyValue(new BigDecimal("18000.00"));
+
+        assertThat(cryptoConversionService.priceSettlements(List.of(open, completed))).isEqualTo(1);
+
+        assertThat(open.getCurrencyValue()).isEqualByComparingTo("20000.00");
+        assertThat(open.getCryptoReceivablePayable()).isEqualByComparingTo("0.0025");
+        assertThat(completed.getCurrencyValue()).isEqualByComparingTo("18000.00");
+        assertThat(completed.getCryptoReceivablePayable()).isNull();
+    }
+
+    @Test
+    void assertThatALandingFeedRepricesOpenAccountsAndSettlements() throws Exception {
+        Accounts btc = accountsRepository.saveAndFlush(
+            new Accounts().cryptoCurrency("BTC").netReceivablePayable(new BigDecimal("193.11")).currencyValue(BigDecimal.ONE)
+        );
+        Accounts ada = accountsRepository.saveAndFlush(
+            new Accounts().cryptoCurrency("ADA").netReceivablePayable(new BigDecimal("10.00")).currencyValue(BigDecimal.ONE)
+        );
+        Settlements open = settlementsRepository.saveAndFlush(
+            new Settlements()
+                .description("open")
+                .cryptoCurrency("ETH")
+                .amountYouOwe(new BigDecimal("130.53"))
+                .settlementStatus(SettlementStatus.INPROGRESS)
+        );
+        Settlements cancelled = settlementsRepository.saveAndFlush(
+            new Settlements()
+                .description("cancelled")
+                .cryptoCurrency("ETH")
+                .amountYouOwe(new BigDecimal("130.53"))
+                .settlementStatus(SettlementStatus.CANCELLED)
+                .currencyValue(BigDecimal.ONE)
+        );
+        em.clear();
+
+        cryptoRateIngestionService.ingest();
+
+        Accounts repriced = accountsRepository.findById(btc.getId()).orElseThrow();
+        assertThat(repriced.getCurrencyValue()).isEqualByComparingTo("19310.55");
+        assertThat(repriced.getCryptoReceivablePayable()).isEqualByComparingTo("0.01000023");
+        assertThat(accountsRepository.findById(ada.getId()).orElseThrow().getCurrencyValue()).isEqualByComparingTo("1");
+        Settlements repricedSettlement = settlementsRepository.findById(open.getId()).orElseThrow();
+        assertThat(repricedSettlement.getCurrencyValue()).isEqualByComparingTo("1305.25");
+        assertThat(repricedSettlement.getCryptoReceivablePayable()).isEqualByComparingTo("0.10000383");
+        assertThat(settlementsRepository.findById(cancelled.getId()).orElseThrow().getCurrencyValue()).isEqualByComparingTo("1");
+    }
+}
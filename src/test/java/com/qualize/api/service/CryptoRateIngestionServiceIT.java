@@ -0,0 +1,141 @@
+package com.qualize.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.CryptoTracker;
+import com.qualize.api.repository.CryptoTrackerRepository;
+import com.qualize.api.service.dto.CryptoRateBucketDTO;
+import com.qualize.api.service.dto.CryptoRateDTO;
+import com.qualize.api.web.rest.TestUtil;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link CryptoRateIngestionService}, reading the feed of {@code rate-feed/rates.json}.
+ */
+@IntegrationTest
+@Transactional
+class CryptoRateIngestionServiceIT {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2026, 10, 16);
+    private static final LocalDate DAY_2 = LocalDate.of(2026, 10, 17);
+
+    @Autowired
+    private CryptoRateIngestionService cryptoRateIngestionService;
+
+    @Autowired
+    private LatestCryptoRates latestCryptoRates;
+
+    @Autowired
+    private CryptoRateSeriesService cryptoRateSeriesService;
+
+    @Autowired
+    private CryptoTrackerRepository cryptoTrackerRepository;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private EntityManager em;
+
+    @AfterTransaction
+    void reloadLatestRates() {
+        latestCryptoRates.reload();
+    }
+
+    @Test
+    void assertThatDistinctRatesAreInsertedInBatches() throws Exception {
+        long databaseSizeBeforeIngestion = cryptoTrackerRepository.count();
+
+        // the duplicate ETH rate of day 2 is collapsed and the SOL rate without a day is skipped
+        Statistics statistics = TestUtil.withStatistics(em, () -> assertThat(cryptoRateIngestionService.ingest()).isEqualTo(6));
+
+        // one lookup of the existing rates, one id block and one batch of inserts, then one page of accounts and one
+        // of settlements to re-price, the delta of the dashboard revision being only inserted at commit
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(6);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+        assertThat(cryptoTrackerRepository.count()).isEqualTo(databaseSizeBeforeIngestion + 6);
+        List<CryptoTracker> eth = cryptoTrackerRepository.findAllByCurrencyInAndFeedDateTimeIn(List.of("ETH"), List.of(DAY_2));
+        assertThat(eth).hasSize(1);
+        assertThat(eth.get(0).getValue()).isEqualByComparingTo("1305.25");
+    }
+
+    @Test
+    void assertThatIngestingAgainOnlyUpdatesChangedRates() throws Exception {
+        cryptoRateIngestionService.ingest();
+        long databaseSizeAfterIngestion = cryptoTrackerRepository.count();
+        CryptoTracker btc = cryptoTrackerRepository.findAllByCurrencyInAndFeedDateTimeIn(List.of("BTC"), List.of(DAY_1)).get(0);
+        btc.setValue(new BigDecimal("1.00"));
+        em.flush();
+        em.clear();
+        long revision = dashboardService.getRevision();
+
+        assertThat(cryptoRateIngestionService.ingest()).isEqualTo(1);
+        assertThat(dashboardService.getRevision()).isEqualTo(revision + 1);
+
+        assertThat(cryptoTrackerRepository.count()).isEqualTo(databaseSizeAfterIngestion);
+        assertThat(cryptoTrackerRepository.findById(btc.getId()).orElseThrow().getValue()).isEqualByComparingTo("19250.10");
+    }
+
+    @Test
+    void assertThatRatesAreRoundedToTheScaleOfTheColumn() throws Exception {
+        assertThat(cryptoRateIngestionService.ingest()).isEqualTo(6);
+
+        // the XRP rate of the feed has more decimals than the column: once stored it must not count as changed
+        assertThat(cryptoRateIngestionService.ingest()).isZero();
+        List<CryptoTracker> xrp = cryptoTrackerRepository.findAllByCurrencyInAndFeedDateTimeIn(List.of("XRP"), List.of(DAY_2));
+        assertThat(xrp).hasSize(1);
+        assertThat(xrp.get(0).getValue()).isEqualByComparingTo("0.47");
+        assertThat(latestCryptoRates.get("XRP")).contains(new CryptoRateDTO("XRP", new BigDecimal("0.47"), DAY_2));
+    }
+
+    @Test
+    void assertThatLatestRatesAreServedFromMemory() throws Exception {
+        cryptoRateIngestionService.ingest();
+
+        long statements = TestUtil.countStatements(
+            em,
+            () -> {
+                assertThat(latestCryptoRates.get("BTC")).contains(new CryptoRateDTO("BTC", new BigDecimal("19310.55"), DAY_2));
+                assertThat(latestCryptoRates.get("ETH")).contains(new CryptoRateDTO("ETH", new BigDecimal("1305.25"), DAY_2));
+                assertThat(latestCryptoRates.get("SOL")).contains(new CryptoRateDTO("SOL", new BigDecimal("31.12"), DAY_2));
+                assertThat(latestCryptoRates.get("DOGE")).isEmpty();
+            }
+        );
+
+        assertThat(statements).isZero();
+    }
+
+    @Test
+    void assertThatReloadKeepsTheNewestRateOfEachCurrency() {
+        cryptoTrackerRepository.saveAndFlush(new CryptoTracker().currency("ADA").value(new BigDecimal("0.25")).feedDateTime(DAY_2));
+        cryptoTrackerRepository.saveAndFlush(new CryptoTracker().currency("ADA").value(new BigDecimal("0.24")).feedDateTime(DAY_1));
+
+        latestCryptoRates.reload();
+
+        assertThat(latestCryptoRates.getAll().values().stream().map(CryptoRateDTO::getCurrency).collect(Collectors.toList()))
+            .doesNotHaveDuplicates();
+        assertThat(latestCryptoRates.get("ADA")).contains(new CryptoRateDTO("ADA", new BigDecimal("0.25"), DAY_2));
+    }
+
+    @Test
+    void assertThatIngestingClearsTheCachedSeries() throws Exception {
+        cryptoRateSeriesService.evictAll();
+        assertThat(cryptoRateSeriesService.findSeries("BTC", DAY_1, DAY_2, RateSeriesBucket.DAY)).isEmpty();
+
+        cryptoRateIngestionService.ingest();
+
+        assertThat(cryptoRateSeriesService.findSeries("BTC", DAY_1, DAY_2, RateSeriesBucket.DAY))
+            .extracting(CryptoRateBucketDTO::getStart)
+            .containsExactly(DAY_1, DAY_2);
+    }
+}
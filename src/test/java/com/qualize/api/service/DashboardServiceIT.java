@@ -0,0 +1,172 @@
+package com.qualize.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.DashboardSummary;
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.repository.AccountsRepository;
+import com.qualize.api.repository.DashboardSummaryDeltaRepository;
+import com.qualize.api.repository.ExpensesRepository;
+import com.qualize.api.repository.FriendsRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link DashboardService}, with the writes committed so that they run concurrently.
+ */
+@IntegrationTest
+class DashboardServiceIT {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ExpensesService expensesService;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private ExpensesRepository expensesRepository;
+
+    @Autowired
+    private FriendsRepository friendsRepository;
+
+    @Autowired
+    private DashboardSummaryDeltaRepository dashboardSummaryDeltaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Friends> friends = new ArrayList<>();
+
+    private Expenses dinner;
+
+    private Expenses lunch;
+
+    @BeforeEach
+    public void init() {
+        dinner = createExpense("dinner", "alice");
+        lunch = createExpense("lunch", "bob");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // the balances are posted back before the rows go, so that the dashboard totals stay those of the accounts
+            for (Expenses expenses : List.of(dinner, lunch)) {
+                expensesService.partialUpdate(new Expenses().id(expenses.getId()).amount(BigDecimal.ZERO).paidBy(BigDecimal.ZERO));
+            }
+            for (Friends friend : friends) {
+                friendsRepository.deleteById(friend.getId());
+                accountsRepository.deleteById(friend.getAccounts().getId());
+            }
+            expensesRepository.deleteById(dinner.getId());
+            expensesRepository.deleteById(lunch.getId());
+        });
+        friends.clear();
+    }
+
+    @Test
+    void concurrentExpenseWritesDoNotWaitForEachOther() throws Exception {
+        DashboardSummary before = dashboardService.getSummary().orElseThrow();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    split(dinner);
+                    written.countDown();
+                    awaitUninterruptibly(release);
+                })
+            );
+            assertThat(written.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+            // the first write is still open, holding the locks it took, and the second one commits without waiting
+            executor.submit(() -> transactionTemplate.executeWithoutResult(status -> split(lunch))).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            release.countDown();
+            first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        // 60 paid by you out of 90, split in two with the one friend of each expense: 30 owed to you, 15 you owe
+        DashboardSummary after = dashboardService.getSummary().orElseThrow();
+        assertThat(after.getRevision()).isEqualTo(before.getRevision() + 2);
+        assertThat(after.getTotalYouOwe()).isEqualByComparingTo(before.getTotalYouOwe().add(new BigDecimal("30.00")));
+        assertThat(after.getTotalFriendOwes()).isEqualByComparingTo(before.getTotalFriendOwes().add(new BigDecimal("60.00")));
+        assertThat(after.getNetReceivablePayable()).isEqualByComparingTo(before.getNetReceivablePayable().add(new BigDecimal("30.00")));
+    }
+
+    @Test
+    void compactKeepsTheTotalsAndTheRevision() {
+        transactionTemplate.executeWithoutResult(status -> split(dinner));
+        DashboardSummary before = dashboardService.getSummary().orElseThrow();
+
+        dashboardService.compact();
+
+        assertThat(dashboardSummaryDeltaRepository.count()).isZero();
+        DashboardSummary after = dashboardService.getSummary().orElseThrow();
+        assertThat(after.getRevision()).isEqualTo(before.getRevision());
+        assertThat(after.getTotalYouOwe()).isEqualByComparingTo(before.getTotalYouOwe());
+        assertThat(after.getTotalFriendOwes()).isEqualByComparingTo(before.getTotalFriendOwes());
+        assertThat(after.getNetReceivablePayable()).isEqualByComparingTo(before.getNetReceivablePayable());
+    }
+
+    @Test
+    void rebuildFoldsTheDeltasIntoTheTotalsOfTheAccounts() {
+        transactionTemplate.executeWithoutResult(status -> split(dinner));
+        DashboardSummary before = dashboardService.getSummary().orElseThrow();
+
+        dashboardService.rebuild();
+
+        assertThat(dashboardSummaryDeltaRepository.count()).isZero();
+        Object[] sums = accountsRepository.sumBalances().get(0);
+        DashboardSummary after = dashboardService.getSummary().orElseThrow();
+        assertThat(after.getRevision()).isEqualTo(before.getRevision() + 1);
+        assertThat(after.getTotalYouOwe()).isEqualByComparingTo((BigDecimal) sums[0]);
+        assertThat(after.getTotalFriendOwes()).isEqualByComparingTo((BigDecimal) sums[1]);
+    }
+
+    private Expenses createExpense(String description, String friendName) {
+        return transactionTemplate.execute(status -> {
+            Accounts accounts = accountsRepository.save(new Accounts());
+            Expenses expenses = expensesRepository.save(
+                new Expenses().description(description).amount(BigDecimal.ZERO).paidBy(BigDecimal.ZERO)
+            );
+            friends.add(friendsRepository.save(new Friends().friendName(friendName).accounts(accounts).expense(expenses)));
+            return expenses;
+        });
+    }
+
+    private void split(Expenses expenses) {
+        expensesService.partialUpdate(new Expenses().id(expenses.getId()).amount(new BigDecimal("90.00")).paidBy(new BigDecimal("60.00")));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.qualize.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DebtSimplifier}.
+ */
+class DebtSimplifierTest {
+
+    @Test
+    void simplifyShouldSettleEveryBalance() {
+        Random random = new Random(42);
+        long[] balances = new long[1000];
+        long total = 0;
+        for (int i = 1; i < balances.length; i++) {
+            balances[i] = random.nextInt(200_000) - 100_000;
+            total += balances[i];
+        }
+        balances[0] = -total;
+
+        List<DebtSimplifier.Transfer> transfers = DebtSimplifier.simplify(balances);
+
+        long[] settled = balances.clone();
+        for (DebtSimplifier.Transfer transfer : transfers) {
+            assertThat(transfer.getCents()).isPositive();
+            settled[transfer.getFrom()] += transfer.getCents();
+            settled[transfer.getTo()] -= transfer.getCents();
+        }
+        assertThat(settled).containsOnly(0L);
+        assertThat(transfers.size()).isLessThan(balances.length);
+    }
+
+    @Test
+    void simplifyShouldMatchOneDebtorWithManyCreditors() {
+        List<DebtSimplifier.Transfer> transfers = DebtSimplifier.simplify(new long[] { -300, 100, 200, 0 });
+
+        assertThat(transfers).hasSize(2);
+        assertThat(transfers.get(0).getFrom()).isZero();
+        assertThat(transfers.get(0).getTo()).isEqualTo(2);
+        assertThat(transfers.get(0).getCents()).isEqualTo(200);
+        assertThat(transfers.get(1).getTo()).isEqualTo(1);
+        assertThat(transfers.get(1).getCents()).isEqualTo(100);
+    }
+
+    @Test
+    void simplifyShouldReturnNoTransferForSettledBalances() {
+        assertThat(DebtSimplifier.simplify(new long[] { 0, 0 })).isEmpty();
+        assertThat(DebtSimplifier.simplify(new long[0])).isEmpty();
+    }
+
+    @Test
+    void simplifyShouldRejectUnbalancedInput() {
+        assertThatThrownBy(() -> DebtSimplifier.simplify(new long[] { 100, -50 })).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.qualize.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.domain.SettlementArchiveOutbox;
+import com.qualize.api.domain.Settlements;
+import com.qualize.api.domain.enumeration.ArchiveStatus;
+import com.qualize.api.repository.SettlementArchiveOutboxRepository;
+import com.qualize.api.repository.SettlementsRepository;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link SettlementArchiveDispatcher}, with a local HTTP stub standing in for web3.storage.
+ */
+@IntegrationTest
+class SettlementArchiveDispatcherIT {
+
+    private static final String STUB_CID = "bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi";
+
+    @Autowired
+    private SettlementArchiveDispatcher dispatcher;
+
+    @Autowired
+    private SettlementsService settlementsService;
+
+    @Autowired
+    private SettlementsRepository settlementsRepository;
+
+    @Autowired
+    private SettlementArchiveOutboxRepository outboxRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private HttpServer stub;
+
+    private final AtomicInteger stubStatus = new AtomicInteger(200);
+
+    private final AtomicReference<String> stubAuthorization = new AtomicReference<>();
+
+    private String previousUrl;
+
+    private Settlements settlements;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext(
+            "/upload",
+            exchange -> {
+                stubAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+                exchange.getRequestBody().readAllBytes();
+                byte[] body = ("{\"cid\":\"" + STUB_CID + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(stubStatus.get(), body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        );
+        stub.start();
+
+        ApplicationProperties.Archive archive = applicationProperties.getArchive();
+        previousUrl = archive.getUrl();
+        archive.setUrl("http://localhost:" + stub.getAddress().getPort() + "/upload");
+        archive.setToken("test-token");
+        archive.setEnabled(true);
+
+        settlements = settlementsRepository.saveAndFlush(new Settlements().description("archived settlement"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stub.stop(0);
+        ApplicationProperties.Archive archive = applicationProperties.getArchive();
+        archive.setUrl(previousUrl);
+        archive.setToken(null);
+        archive.setEnabled(false);
+        outboxRepository.deleteAll();
+        settlementsRepository.deleteById(settlements.getId());
+    }
+
+    @Test
+    void assertThatUpdateQueuesArchiveAndDispatcherStoresCid() {
+        settlementsService.update(settlements.description("updated settlement"));
+
+        List<SettlementArchiveOutbox> pending = outboxRepository.findAll();
+        assertThat(pending).hasSize(1);
+        assertThat(pending.get(0).getStatus()).isEqualTo(ArchiveStatus.PENDING);
+        assertThat(pending.get(0).getPayload()).contains("updated settlement");
+
+        assertThat(dispatcher.dispatchPendingArchives()).isEqualTo(1);
+
+        assertThat(stubAuthorization.get()).isEqualTo("Bearer test-token");
+        assertThat(outboxRepository.findAll()).extracting(SettlementArchiveOutbox::getStatus).containsExactly(ArchiveStatus.ARCHIVED);
+        assertThat(settlementsRepository.findById(settlements.getId()).orElseThrow().getArchiveCid()).isEqualTo(STUB_CID);
+    }
+
+    @Test
+    void assertThatFailedArchiveIsRetriedWithBackoff() {
+        stubStatus.set(503);
+        settlementsService.update(settlements);
+
+        assertThat(dispatcher.dispatchPendingArchives()).isZero();
+
+        SettlementArchiveOutbox outbox = outboxRepository.findAll().get(0);
+        assertThat(outbox.getStatus()).isEqualTo(ArchiveStatus.PENDING);
+        assertThat(outbox.getAttempts()).isEqualTo(1);
+        assertThat(outbox.getLastError()).contains("503");
+        assertThat(outbox.getNextAttemptAt()).isAfter(Instant.now());
+
+        // not due yet: the next dispatch leaves it alone
+        stubStatus.set(200);
+        assertThat(dispatcher.dispatchPendingArchives()).isZero();
+        assertThat(settlementsRepository.findById(settlements.getId()).orElseThrow().getArchiveCid()).isNull();
+    }
+}
@@ -8,6 +8,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.qualize.api.IntegrationTest;
 import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Settlements;
 import com.qualize.api.domain.enumeration.AccountStatus;
 import com.qualize.api.repository.AccountsRepository;
 import java.math.BigDecimal;
@@ -24,6 +26,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -64,6 +68,8 @@ class AccountsResourceIT {
     private static final AccountStatus DEFAULT_ACCOUNT_STATUS = AccountStatus.GREEN;
     private static final AccountStatus UPDATED_ACCOUNT_STATUS = AccountStatus.RED;
 
+    private static final int PAGE_SIZE = 20;
+
     private static final String ENTITY_API_URL = "/api/accounts";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -195,6 +201,96 @@ class AccountsResourceIT {
             .andExpect(jsonPath("$.[*].accountStatus").value(hasItem(DEFAULT_ACCOUNT_STATUS.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllAccountsIsReadInFixedStatements() throws Exception {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Accounts linked = createEntity(em);
+            em.persist(linked);
+            Expenses expenses = ExpensesResourceIT.createEntity(em);
+            em.persist(expenses);
+            em.persist(GroupsResourceIT.createEntity(em).expenses(expenses));
+            Settlements settlements = SettlementsResourceIT.createEntity(em);
+            em.persist(settlements);
+            em.persist(FriendsResourceIT.createEntity(em).accounts(linked).expense(expenses).settlement(settlements));
+            em.persist(FriendsResourceIT.createEntity(em).accounts(linked));
+        }
+        em.flush();
+        em.clear();
+
+        String url = ENTITY_API_URL + "?page=0&size=" + PAGE_SIZE + "&sort=id,desc";
+        // one statement for the page, one for the count
+        assertReadWithinStatements(url, 2, jsonPath("$.length()").value(PAGE_SIZE), jsonPath("$.[0].friendNames").isEmpty());
+        // and one for the friends of the whole page, with their expense and settlement
+        assertReadWithinStatements(
+            url + "&include=friendNames",
+            3,
+            jsonPath("$.length()").value(PAGE_SIZE),
+            jsonPath("$.[0].friendNames.length()").value(2),
+            jsonPath("$.[" + (PAGE_SIZE - 1) + "].friendNames.length()").value(2)
+        );
+
+        restAccountsMockMvc.perform(get(ENTITY_API_URL + "?include=paidBies")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllAccountSummaries() throws Exception {
+        accountsRepository.saveAndFlush(accounts);
+        em.clear();
+
+        // at most one statement for the page and one for the count
+        assertReadWithinStatements(
+            ENTITY_API_URL + "?view=summary&sort=id,desc",
+            2,
+            jsonPath("$.[0].id").value(accounts.getId().intValue()),
+            jsonPath("$.[0].amountYouOwe").value(sameNumber(DEFAULT_AMOUNT_YOU_OWE)),
+            jsonPath("$.[0].amountFriendOwes").value(sameNumber(DEFAULT_AMOUNT_FRIEND_OWES)),
+            jsonPath("$.[0].netReceivablePayable").value(sameNumber(DEFAULT_NET_RECEIVABLE_PAYABLE)),
+            jsonPath("$.[0].cryptoCurrency").value(DEFAULT_CRYPTO_CURRENCY),
+            jsonPath("$.[0].accountStatus").value(DEFAULT_ACCOUNT_STATUS.toString()),
+            jsonPath("$.[0].cryptoReceivablePayable").doesNotExist(),
+            jsonPath("$.[0].friendNames").doesNotExist()
+        );
+    }
+
+    private void assertReadWithinStatements(String url, int maxStatements, ResultMatcher... matchers) throws Exception {
+        long statements = TestUtil.countStatements(
+            em,
+            () -> {
+                ResultActions result = restAccountsMockMvc.perform(get(url)).andExpect(status().isOk());
+                for (ResultMatcher matcher : matchers) {
+                    result.andExpect(matcher);
+                }
+            }
+        );
+
+        assertThat(statements).isLessThanOrEqualTo(maxStatements);
+    }
+
+    @Test
+    @Transactional
+    void exportAccountsAsCsv() throws Exception {
+        // Initialize the database
+        accountsRepository.saveAndFlush(accounts);
+
+        String csv = restAccountsMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = csv.split("\n");
+        assertThat(lines[0])
+            .isEqualTo(
+                "id,amountYouOwe,amountFriendOwes,netReceivablePayable,cryptoCurrency,currencyValue,cryptoReceivablePayable," +
+                "sortOrder,dateAdded,dateModified,accountStatus"
+            );
+        assertThat(lines).hasSize((int) accountsRepository.count() + 1).anySatisfy(line -> assertThat(line).startsWith(accounts.getId() + ","));
+    }
+
     @Test
     @Transactional
     void getAccounts() throws Exception {
@@ -274,6 +370,51 @@ class AccountsResourceIT {
         assertThat(testAccounts.getAccountStatus()).isEqualTo(UPDATED_ACCOUNT_STATUS);
     }
 
+    @Test
+    @Transactional
+    void putAccountsWithoutVersion() throws Exception {
+        accountsRepository.saveAndFlush(accounts);
+        int databaseSizeBeforeUpdate = accountsRepository.findAll().size();
+
+        // a client unaware of the version updates the stored accounts rather than inserting a copy of it
+        Accounts updatedAccounts = new Accounts().amountYouOwe(UPDATED_AMOUNT_YOU_OWE).accountStatus(UPDATED_ACCOUNT_STATUS);
+        updatedAccounts.setId(accounts.getId());
+        restAccountsMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, accounts.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedAccounts))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(accounts.getId().intValue()));
+
+        List<Accounts> accountsList = accountsRepository.findAll();
+        assertThat(accountsList).hasSize(databaseSizeBeforeUpdate);
+        Accounts testAccounts = accountsRepository.findById(accounts.getId()).orElseThrow();
+        assertThat(testAccounts.getAmountYouOwe()).isEqualByComparingTo(UPDATED_AMOUNT_YOU_OWE);
+        assertThat(testAccounts.getAccountStatus()).isEqualTo(UPDATED_ACCOUNT_STATUS);
+        assertThat(testAccounts.getCryptoCurrency()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void putAccountsWithStaleVersion() throws Exception {
+        accountsRepository.saveAndFlush(accounts);
+
+        Accounts updatedAccounts = new Accounts().amountYouOwe(UPDATED_AMOUNT_YOU_OWE).version(accounts.getVersion() - 1);
+        updatedAccounts.setId(accounts.getId());
+        restAccountsMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, accounts.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedAccounts))
+            )
+            .andExpect(status().isConflict());
+
+        Accounts testAccounts = accountsRepository.findById(accounts.getId()).orElseThrow();
+        assertThat(testAccounts.getAmountYouOwe()).isEqualByComparingTo(DEFAULT_AMOUNT_YOU_OWE);
+    }
+
     @Test
     @Transactional
     void putNonExistingAccounts() throws Exception {
@@ -373,6 +514,37 @@ class AccountsResourceIT {
         assertThat(testAccounts.getAccountStatus()).isEqualTo(DEFAULT_ACCOUNT_STATUS);
     }
 
+    @Test
+    @Transactional
+    void partialUpdateAccountsWithStaleVersion() throws Exception {
+        accountsRepository.saveAndFlush(accounts);
+        Long version = accounts.getVersion();
+
+        Accounts partialUpdatedAccounts = new Accounts().amountYouOwe(UPDATED_AMOUNT_YOU_OWE).version(version);
+        partialUpdatedAccounts.setId(accounts.getId());
+        restAccountsMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, accounts.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedAccounts))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+        assertThat(accountsRepository.findById(accounts.getId()).orElseThrow().getVersion()).isEqualTo(version + 1);
+
+        // a concurrent update read at the same version is rejected rather than overwriting the first one
+        partialUpdatedAccounts.amountYouOwe(DEFAULT_AMOUNT_YOU_OWE);
+        restAccountsMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, accounts.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedAccounts))
+            )
+            .andExpect(status().isConflict());
+        Accounts testAccounts = accountsRepository.findById(accounts.getId()).orElseThrow();
+        assertThat(testAccounts.getAmountYouOwe()).isEqualByComparingTo(UPDATED_AMOUNT_YOU_OWE);
+    }
+
     @Test
     @Transactional
     void fullUpdateAccountsWithPatch() throws Exception {
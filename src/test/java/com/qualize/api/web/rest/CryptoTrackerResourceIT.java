@@ -9,9 +9,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.qualize.api.IntegrationTest;
 import com.qualize.api.domain.CryptoTracker;
 import com.qualize.api.repository.CryptoTrackerRepository;
+import com.qualize.api.service.CryptoRateSeriesService;
+import com.qualize.api.service.LatestCryptoRates;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -50,6 +53,11 @@ class CryptoTrackerResourceIT {
 
     private static final String ENTITY_API_URL = "/api/crypto-trackers";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_SERIES = ENTITY_API_URL + "/{currency}/series";
+
+    private static final String SERIES_CURRENCY = "SERIES";
+
+    private static final String BULK_CURRENCY = "BULK";
 
     private static Random random = new Random();
     private static AtomicLong count = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -63,6 +71,12 @@ class CryptoTrackerResourceIT {
     @Autowired
     private MockMvc restCryptoTrackerMockMvc;
 
+    @Autowired
+    private CryptoRateSeriesService cryptoRateSeriesService;
+
+    @Autowired
+    private LatestCryptoRates latestCryptoRates;
+
     private CryptoTracker cryptoTracker;
 
     /**
@@ -442,4 +456,127 @@ class CryptoTrackerResourceIT {
         List<CryptoTracker> cryptoTrackerList = cryptoTrackerRepository.findAll();
         assertThat(cryptoTrackerList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void getCryptoRateSeriesByWeek() throws Exception {
+        // Initialize the database
+        saveSeries();
+
+        restCryptoTrackerMockMvc
+            .perform(get(ENTITY_API_URL_SERIES + "?from=2026-10-05&to=2026-10-31&bucket=week", SERIES_CURRENCY))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].start").value("2026-10-05"))
+            .andExpect(jsonPath("$[0].open").value(sameNumber(new BigDecimal("10"))))
+            .andExpect(jsonPath("$[0].high").value(sameNumber(new BigDecimal("30"))))
+            .andExpect(jsonPath("$[0].low").value(sameNumber(new BigDecimal("5"))))
+            .andExpect(jsonPath("$[0].close").value(sameNumber(new BigDecimal("5"))))
+            .andExpect(jsonPath("$[0].samples").value(3))
+            .andExpect(jsonPath("$[1].start").value("2026-10-12"))
+            .andExpect(jsonPath("$[1].open").value(sameNumber(new BigDecimal("12"))))
+            .andExpect(jsonPath("$[1].close").value(sameNumber(new BigDecimal("11"))))
+            .andExpect(jsonPath("$[1].samples").value(2));
+    }
+
+    @Test
+    @Transactional
+    void getCryptoRateSeriesByMonth() throws Exception {
+        // Initialize the database
+        saveSeries();
+
+        restCryptoTrackerMockMvc
+            .perform(get(ENTITY_API_URL_SERIES + "?from=2026-10-01&to=2026-11-30&bucket=month", SERIES_CURRENCY))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].start").value("2026-10-01"))
+            .andExpect(jsonPath("$[0].open").value(sameNumber(new BigDecimal("10"))))
+            .andExpect(jsonPath("$[0].high").value(sameNumber(new BigDecimal("30"))))
+            .andExpect(jsonPath("$[0].low").value(sameNumber(new BigDecimal("5"))))
+            .andExpect(jsonPath("$[0].close").value(sameNumber(new BigDecimal("11"))))
+            .andExpect(jsonPath("$[0].samples").value(5))
+            .andExpect(jsonPath("$[1].start").value("2026-11-01"))
+            .andExpect(jsonPath("$[1].samples").value(1));
+    }
+
+    @Test
+    @Transactional
+    void getCryptoRateSeriesIsServedFromTheCache() throws Exception {
+        // Initialize the database
+        saveSeries();
+        String url = ENTITY_API_URL_SERIES + "?from=2026-10-01&to=2026-10-31&bucket=day";
+        restCryptoTrackerMockMvc.perform(get(url, SERIES_CURRENCY)).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(5));
+
+        long statements = TestUtil.countStatements(
+            em,
+            () ->
+                restCryptoTrackerMockMvc
+                    .perform(get(url, SERIES_CURRENCY))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(5))
+        );
+
+        assertThat(statements).isZero();
+
+        saveRate("2026-10-20", "1");
+        cryptoRateSeriesService.evictAll();
+        restCryptoTrackerMockMvc.perform(get(url, SERIES_CURRENCY)).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(6));
+    }
+
+    @Test
+    void bulkWritesRefreshTheRatesOnceAfterCommit() throws Exception {
+        // not transactional, so that the refresh after commit runs and is counted
+        try {
+            long oneItem = TestUtil.countStatements(em, () -> createInBulk(1));
+            long tenItems = TestUtil.countStatements(em, () -> createInBulk(10));
+
+            // one batch of inserts, then one reload of the rates and one increment of the dashboard revision, whatever
+            // the number of items; the id block may need one more statement
+            assertThat(tenItems).isLessThanOrEqualTo(oneItem + 1);
+        } finally {
+            cryptoTrackerRepository.deleteAll(
+                cryptoTrackerRepository.findAllByCurrencyInAndFeedDateTimeIn(List.of(BULK_CURRENCY), List.of(DEFAULT_FEED_DATE_TIME))
+            );
+            latestCryptoRates.reload();
+        }
+    }
+
+    @Test
+    @Transactional
+    void getCryptoRateSeriesWithInvalidParameters() throws Exception {
+        restCryptoTrackerMockMvc.perform(get(ENTITY_API_URL_SERIES + "?bucket=hour", SERIES_CURRENCY)).andExpect(status().isBadRequest());
+        restCryptoTrackerMockMvc
+            .perform(get(ENTITY_API_URL_SERIES + "?from=2026-10-02&to=2026-10-01", SERIES_CURRENCY))
+            .andExpect(status().isBadRequest());
+    }
+
+    private void createInBulk(int size) throws Exception {
+        List<CryptoTracker> cryptoTrackers = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            cryptoTrackers.add(createEntity(em).currency(BULK_CURRENCY));
+        }
+        restCryptoTrackerMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cryptoTrackers))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(size));
+    }
+
+    private void saveSeries() {
+        cryptoRateSeriesService.evictAll();
+        saveRate("2026-10-05", "10");
+        saveRate("2026-10-07", "30");
+        saveRate("2026-10-09", "5");
+        saveRate("2026-10-12", "12");
+        saveRate("2026-10-14", "11");
+        saveRate("2026-11-02", "13");
+    }
+
+    private void saveRate(String day, String value) {
+        cryptoTrackerRepository.saveAndFlush(
+            new CryptoTracker().currency(SERIES_CURRENCY).value(new BigDecimal(value)).feedDateTime(LocalDate.parse(day))
+        );
+    }
 }
@@ -0,0 +1,225 @@
+package com.qualize.api.web.rest;
+
+import static com.qualize.api.web.rest.TestUtil.sameNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.DashboardSummary;
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Friends;
+import com.qualize.api.service.DashboardService;
+import com.qualize.api.service.ExpensesService;
+import java.math.BigDecimal;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link DashboardResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class DashboardResourceIT {
+
+    private static final String SUMMARY_API_URL = "/api/dashboard/summary";
+    private static final String BY_FRIEND_API_URL = "/api/dashboard/by-friend";
+
+    @Autowired
+    private ExpensesService expensesService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restDashboardMockMvc;
+
+    private Accounts alice;
+
+    private Friends aliceFriend;
+
+    private Expenses expenses;
+
+    private BigDecimal totalYouOwe;
+
+    private BigDecimal totalFriendOwes;
+
+    private long revision;
+
+    @BeforeEach
+    public void initTest() {
+        alice = new Accounts();
+        Accounts bob = new Accounts();
+        em.persist(alice);
+        em.persist(bob);
+        expenses = new Expenses().description("dinner").amount(BigDecimal.ZERO).paidBy(BigDecimal.ZERO);
+        em.persist(expenses);
+        aliceFriend = new Friends().friendName("alice").accounts(alice).expense(expenses);
+        em.persist(aliceFriend);
+        em.persist(new Friends().friendName("bob").accounts(bob).expense(expenses));
+        em.flush();
+        em.clear();
+
+        DashboardSummary summary = dashboardService.getSummary().orElseThrow();
+        totalYouOwe = summary.getTotalYouOwe();
+        totalFriendOwes = summary.getTotalFriendOwes();
+        revision = summary.getRevision();
+        em.clear();
+    }
+
+    @Test
+    void getSummaryAddsExpenseWrites() throws Exception {
+        expensesService.partialUpdate(new Expenses().id(expenses.getId()).amount(new BigDecimal("90.00")).paidBy(new BigDecimal("60.00")));
+
+        // 5.00 you owe and 20.00 owed to you on each of the two accounts
+        restDashboardMockMvc
+            .perform(get(SUMMARY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (revision + 1) + "\""))
+            .andExpect(jsonPath("$.totalYouOwe").value(sameNumber(totalYouOwe.add(new BigDecimal("10.00")))))
+            .andExpect(jsonPath("$.totalFriendOwes").value(sameNumber(totalFriendOwes.add(new BigDecimal("40.00")))))
+            .andExpect(
+                jsonPath("$.netReceivablePayable").value(sameNumber(totalFriendOwes.subtract(totalYouOwe).add(new BigDecimal("30.00"))))
+            );
+    }
+
+    @Test
+    void getSummaryWithMatchingETagIsNotModified() throws Exception {
+        String eTag = restDashboardMockMvc
+            .perform(get(SUMMARY_API_URL))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        long statements = TestUtil.countStatements(
+            em,
+            () ->
+                restDashboardMockMvc
+                    .perform(get(SUMMARY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag))
+        );
+
+        // only the revision is read
+        assertThat(statements).isEqualTo(1);
+
+        expensesService.partialUpdate(new Expenses().id(expenses.getId()).amount(new BigDecimal("90.00")));
+
+        restDashboardMockMvc
+            .perform(get(SUMMARY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (revision + 1) + "\""));
+    }
+
+    @Test
+    void getByFriend() throws Exception {
+        expensesService.partialUpdate(new Expenses().id(expenses.getId()).amount(new BigDecimal("90.00")).paidBy(new BigDecimal("60.00")));
+        String eTag = "\"" + (revision + 1) + "\"";
+
+        restDashboardMockMvc
+            .perform(get(BY_FRIEND_API_URL + "?sort=id,desc&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[1].accountId").value(alice.getId().intValue()))
+            .andExpect(jsonPath("$.[1].friendName").value("alice"))
+            .andExpect(jsonPath("$.[1].amountYouOwe").value(sameNumber(new BigDecimal("5.00"))))
+            .andExpect(jsonPath("$.[1].amountFriendOwes").value(sameNumber(new BigDecimal("20.00"))))
+            .andExpect(jsonPath("$.[1].netReceivablePayable").value(sameNumber(new BigDecimal("15.00"))));
+
+        restDashboardMockMvc
+            .perform(get(BY_FRIEND_API_URL + "?sort=id,desc&size=2").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getByFriendChangesOnFriendRenames() throws Exception {
+        String eTag = restDashboardMockMvc
+            .perform(get(BY_FRIEND_API_URL + "?sort=id,desc&size=2"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restDashboardMockMvc
+            .perform(
+                patch("/api/friends/{id}", aliceFriend.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(new Friends().id(aliceFriend.getId()).friendName("alicia")))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+
+        restDashboardMockMvc
+            .perform(get(BY_FRIEND_API_URL + "?sort=id,desc&size=2").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (revision + 1) + "\""))
+            .andExpect(jsonPath("$.[1].friendName").value("alicia"));
+    }
+
+    @Test
+    void getSummaryChangesOnBalanceChangesThatCancelOut() throws Exception {
+        dashboardService.addToTotals(BigDecimal.ZERO, BigDecimal.ZERO);
+        em.flush();
+
+        restDashboardMockMvc
+            .perform(get(SUMMARY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (revision + 1) + "\""))
+            .andExpect(jsonPath("$.totalYouOwe").value(sameNumber(totalYouOwe)));
+    }
+
+    @Test
+    void getSummaryAddsAccountWrites() throws Exception {
+        restDashboardMockMvc
+            .perform(
+                patch("/api/accounts/{id}", alice.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(new Accounts().id(alice.getId()).amountYouOwe(new BigDecimal("40.00"))))
+            )
+            .andExpect(status().isOk());
+        String location = restDashboardMockMvc
+            .perform(
+                post("/api/accounts")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(new Accounts().amountYouOwe(new BigDecimal("100.00"))))
+            )
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LOCATION);
+        em.flush();
+
+        restDashboardMockMvc
+            .perform(get(SUMMARY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (revision + 2) + "\""))
+            .andExpect(jsonPath("$.totalYouOwe").value(sameNumber(totalYouOwe.add(new BigDecimal("140.00")))))
+            .andExpect(jsonPath("$.totalFriendOwes").value(sameNumber(totalFriendOwes)));
+
+        restDashboardMockMvc.perform(delete(location)).andExpect(status().isNoContent());
+        em.flush();
+
+        restDashboardMockMvc
+            .perform(get(SUMMARY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (revision + 3) + "\""))
+            .andExpect(jsonPath("$.totalYouOwe").value(sameNumber(totalYouOwe.add(new BigDecimal("40.00")))));
+    }
+}
@@ -2,27 +2,52 @@ package com.qualize.api.web.rest;
 
 import static com.qualize.api.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.qualize.api.IntegrationTest;
+import com.qualize.api.config.ApplicationProperties;
+import com.qualize.api.domain.Accounts;
+import com.qualize.api.domain.Activities;
 import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Groups;
+import com.qualize.api.domain.Settlements;
 import com.qualize.api.repository.ExpensesRepository;
+import com.qualize.api.repository.KeysetCursor;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -54,6 +79,10 @@ class ExpensesResourceIT {
     private static final LocalDate DEFAULT_DATE_MODIFIED = LocalDate.ofEpochDay(0L);
     private static final LocalDate UPDATED_DATE_MODIFIED = LocalDate.now(ZoneId.systemDefault());
 
+    private static final int SEEDED_EXPENSES = 50_000;
+
+    private static final int PAGE_SIZE = 20;
+
     private static final String ENTITY_API_URL = "/api/expenses";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -63,9 +92,15 @@ class ExpensesResourceIT {
     @Autowired
     private ExpensesRepository expensesRepository;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private MockMvc restExpensesMockMvc;
 
@@ -190,6 +225,430 @@ class ExpensesResourceIT {
             .andExpect(jsonPath("$.[*].dateModified").value(hasItem(DEFAULT_DATE_MODIFIED.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllExpensesIsReadInFixedStatements() throws Exception {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Expenses linked = createEntity(em);
+            em.persist(linked);
+            em.persist(GroupsResourceIT.createEntity(em).expenses(linked));
+            em.persist(ActivitiesResourceIT.createEntity(em).expenseDetails(linked));
+            Settlements settlements = SettlementsResourceIT.createEntity(em);
+            em.persist(settlements);
+            Accounts accounts = AccountsResourceIT.createEntity(em);
+            em.persist(accounts);
+            em.persist(FriendsResourceIT.createEntity(em).expense(linked).settlement(settlements).accounts(accounts));
+            em.persist(FriendsResourceIT.createEntity(em).expense(linked));
+        }
+        em.flush();
+        em.clear();
+
+        String url = ENTITY_API_URL + "?page=0&size=" + PAGE_SIZE + "&sort=id,desc";
+        // one statement for the page with its group and activity, one for the count
+        assertReadWithinStatements(
+            get(url),
+            2,
+            jsonPath("$.length()").value(PAGE_SIZE),
+            jsonPath("$.[0].groupName.id").isNumber(),
+            jsonPath("$.[0].activities.id").isNumber(),
+            jsonPath("$.[0].paidBies").isEmpty()
+        );
+        // and one for the friends of the whole page
+        assertReadWithinStatements(
+            get(url + "&include=paidBies"),
+            3,
+            jsonPath("$.length()").value(PAGE_SIZE),
+            jsonPath("$.[0].paidBies.length()").value(2),
+            jsonPath("$.[" + (PAGE_SIZE - 1) + "].paidBies.length()").value(2)
+        );
+        // a keyset page is not counted
+        assertReadWithinStatements(
+            get(ENTITY_API_URL + "?after=&size=" + PAGE_SIZE + "&sort=id,desc&include=paidBies"),
+            2,
+            jsonPath("$.[0].paidBies.length()").value(2)
+        );
+
+        restExpensesMockMvc.perform(get(ENTITY_API_URL + "?include=groupName")).andExpect(status().isBadRequest());
+    }
+
+    private void assertReadWithinStatements(RequestBuilder request, int maxStatements, ResultMatcher... matchers) throws Exception {
+        long statements = TestUtil.countStatements(
+            em,
+            () -> {
+                ResultActions result = restExpensesMockMvc.perform(request).andExpect(status().isOk());
+                for (ResultMatcher matcher : matchers) {
+                    result.andExpect(matcher);
+                }
+            }
+        );
+
+        assertThat(statements).isLessThanOrEqualTo(maxStatements);
+    }
+
+    @Test
+    @Transactional
+    void getAllExpenseSummaries() throws Exception {
+        expensesRepository.saveAndFlush(expenses);
+        em.persist(GroupsResourceIT.createEntity(em).expenses(expenses));
+        em.flush();
+        em.clear();
+
+        // at most one statement for the page and one for the count, without the group of the expense
+        assertReadWithinStatements(
+            get(ENTITY_API_URL + "?view=summary&sort=id,desc"),
+            2,
+            jsonPath("$.[0].id").value(expenses.getId().intValue()),
+            jsonPath("$.[0].description").value(DEFAULT_DESCRIPTION),
+            jsonPath("$.[0].amount").value(sameNumber(DEFAULT_AMOUNT)),
+            jsonPath("$.[0].paidBy").value(sameNumber(DEFAULT_PAID_BY)),
+            jsonPath("$.[0].cryptoCurrency").value(DEFAULT_CRYPTO_CURRENCY),
+            jsonPath("$.[0].dateAdded").value(DEFAULT_DATE_ADDED.toString()),
+            jsonPath("$.[0].sortOrder").doesNotExist(),
+            jsonPath("$.[0].groupName").doesNotExist()
+        );
+
+        restExpensesMockMvc.perform(get(ENTITY_API_URL + "?view=full")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllExpensesWithSparseFieldset() throws Exception {
+        expensesRepository.saveAndFlush(expenses);
+        em.persist(GroupsResourceIT.createEntity(em).expenses(expenses));
+        em.flush();
+        em.clear();
+
+        // the fields are all in the summary, so the columns are read rather than the entities
+        Statistics statistics = TestUtil.withStatistics(
+            em,
+            () ->
+                restExpensesMockMvc
+                    .perform(get(ENTITY_API_URL + "?fields=id,description,amount&sort=id,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                    .andExpect(jsonPath("$.[0].id").value(expenses.getId().intValue()))
+                    .andExpect(jsonPath("$.[0].description").value(DEFAULT_DESCRIPTION))
+                    .andExpect(jsonPath("$.[0].amount").value(sameNumber(DEFAULT_AMOUNT)))
+                    .andExpect(jsonPath("$.[0].paidBy").doesNotExist())
+                    .andExpect(jsonPath("$.[0].dateAdded").doesNotExist())
+        );
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        // the group is not in the summary, so the entities are read, and the group is written whole
+        restExpensesMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=id&fields=groupName&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(expenses.getId().intValue()))
+            .andExpect(jsonPath("$.[0].description").doesNotExist())
+            .andExpect(jsonPath("$.[0].groupName.id").isNumber())
+            .andExpect(jsonPath("$.[0].groupName.name").isString());
+
+        restExpensesMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=cryptoCurrency", expenses.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cryptoCurrency").value(DEFAULT_CRYPTO_CURRENCY))
+            .andExpect(jsonPath("$.id").doesNotExist())
+            .andExpect(jsonPath("$.amount").doesNotExist());
+
+        // without fields every property is written
+        restExpensesMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=", expenses.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(expenses.getId().intValue()))
+            .andExpect(jsonPath("$.amount").value(sameNumber(DEFAULT_AMOUNT)));
+
+        // a field that is not a property is rejected rather than leaving the objects empty
+        restExpensesMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=id,nme"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldsinvalid"));
+        restExpensesMockMvc.perform(get(ENTITY_API_URL_ID + "?fields=nme", expenses.getId())).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllExpensesWhereGroupNameIsNull() throws Exception {
+        seedExpenses();
+        Groups groups = GroupsResourceIT.createEntity(em).expenses(expenses);
+        em.persist(groups);
+        em.flush();
+        em.clear();
+
+        assertFilterIsPagedInTwoStatements("groupname-is-null", "jhi_groups g where g.expenses_id");
+    }
+
+    @Test
+    @Transactional
+    void getAllExpensesWhereActivitiesIsNull() throws Exception {
+        seedExpenses();
+        Activities activities = ActivitiesResourceIT.createEntity(em).expenseDetails(expenses);
+        em.persist(activities);
+        em.flush();
+        em.clear();
+
+        assertFilterIsPagedInTwoStatements("activities-is-null", "activities a where a.expense_details_id");
+    }
+
+    private void seedExpenses() {
+        expensesRepository.saveAndFlush(expenses);
+        // ids above the generator's current block, so that they never clash with entities persisted afterwards
+        long firstId = expenses.getId() + 1_000_000;
+        List<Object[]> rows = new ArrayList<>(SEEDED_EXPENSES);
+        for (int i = 0; i < SEEDED_EXPENSES; i++) {
+            rows.add(new Object[] { firstId + i, DEFAULT_DESCRIPTION + i, DEFAULT_AMOUNT, DEFAULT_PAID_BY });
+        }
+        jdbcTemplate.batchUpdate("insert into expenses (id, description, amount, paid_by) values (?, ?, ?, ?)", rows);
+    }
+
+    private void assertFilterIsPagedInTwoStatements(String filter, String antiJoin) throws Exception {
+        Long expectedTotal = jdbcTemplate.queryForObject(
+            "select count(*) from expenses e where not exists (select 1 from " + antiJoin + " = e.id)",
+            Long.class
+        );
+        assertThat(expectedTotal).isGreaterThanOrEqualTo(SEEDED_EXPENSES);
+
+        long statements = TestUtil.countStatements(
+            em,
+            () ->
+                restExpensesMockMvc
+                    .perform(get(ENTITY_API_URL + "?filter=" + filter + "&page=1&size=20&sort=id,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Total-Count", expectedTotal.toString()))
+                    .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+                    .andExpect(jsonPath("$.length()").value(20))
+                    .andExpect(jsonPath("$.[*].id").value(not(hasItem(expenses.getId().intValue()))))
+        );
+
+        // one statement for the page, one for the count, whatever the number of expenses
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    void getAllExpensesByKeyset() throws Exception {
+        // Initialize the database with ties and nulls on the sort key
+        List<Expenses> created = new ArrayList<>();
+        for (Integer sortOrder : new Integer[] { 3, null, 1, 3, null, 2, 1 }) {
+            created.add(createEntity(em).sortOrder(sortOrder));
+        }
+        expensesRepository.saveAllAndFlush(created);
+        em.clear();
+
+        // nulls first, as sorted by the database, then ties broken by id
+        Comparator<Expenses> keysetOrder = Comparator
+            .comparing(Expenses::getSortOrder, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Expenses::getId);
+        List<Long> expectedIds = created.stream().sorted(keysetOrder).map(Expenses::getId).collect(Collectors.toList());
+
+        List<Long> ids = new ArrayList<>();
+        String url = ENTITY_API_URL + "?after=&size=2&sort=sortOrder,asc";
+        while (url != null) {
+            MockHttpServletResponse response = restExpensesMockMvc
+                .perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$.length()").value(lessThanOrEqualTo(2)))
+                .andReturn()
+                .getResponse();
+            List<Number> pageIds = JsonPath.read(response.getContentAsString(), "$.[*].id");
+            pageIds.forEach(id -> ids.add(id.longValue()));
+            url = nextLink(response);
+        }
+
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(ids.stream().filter(expectedIds::contains)).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    @Transactional
+    void getAllExpensesByKeysetSkipsTheCount() throws Exception {
+        seedExpenses();
+
+        String next = nextLink(
+            restExpensesMockMvc
+                .perform(get(ENTITY_API_URL + "?after=&size=20&sort=id,desc"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+        );
+        assertThat(next).contains("after=").contains("size=20").doesNotContain("sort=");
+
+        long statements = TestUtil.countStatements(
+            em,
+            () ->
+                restExpensesMockMvc
+                    .perform(get(next))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Total-Count"))
+                    .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+                    .andExpect(jsonPath("$.length()").value(20))
+        );
+
+        // a single seek on (id), without a count query
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void getAllExpensesWithInvalidCursor() throws Exception {
+        restExpensesMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+        restExpensesMockMvc.perform(get(ENTITY_API_URL + "?after=&sort=description,asc")).andExpect(status().isBadRequest());
+        // a well-formed cursor whose value is not a sort order
+        String cursor = KeysetCursor.after("sortOrder", Sort.Direction.ASC, 1L, "first").toToken();
+        restExpensesMockMvc.perform(get(ENTITY_API_URL + "?after=" + cursor)).andExpect(status().isBadRequest());
+    }
+
+    private static String nextLink(MockHttpServletResponse response) {
+        String link = response.getHeader(HttpHeaders.LINK);
+        if (link == null) {
+            return null;
+        }
+        Matcher matcher = Pattern.compile("<([^>]+)>; rel=\"next\"").matcher(link);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    @Test
+    @Transactional
+    void exportExpensesAsNdjson() throws Exception {
+        // Initialize the database with more expenses than the fetch size
+        List<Expenses> exported = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            exported.add(createEntity(em).description(DEFAULT_DESCRIPTION + i));
+        }
+        expensesRepository.saveAllAndFlush(exported);
+        long databaseSize = expensesRepository.count();
+
+        String ndjson = restExpensesMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("expenses.ndjson")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize((int) databaseSize);
+        assertThat(lines[lines.length - 1]).startsWith("{\"id\":" + exported.get(exported.size() - 1).getId() + ",");
+    }
+
+    @Test
+    @Transactional
+    void exportExpensesAsCsv() throws Exception {
+        // Initialize the database
+        expensesRepository.saveAndFlush(expenses);
+
+        String csv = restExpensesMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = csv.split("\n");
+        assertThat(lines[0]).isEqualTo("id,description,paidBy,amount,cryptoCurrency,sortOrder,dateAdded,dateModified");
+        assertThat(lines)
+            .contains(
+                expenses.getId() +
+                "," +
+                DEFAULT_DESCRIPTION +
+                ",1,1," +
+                DEFAULT_CRYPTO_CURRENCY +
+                "," +
+                DEFAULT_SORT_ORDER +
+                "," +
+                DEFAULT_DATE_ADDED +
+                "," +
+                DEFAULT_DATE_MODIFIED
+            );
+    }
+
+    @Test
+    @Transactional
+    void exportExpensesWithUnsupportedFormat() throws Exception {
+        restExpensesMockMvc.perform(get(ENTITY_API_URL + "/export?format=xls")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void createExpensesInBulkReportsInvalidItems() throws Exception {
+        int databaseSizeBeforeCreate = expensesRepository.findAll().size();
+
+        restExpensesMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(createEntity(em), createEntity(em).description(null))))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(201))
+            .andExpect(jsonPath("$.[1].status").value(400))
+            .andExpect(jsonPath("$.[1].message").value(containsString("description")));
+
+        List<Expenses> expensesList = expensesRepository.findAll();
+        assertThat(expensesList).hasSize(databaseSizeBeforeCreate + 1);
+        assertThat(expensesList.get(expensesList.size() - 1).getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+    }
+
+    @Test
+    @Transactional
+    void bulkPatchAndDeleteExpenses() throws Exception {
+        Expenses other = createEntity(em);
+        expensesRepository.saveAndFlush(expenses);
+        expensesRepository.saveAndFlush(other);
+        int databaseSizeBefore = expensesRepository.findAll().size();
+
+        Expenses renamed = new Expenses().id(expenses.getId()).description(UPDATED_DESCRIPTION);
+        Expenses repeated = new Expenses().id(expenses.getId()).description(DEFAULT_DESCRIPTION);
+        Expenses missing = new Expenses().id(Long.MAX_VALUE).description(UPDATED_DESCRIPTION);
+        restExpensesMockMvc
+            .perform(
+                patch(ENTITY_API_URL + "/bulk")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(renamed, repeated, missing)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[1].status").value(400))
+            .andExpect(jsonPath("$.[1].message").value("Duplicate id"))
+            .andExpect(jsonPath("$.[2].status").value(404));
+        assertThat(expensesRepository.findById(expenses.getId()).orElseThrow().getDescription()).isEqualTo(UPDATED_DESCRIPTION);
+        assertThat(expensesRepository.findById(other.getId()).orElseThrow().getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+
+        restExpensesMockMvc
+            .perform(delete(ENTITY_API_URL + "/bulk?ids=" + expenses.getId() + "," + other.getId() + "," + Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(204))
+            .andExpect(jsonPath("$.[1].status").value(204))
+            .andExpect(jsonPath("$.[2].status").value(404));
+        assertThat(expensesRepository.findAll()).hasSize(databaseSizeBefore - 2);
+    }
+
+    @Test
+    @Transactional
+    void bulkRequestOverTheMaximumIsRejected() throws Exception {
+        int maxItems = applicationProperties.getBulk().getMaxItems();
+        applicationProperties.getBulk().setMaxItems(1);
+        try {
+            int databaseSizeBeforeCreate = expensesRepository.findAll().size();
+
+            restExpensesMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(List.of(createEntity(em), createEntity(em))))
+                )
+                .andExpect(status().isBadRequest());
+            restExpensesMockMvc.perform(delete(ENTITY_API_URL + "/bulk?ids=1,2")).andExpect(status().isBadRequest());
+
+            assertThat(expensesRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+        } finally {
+            applicationProperties.getBulk().setMaxItems(maxItems);
+        }
+    }
+
     @Test
     @Transactional
     void getExpenses() throws Exception {
@@ -449,6 +908,67 @@ class ExpensesResourceIT {
         assertThat(expensesList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void importExpensesFromCsvFile() throws Exception {
+        int databaseSizeBeforeImport = expensesRepository.findAll().size();
+        String csv =
+            "description,amount,paidBy,dateAdded\n" +
+            DEFAULT_DESCRIPTION +
+            ",10.50,5,2022-06-02\n" +
+            ",10.50,5,2022-06-02\n" +
+            UPDATED_DESCRIPTION +
+            ",ten,5,2022-06-02\n";
+        MockMultipartFile file = new MockMultipartFile("file", "expenses.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        restExpensesMockMvc
+            .perform(multipart(ENTITY_API_URL + "/import").file(file))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows").value(3))
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors.[0].row").value(2))
+            .andExpect(jsonPath("$.errors.[0].message").value(containsString("description")))
+            .andExpect(jsonPath("$.errors.[1].row").value(3))
+            .andExpect(jsonPath("$.errors.[1].message").value(containsString("amount")));
+
+        List<Expenses> expensesList = expensesRepository.findAll();
+        assertThat(expensesList).hasSize(databaseSizeBeforeImport + 1);
+        Expenses testExpenses = expensesList.get(expensesList.size() - 1);
+        assertThat(testExpenses.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+        assertThat(testExpenses.getAmount()).isEqualByComparingTo("10.50");
+        assertThat(testExpenses.getDateAdded()).isEqualTo(LocalDate.of(2022, 6, 2));
+    }
+
+    @Test
+    @Transactional
+    void importExpensesFromNdjsonStream() throws Exception {
+        int databaseSizeBeforeImport = expensesRepository.findAll().size();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1234; i++) {
+            ndjson.append("{\"description\":\"").append(DEFAULT_DESCRIPTION).append(i).append("\",\"amount\":1}\n");
+        }
+        ndjson.append("{\"id\":1,\"description\":\"").append(UPDATED_DESCRIPTION).append("\"}\n");
+
+        restExpensesMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType("application/x-ndjson").content(ndjson.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows").value(1235))
+            .andExpect(jsonPath("$.imported").value(1234))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.errors.[0].row").value(1235));
+
+        assertThat(expensesRepository.findAll()).hasSize(databaseSizeBeforeImport + 1234);
+    }
+
+    @Test
+    @Transactional
+    void importExpensesWithUnsupportedFormat() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "expenses.xls", "application/vnd.ms-excel", new byte[] { 1 });
+
+        restExpensesMockMvc.perform(multipart(ENTITY_API_URL + "/import").file(file)).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void deleteExpenses() throws Exception {
@@ -1,19 +1,24 @@
 package com.qualize.api.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Accounts;
 import com.qualize.api.domain.Friends;
 import com.qualize.api.repository.FriendsRepository;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -178,6 +183,49 @@ class FriendsResourceIT {
             .andExpect(jsonPath("$.[*].dateModified").value(hasItem(DEFAULT_DATE_MODIFIED.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllFriendSummaries() throws Exception {
+        Accounts accounts = AccountsResourceIT.createEntity(em);
+        em.persist(accounts);
+        friendsRepository.saveAndFlush(friends.accounts(accounts));
+
+        restFriendsMockMvc
+            .perform(get(ENTITY_API_URL + "?view=summary&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[0].id").value(friends.getId().intValue()))
+            .andExpect(jsonPath("$.[0].friendName").value(DEFAULT_FRIEND_NAME))
+            .andExpect(jsonPath("$.[0].email").value(DEFAULT_EMAIL))
+            .andExpect(jsonPath("$.[0].defaultCryptoCurrency").value(DEFAULT_DEFAULT_CRYPTO_CURRENCY))
+            .andExpect(jsonPath("$.[0].accountId").value(accounts.getId().intValue()))
+            .andExpect(jsonPath("$.[0].telephone").doesNotExist())
+            .andExpect(jsonPath("$.[0].accounts").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllFriendsWithSparseFieldset() throws Exception {
+        friendsRepository.saveAndFlush(friends);
+
+        restFriendsMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=friendName,email&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].friendName").value(DEFAULT_FRIEND_NAME))
+            .andExpect(jsonPath("$.[0].email").value(DEFAULT_EMAIL))
+            .andExpect(jsonPath("$.[0].id").doesNotExist())
+            .andExpect(jsonPath("$.[0].defaultCryptoCurrency").doesNotExist());
+
+        restFriendsMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=walletId,telephone&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].walletId").value(DEFAULT_WALLET_ID))
+            .andExpect(jsonPath("$.[0].telephone").value(DEFAULT_TELEPHONE))
+            .andExpect(jsonPath("$.[0].friendName").doesNotExist());
+
+        restFriendsMockMvc.perform(get(ENTITY_API_URL + "?fields=nme&sort=id,desc")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getFriends() throws Exception {
@@ -346,6 +394,33 @@ class FriendsResourceIT {
         assertThat(testFriends.getDateModified()).isEqualTo(DEFAULT_DATE_MODIFIED);
     }
 
+    @Test
+    @Transactional
+    void partialUpdateFriendsReadsOnce() throws Exception {
+        friendsRepository.saveAndFlush(friends);
+        em.clear();
+
+        Friends partialUpdatedFriends = new Friends().email(UPDATED_EMAIL);
+        partialUpdatedFriends.setId(friends.getId());
+
+        long statements = TestUtil.countStatements(
+            em,
+            () -> {
+                restFriendsMockMvc
+                    .perform(
+                        patch(ENTITY_API_URL_ID, friends.getId())
+                            .contentType("application/merge-patch+json")
+                            .content(TestUtil.convertObjectToJsonBytes(partialUpdatedFriends))
+                    )
+                    .andExpect(status().isOk());
+                em.flush();
+            }
+        );
+
+        // one read of the friends and one update, without an existence check first
+        assertThat(statements).isEqualTo(2);
+    }
+
     @Test
     @Transactional
     void fullUpdateFriendsWithPatch() throws Exception {
@@ -463,4 +538,84 @@ class FriendsResourceIT {
         List<Friends> friendsList = friendsRepository.findAll();
         assertThat(friendsList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void bulkCreateUpdateAndDeleteFriends() throws Exception {
+        friendsRepository.saveAndFlush(friends);
+        int databaseSizeBefore = friendsRepository.findAll().size();
+
+        restFriendsMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(createEntity(em), createEntity(em), friends)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(201))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[1].status").value(201))
+            .andExpect(jsonPath("$.[2].index").value(2))
+            .andExpect(jsonPath("$.[2].status").value(400));
+        assertThat(friendsRepository.findAll()).hasSize(databaseSizeBefore + 2);
+
+        Friends renamed = new Friends().friendName(UPDATED_FRIEND_NAME);
+        renamed.setId(friends.getId());
+        Friends missing = new Friends().friendName(UPDATED_FRIEND_NAME);
+        missing.setId(Long.MAX_VALUE);
+        restFriendsMockMvc
+            .perform(
+                patch(ENTITY_API_URL + "/bulk")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(renamed, missing)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[1].id").value(Long.MAX_VALUE))
+            .andExpect(jsonPath("$.[1].status").value(404));
+        Friends testFriends = friendsRepository.findById(friends.getId()).orElseThrow();
+        assertThat(testFriends.getFriendName()).isEqualTo(UPDATED_FRIEND_NAME);
+        assertThat(testFriends.getEmail()).isEqualTo(DEFAULT_EMAIL);
+
+        restFriendsMockMvc
+            .perform(delete(ENTITY_API_URL + "/bulk?ids=" + friends.getId() + "," + friends.getId() + "," + Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(204))
+            .andExpect(jsonPath("$.[1].status").value(404))
+            .andExpect(jsonPath("$.[2].status").value(404));
+        assertThat(friendsRepository.findAll()).hasSize(databaseSizeBefore + 1);
+    }
+
+    @Test
+    @Transactional
+    void bulkPatchFriendsIsReadAndWrittenInOneStatementEach() throws Exception {
+        List<Friends> patches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Friends saved = friendsRepository.save(createEntity(em));
+            Friends patched = new Friends().walletId(UPDATED_WALLET_ID);
+            patched.setId(saved.getId());
+            patches.add(patched);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = TestUtil.withStatistics(
+            em,
+            () -> {
+                restFriendsMockMvc
+                    .perform(
+                        patch(ENTITY_API_URL + "/bulk")
+                            .contentType("application/merge-patch+json")
+                            .content(TestUtil.convertObjectToJsonBytes(patches))
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.[*].status").value(everyItem(is(200))));
+                em.flush();
+            }
+        );
+
+        // one IN query for the friends, and one batch of updates
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(10);
+    }
 }
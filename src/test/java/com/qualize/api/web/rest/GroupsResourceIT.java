@@ -1,13 +1,19 @@
 package com.qualize.api.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Friends;
 import com.qualize.api.domain.Groups;
 import com.qualize.api.repository.GroupsRepository;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
@@ -192,6 +198,36 @@ class GroupsResourceIT {
         restGroupsMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getGroupsSettlementPlan() throws Exception {
+        // Initialize the database
+        Expenses expenses = new Expenses().description("trip").amount(new BigDecimal("90.00")).paidBy(new BigDecimal("90.00"));
+        em.persist(expenses);
+        for (String name : new String[] { "alice", "bob" }) {
+            Friends friends = new Friends().friendName(name);
+            expenses.addPaidBy(friends);
+            em.persist(friends);
+        }
+        groupsRepository.saveAndFlush(groups.expenses(expenses));
+
+        // Get the settlement plan: each friend owes you their 30.00 share
+        restGroupsMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/settlement-plan", groups.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[*].fromFriendName").value(containsInAnyOrder("alice", "bob")))
+            .andExpect(jsonPath("$.[*].toFriendName").value(everyItem(is("you"))))
+            .andExpect(jsonPath("$.[*].amount").value(everyItem(is(30.0))));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingGroupsSettlementPlan() throws Exception {
+        restGroupsMockMvc.perform(get(ENTITY_API_URL_ID + "/settlement-plan", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putNewGroups() throws Exception {
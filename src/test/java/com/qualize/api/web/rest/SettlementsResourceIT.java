@@ -6,6 +6,7 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.qualize.api.IntegrationTest;
 import com.qualize.api.domain.Settlements;
 import com.qualize.api.domain.enumeration.SettlementStatus;
@@ -13,15 +14,20 @@ import com.qualize.api.repository.SettlementsRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -205,6 +211,64 @@ class SettlementsResourceIT {
             .andExpect(jsonPath("$.[*].dateModified").value(hasItem(DEFAULT_DATE_MODIFIED.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllSettlementsByKeysetDescending() throws Exception {
+        // Initialize the database with ties and nulls on the sort key
+        List<Settlements> created = new ArrayList<>();
+        for (Integer sortOrder : new Integer[] { 2, null, 5, 2, null, 1 }) {
+            created.add(createEntity(em).sortOrder(sortOrder));
+        }
+        settlementsRepository.saveAllAndFlush(created);
+        em.clear();
+
+        // nulls last, as sorted by the database in descending order, then ties broken by id
+        Comparator<Settlements> keysetOrder = Comparator
+            .comparing(Settlements::getSortOrder, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Settlements::getId)
+            .reversed();
+        List<Long> expectedIds = created.stream().sorted(keysetOrder).map(Settlements::getId).collect(Collectors.toList());
+
+        List<Long> ids = new ArrayList<>();
+        String url = ENTITY_API_URL + "?after=&size=4&sort=sortOrder,desc";
+        while (url != null) {
+            MockHttpServletResponse response = restSettlementsMockMvc
+                .perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andReturn()
+                .getResponse();
+            List<Number> pageIds = JsonPath.read(response.getContentAsString(), "$.[*].id");
+            pageIds.forEach(id -> ids.add(id.longValue()));
+            String link = response.getHeader(HttpHeaders.LINK);
+            url = link == null ? null : link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        }
+
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(ids.stream().filter(expectedIds::contains)).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    @Transactional
+    void exportSettlementsAsNdjson() throws Exception {
+        // Initialize the database
+        settlementsRepository.saveAndFlush(settlements);
+
+        String ndjson = restSettlementsMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=ndjson"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(ndjson.split("\n"))
+            .hasSize((int) settlementsRepository.count())
+            .anySatisfy(line ->
+                assertThat(line).startsWith("{\"id\":" + settlements.getId() + ",\"description\":\"" + DEFAULT_DESCRIPTION + "\"")
+            );
+    }
+
     @Test
     @Transactional
     void getSettlements() throws Exception {
@@ -501,4 +565,40 @@ class SettlementsResourceIT {
         List<Settlements> settlementsList = settlementsRepository.findAll();
         assertThat(settlementsList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void bulkPatchAndDeleteSettlements() throws Exception {
+        Settlements other = createEntity(em);
+        settlementsRepository.saveAndFlush(settlements);
+        settlementsRepository.saveAndFlush(other);
+        int databaseSizeBefore = settlementsRepository.findAll().size();
+
+        Settlements updated = new Settlements().id(settlements.getId()).description(UPDATED_DESCRIPTION).sortOrder(UPDATED_SORT_ORDER);
+        Settlements repeated = new Settlements().id(settlements.getId()).description(DEFAULT_DESCRIPTION);
+        Settlements missing = new Settlements().id(Long.MAX_VALUE).description(UPDATED_DESCRIPTION);
+        restSettlementsMockMvc
+            .perform(
+                patch(ENTITY_API_URL + "/bulk")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(updated, repeated, missing)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[1].status").value(400))
+            .andExpect(jsonPath("$.[1].message").value("Duplicate id"))
+            .andExpect(jsonPath("$.[2].status").value(404));
+        Settlements testSettlements = settlementsRepository.findById(settlements.getId()).orElseThrow();
+        assertThat(testSettlements.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
+        assertThat(testSettlements.getSortOrder()).isEqualTo(UPDATED_SORT_ORDER);
+        assertThat(testSettlements.getAmountYouOwe()).isEqualByComparingTo(DEFAULT_AMOUNT_YOU_OWE);
+
+        restSettlementsMockMvc
+            .perform(delete(ENTITY_API_URL + "/bulk?ids=" + settlements.getId() + "," + other.getId() + "," + settlements.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(204))
+            .andExpect(jsonPath("$.[1].status").value(204))
+            .andExpect(jsonPath("$.[2].status").value(404));
+        assertThat(settlementsRepository.findAll()).hasSize(databaseSizeBefore - 2);
+    }
 }
@@ -0,0 +1,216 @@
+package com.qualize.api.web.rest;
+
+import static com.qualize.api.web.rest.TestUtil.sameNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.qualize.api.IntegrationTest;
+import com.qualize.api.domain.Expenses;
+import com.qualize.api.domain.Groups;
+import com.qualize.api.domain.SpendingRollup;
+import com.qualize.api.repository.SpendingRollupRepository;
+import com.qualize.api.security.AuthoritiesConstants;
+import com.qualize.api.service.ExpensesImportService;
+import com.qualize.api.service.ExpensesService;
+import com.qualize.api.service.GroupsService;
+import com.qualize.api.service.RowFormat;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link SpendingRollupResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class SpendingRollupResourceIT {
+
+    private static final String API_URL = "/api/spending-rollups";
+    private static final String RECONCILE_API_URL = "/api/admin/spending-rollups/reconcile";
+
+    private static final LocalDate JANUARY = LocalDate.of(2001, 1, 10);
+    private static final LocalDate FEBRUARY = LocalDate.of(2001, 2, 20);
+    private static final String RANGE = "?from=2001-01-01&to=2001-12-31";
+
+    @Autowired
+    private ExpensesService expensesService;
+
+    @Autowired
+    private ExpensesImportService expensesImportService;
+
+    @Autowired
+    private GroupsService groupsService;
+
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restSpendingRollupMockMvc;
+
+    @Test
+    void getSlicesFollowExpenseWrites() throws Exception {
+        Expenses dinner = expensesService.save(newExpenses(JANUARY, "10.00", "BTC"));
+        Expenses lunch = expensesService.save(newExpenses(JANUARY, "5.00", "BTC"));
+        expensesService.save(newExpenses(FEBRUARY, "7.00", "ETH"));
+        Groups trip = groupsService.save(new Groups().name("trip").expenses(dinner));
+
+        restSpendingRollupMockMvc
+            .perform(get(API_URL + RANGE + "&by=month"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].month").value("2001-01-01"))
+            .andExpect(jsonPath("$.[0].totalAmount").value(sameNumber(new BigDecimal("15.00"))))
+            .andExpect(jsonPath("$.[0].expenseCount").value(2))
+            .andExpect(jsonPath("$.[1].month").value("2001-02-01"))
+            .andExpect(jsonPath("$.[1].totalAmount").value(sameNumber(new BigDecimal("7.00"))));
+
+        restSpendingRollupMockMvc
+            .perform(get(API_URL + RANGE + "&currency=BTC&by=group"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].groupId").doesNotExist())
+            .andExpect(jsonPath("$.[0].totalAmount").value(sameNumber(new BigDecimal("5.00"))))
+            .andExpect(jsonPath("$.[1].groupId").value(trip.getId().intValue()))
+            .andExpect(jsonPath("$.[1].totalAmount").value(sameNumber(new BigDecimal("10.00"))));
+
+        expensesService.partialUpdate(new Expenses().id(lunch.getId()).amount(new BigDecimal("8.00")).dateAdded(FEBRUARY));
+        groupsService.delete(trip.getId());
+
+        restSpendingRollupMockMvc
+            .perform(get(API_URL + RANGE + "&by=currency"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].currency").value("BTC"))
+            .andExpect(jsonPath("$.[0].totalAmount").value(sameNumber(new BigDecimal("18.00"))))
+            .andExpect(jsonPath("$.[0].expenseCount").value(2))
+            .andExpect(jsonPath("$.[1].currency").value("ETH"));
+
+        expensesService.delete(dinner.getId());
+
+        restSpendingRollupMockMvc
+            .perform(get(API_URL + RANGE + "&by=month"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].month").value("2001-02-01"))
+            .andExpect(jsonPath("$.[0].totalAmount").value(sameNumber(new BigDecimal("15.00"))))
+            .andExpect(jsonPath("$.[0].expenseCount").value(2));
+        // the rollups emptied by the moves are kept at zero until the reconciliation
+        assertThat(rollupsOf(LocalDate.of(2001, 1, 1)))
+            .isNotEmpty()
+            .allSatisfy(rollup -> {
+                assertThat(rollup.getTotalAmount()).isZero();
+                assertThat(rollup.getExpenseCount()).isZero();
+            });
+    }
+
+    @Test
+    void getSlicesFollowImports() throws Exception {
+        expensesService.save(newExpenses(JANUARY, "10.00", "BTC"));
+        String ndjson =
+            "{\"description\":\"imported\",\"amount\":4.00,\"paidBy\":0,\"cryptoCurrency\":\"BTC\",\"dateAdded\":\"2001-01-15\"}\n" +
+            "{\"description\":\"imported\",\"amount\":6.00,\"paidBy\":0,\"cryptoCurrency\":\"BTC\",\"dateAdded\":\"2001-02-15\"}\n";
+
+        expensesImportService.importExpenses(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), RowFormat.NDJSON);
+
+        restSpendingRollupMockMvc
+            .perform(get(API_URL + RANGE + "&by=month"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].totalAmount").value(sameNumber(new BigDecimal("14.00"))))
+            .andExpect(jsonPath("$.[0].expenseCount").value(2))
+            .andExpect(jsonPath("$.[1].totalAmount").value(sameNumber(new BigDecimal("6.00"))))
+            .andExpect(jsonPath("$.[1].expenseCount").value(1));
+    }
+
+    @Test
+    void getSlicesIsOneQuery() throws Exception {
+        expensesService.save(newExpenses(JANUARY, "10.00", "BTC"));
+        expensesService.save(newExpenses(FEBRUARY, "7.00", "ETH"));
+        em.flush();
+        em.clear();
+
+        long statements = TestUtil.countStatements(
+            em,
+            () ->
+                restSpendingRollupMockMvc
+                    .perform(get(API_URL + RANGE + "&groupId=0&by=currency"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+        );
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void reconcileRepairsDrift() throws Exception {
+        expensesService.save(newExpenses(JANUARY, "10.00", "BTC"));
+        // written around the service, so the rollups miss it
+        em.persist(newExpenses(FEBRUARY, "7.00", "ETH"));
+        spendingRollupRepository.save(
+            new SpendingRollup()
+                .month(LocalDate.of(2001, 3, 1))
+                .groupId(SpendingRollup.NONE)
+                .activityId(SpendingRollup.NONE)
+                .currency("BTC")
+                .totalAmount(BigDecimal.ONE)
+                .expenseCount(1L)
+        );
+        SpendingRollup january = rollupsOf(LocalDate.of(2001, 1, 1)).get(0);
+        january.setTotalAmount(new BigDecimal("99.00"));
+        em.flush();
+
+        restSpendingRollupMockMvc.perform(post(RECONCILE_API_URL)).andExpect(status().isNoContent());
+
+        restSpendingRollupMockMvc
+            .perform(get(API_URL + RANGE + "&by=month"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].month").value("2001-01-01"))
+            .andExpect(jsonPath("$.[0].totalAmount").value(sameNumber(new BigDecimal("10.00"))))
+            .andExpect(jsonPath("$.[1].month").value("2001-02-01"))
+            .andExpect(jsonPath("$.[1].totalAmount").value(sameNumber(new BigDecimal("7.00"))));
+    }
+
+    @Test
+    void getSlicesWithUnknownDimension() throws Exception {
+        restSpendingRollupMockMvc.perform(get(API_URL + "?by=week")).andExpect(status().isBadRequest());
+        restSpendingRollupMockMvc.perform(get(API_URL + "?from=2001-02-01&to=2001-01-01")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void reconcileIsForAdmins() throws Exception {
+        restSpendingRollupMockMvc.perform(post(RECONCILE_API_URL)).andExpect(status().isForbidden());
+    }
+
+    private static Expenses newExpenses(LocalDate dateAdded, String amount, String currency) {
+        return new Expenses()
+            .description("spending")
+            .amount(new BigDecimal(amount))
+            .paidBy(BigDecimal.ZERO)
+            .cryptoCurrency(currency)
+            .dateAdded(dateAdded);
+    }
+
+    private List<SpendingRollup> rollupsOf(LocalDate month) {
+        return spendingRollupRepository.findAll((root, query, cb) -> cb.equal(root.get("month"), month));
+    }
+}
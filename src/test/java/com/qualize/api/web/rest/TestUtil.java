@@ -19,6 +19,8 @@ import javax.persistence.criteria.Root;
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.hamcrest.TypeSafeMatcher;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
@@ -202,5 +204,42 @@ public final class TestUtil {
         return allQuery.getResultList();
     }
 
+    /**
+     * Code run by {@link #withStatistics(EntityManager, StatisticsCode)}.
+     */
+    @FunctionalInterface
+    public interface StatisticsCode {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs some code with the Hibernate statistics enabled and cleared, then switches them back as they were.
+     * @param em The instance of the EntityManager
+     * @param code The code to run
+     * @return The statistics of the code, left untouched afterwards as long as the statistics were disabled before
+     */
+    public static Statistics withStatistics(EntityManager em, StatisticsCode code) throws Exception {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            code.run();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+        return statistics;
+    }
+
+    /**
+     * Counts the SQL statements prepared by some code.
+     * @param em The instance of the EntityManager
+     * @param code The code to run
+     * @return The number of statements
+     */
+    public static long countStatements(EntityManager em, StatisticsCode code) throws Exception {
+        return withStatistics(em, code).getPrepareStatementCount();
+    }
+
     private TestUtil() {}
 }